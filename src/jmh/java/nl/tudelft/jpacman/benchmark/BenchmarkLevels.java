@@ -0,0 +1,200 @@
+package nl.tudelft.jpacman.benchmark;
+
+import nl.tudelft.jpacman.ConfigurationLoader;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.game.Game;
+import nl.tudelft.jpacman.game.GameFactory;
+import nl.tudelft.jpacman.level.FruitFactory;
+import nl.tudelft.jpacman.level.LevelFactory;
+import nl.tudelft.jpacman.level.MapParser;
+import nl.tudelft.jpacman.level.MazeGenerator;
+import nl.tudelft.jpacman.level.PlayerFactory;
+import nl.tudelft.jpacman.level.task.VirtualClock;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The maps and games the benchmarks are run on.
+ */
+public final class BenchmarkLevels {
+
+    /**
+     * The configuration the benchmarks are run with.
+     */
+    public static final String CONFIGURATION = "src/main/resources/configuration.properties";
+
+    /**
+     * The name of the shipped map.
+     */
+    public static final String BOARD = "board";
+
+    /**
+     * The name of the large map, the shipped map tiled {@value #TILES} times in
+     * both directions, with a gap in the top and bottom walls of each tile so
+     * that the tiles are connected vertically as well. It is too large for a
+     * distance table, so searches on it are done by BFS.
+     */
+    public static final String LARGE = "large";
+
+    /**
+     * The name of the generated map, a maze of {@value #MAZE_SIZE} squares in
+     * both directions with {@value #MAZE_GHOSTS} ghosts. Other sizes can be
+     * given as <code>maze-WIDTHxHEIGHT</code>.
+     */
+    public static final String MAZE = "maze";
+
+    /**
+     * The width and height of the generated map.
+     */
+    private static final int MAZE_SIZE = 201;
+
+    /**
+     * The number of ghosts on the generated map.
+     */
+    private static final int MAZE_GHOSTS = 16;
+
+    /**
+     * The number of times the shipped map is repeated in each direction to
+     * make the large map.
+     */
+    private static final int TILES = 4;
+
+    /**
+     * The column of the gap in the top and bottom walls of each tile.
+     */
+    private static final int GAP = 1;
+
+    /**
+     * The seed of the games.
+     */
+    private static final long SEED = 42;
+
+    private BenchmarkLevels() {
+    }
+
+    /**
+     * Loads the configuration of the game, which must happen before any unit
+     * is created.
+     */
+    public static void configure() {
+        ConfigurationLoader.load(CONFIGURATION);
+    }
+
+    /**
+     * Returns the rows of a map.
+     *
+     * @param name {@link #BOARD}, {@link #LARGE} or {@link #MAZE}.
+     * @return The rows of the map.
+     */
+    public static List<String> map(String name) {
+        if (name.startsWith(MAZE)) {
+            return maze(name);
+        }
+        List<String> board = readBoard();
+        if (BOARD.equals(name)) {
+            return board;
+        }
+        assert LARGE.equals(name);
+        openGap(board, 0);
+        openGap(board, board.size() - 1);
+        List<String> large = new ArrayList<>();
+        for (int i = 0; i < TILES; i++) {
+            for (String row : board) {
+                StringBuilder tiled = new StringBuilder();
+                for (int j = 0; j < TILES; j++) {
+                    tiled.append(row);
+                }
+                large.add(tiled.toString());
+            }
+        }
+        return large;
+    }
+
+    /**
+     * Generates a maze, of the default size or of the size following the
+     * name.
+     *
+     * @param name {@link #MAZE}, or <code>maze-WIDTHxHEIGHT</code>.
+     * @return The rows of the map.
+     */
+    private static List<String> maze(String name) {
+        int width = MAZE_SIZE;
+        int height = MAZE_SIZE;
+        if (name.length() > MAZE.length()) {
+            String[] size = name.substring(MAZE.length() + 1).split("x");
+            width = Integer.parseInt(size[0]);
+            height = Integer.parseInt(size[1]);
+        }
+        return new MazeGenerator(width, height).withSeed(SEED).withGhosts(MAZE_GHOSTS)
+            .withTunnels(height / 20 + 1).generate();
+    }
+
+    /**
+     * Replaces the wall at the gap column of a row by ground.
+     *
+     * @param rows The rows of the map.
+     * @param y    The row to open.
+     */
+    private static void openGap(List<String> rows, int y) {
+        StringBuilder row = new StringBuilder(rows.get(y));
+        row.setCharAt(GAP, ' ');
+        rows.set(y, row.toString());
+    }
+
+    /**
+     * Creates a map parser whose levels run on the given clock, so that no
+     * unit moves unless a benchmark moves it.
+     *
+     * @param sprites The sprites of the units.
+     * @param clock   The clock of the levels.
+     * @return A new map parser.
+     */
+    public static MapParser parser(PacManSprites sprites, VirtualClock clock) {
+        LevelFactory levelFactory = new LevelFactory(sprites, new GhostFactory(sprites),
+            new FruitFactory(sprites), clock, new Random(SEED));
+        return new MapParser(levelFactory, new BoardFactory(sprites));
+    }
+
+    /**
+     * Creates a started single player game on a map. Its clock is never
+     * advanced, so the units only move when a benchmark moves them.
+     *
+     * @param name    The name of the map, see {@link #map(String)}.
+     * @param sprites The sprites of the units.
+     * @return The started game.
+     */
+    public static Game game(String name, PacManSprites sprites) {
+        MapParser parser = parser(sprites, new VirtualClock());
+        Game game = new GameFactory(new PlayerFactory(sprites))
+            .createSinglePlayerGame(parser.parseMap(map(name)));
+        game.start();
+        return game;
+    }
+
+    /**
+     * Reads the shipped map.
+     *
+     * @return The rows of the shipped map.
+     */
+    private static List<String> readBoard() {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+            BenchmarkLevels.class.getResourceAsStream("/maps/board.txt"), StandardCharsets.UTF_8))) {
+            List<String> rows = new ArrayList<>();
+            for (String row = reader.readLine(); row != null; row = reader.readLine()) {
+                rows.add(row);
+            }
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package nl.tudelft.jpacman.benchmark;
+
+import nl.tudelft.jpacman.game.Game;
+import nl.tudelft.jpacman.level.CollisionInteractionMap;
+import nl.tudelft.jpacman.level.FruitFactory;
+import nl.tudelft.jpacman.level.LevelFactory;
+import nl.tudelft.jpacman.level.unit.Fruit;
+import nl.tudelft.jpacman.level.unit.Pellet;
+import nl.tudelft.jpacman.level.unit.Player;
+import nl.tudelft.jpacman.npc.Ghost;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.sprite.HeadlessSprites;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the dispatch of collisions by {@link CollisionInteractionMap}. The
+ * handlers only count, so the benchmarks measure finding the handler.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+
+    private CollisionInteractionMap collisions;
+    private Player player;
+    private Ghost ghost;
+    private Pellet pellet;
+    private Fruit fruit;
+    private int handled;
+
+    /**
+     * Creates the units and registers the handlers of the default game.
+     */
+    @Setup
+    public void setUp() {
+        BenchmarkLevels.configure();
+        PacManSprites sprites = new HeadlessSprites();
+        Game game = BenchmarkLevels.game(BenchmarkLevels.BOARD, sprites);
+        player = game.getPlayers().get(0);
+        ghost = game.getLevel().getGhosts().iterator().next();
+        LevelFactory levelFactory = new LevelFactory(sprites, new GhostFactory(sprites),
+            new FruitFactory(sprites));
+        pellet = levelFactory.createPellet();
+        fruit = new FruitFactory(sprites).createCherry();
+
+        collisions = new CollisionInteractionMap();
+        collisions.onCollision(Player.class, Ghost.class, (p, g) -> handled++);
+        collisions.onCollision(Player.class, Pellet.class, (p, f) -> handled++);
+        collisions.onCollision(Player.class, Fruit.class, (p, f) -> handled++);
+    }
+
+    /**
+     * @return The number of handled collisions.
+     */
+    @Benchmark
+    public int playerPellet() {
+        collisions.collide(player, pellet);
+        return handled;
+    }
+
+    /**
+     * @return The number of handled collisions.
+     */
+    @Benchmark
+    public int ghostPlayer() {
+        collisions.collide(ghost, player);
+        return handled;
+    }
+
+    /**
+     * @return The number of handled collisions.
+     */
+    @Benchmark
+    public int pelletFruit() {
+        collisions.collide(pellet, fruit);
+        return handled;
+    }
+}
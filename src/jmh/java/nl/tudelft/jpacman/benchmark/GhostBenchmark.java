@@ -0,0 +1,67 @@
+package nl.tudelft.jpacman.benchmark;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.game.Game;
+import nl.tudelft.jpacman.npc.Ghost;
+import nl.tudelft.jpacman.sprite.HeadlessSprites;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the moves devised by each kind of ghost.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GhostBenchmark {
+
+    /**
+     * The map to play on.
+     */
+    @Param({BenchmarkLevels.BOARD, BenchmarkLevels.LARGE})
+    public String map;
+
+    /**
+     * The simple name of the class of the ghost to move.
+     */
+    @Param({"Blinky", "Inky", "Pinky", "Clyde"})
+    public String ghostType;
+
+    private Ghost ghost;
+
+    /**
+     * Creates the game and picks the first ghost of the requested kind.
+     */
+    @Setup
+    public void setUp() {
+        BenchmarkLevels.configure();
+        Game game = BenchmarkLevels.game(map, new HeadlessSprites());
+        ghost = game.getLevel().getGhosts().stream()
+            .filter(candidate -> candidate.getClass().getSimpleName().equals(ghostType))
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException("No " + ghostType + " on " + map));
+    }
+
+    /**
+     * @return The move the ghost would make.
+     */
+    @Benchmark
+    public Optional<Direction> nextAiMove() {
+        return ghost.nextAiMove();
+    }
+}
@@ -0,0 +1,91 @@
+package nl.tudelft.jpacman.benchmark;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.game.Game;
+import nl.tudelft.jpacman.level.FruitFactory;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.LevelFactory;
+import nl.tudelft.jpacman.level.unit.Pellet;
+import nl.tudelft.jpacman.level.unit.Player;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.sprite.HeadlessSprites;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Level#move(nl.tudelft.jpacman.board.Unit, Direction)}: the
+ * player eats a pellet and steps back, so every invocation makes two moves,
+ * one of which collides.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LevelBenchmark {
+
+    /**
+     * The map to play on.
+     */
+    @Param({BenchmarkLevels.BOARD, BenchmarkLevels.LARGE})
+    public String map;
+
+    private Level level;
+    private Player player;
+    private Pellet pellet;
+    private Square destination;
+    private Direction direction;
+
+    /**
+     * Creates the game and finds a square next to the player to move to.
+     */
+    @Setup
+    public void setUp() {
+        BenchmarkLevels.configure();
+        PacManSprites sprites = new HeadlessSprites();
+        Game game = BenchmarkLevels.game(map, sprites);
+        level = game.getLevel();
+        player = game.getPlayers().get(0);
+        for (Direction candidate : Direction.values()) {
+            Square square = player.getSquare().getSquareAt(candidate);
+            if (square.isAccessibleTo(player)) {
+                direction = candidate;
+                destination = square;
+            }
+        }
+        assert direction != null;
+        pellet = new LevelFactory(sprites, new GhostFactory(sprites), new FruitFactory(sprites))
+            .createPellet();
+        Square start = player.getSquare();
+        level.move(player, direction);
+        level.move(player, direction.getOpposite());
+        assert player.getSquare() == start;
+    }
+
+    /**
+     * Eats a pellet and steps back.
+     *
+     * @return The score of the player.
+     */
+    @Benchmark
+    public int moveAndEat() {
+        level.placePellet(pellet, destination);
+        level.move(player, direction);
+        level.move(player, direction.getOpposite());
+        return player.getScore();
+    }
+}
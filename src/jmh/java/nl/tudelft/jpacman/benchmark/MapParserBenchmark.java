@@ -0,0 +1,93 @@
+package nl.tudelft.jpacman.benchmark;
+
+import nl.tudelft.jpacman.level.BinaryMap;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.MapParser;
+import nl.tudelft.jpacman.level.task.VirtualClock;
+import nl.tudelft.jpacman.sprite.HeadlessSprites;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures turning a map into a level.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapParserBenchmark {
+
+    /**
+     * The map to parse.
+     */
+    @Param({BenchmarkLevels.BOARD, BenchmarkLevels.LARGE, BenchmarkLevels.MAZE})
+    public String map;
+
+    private List<String> rows;
+    private byte[] text;
+    private byte[] binary;
+    private MapParser parser;
+
+    /**
+     * Reads the map and creates the parser.
+     */
+    @Setup
+    public void setUp() {
+        BenchmarkLevels.configure();
+        rows = BenchmarkLevels.map(map);
+        text = String.join("\n", rows).getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            BinaryMap.write(rows, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        binary = out.toByteArray();
+        parser = BenchmarkLevels.parser(new HeadlessSprites(), new VirtualClock());
+    }
+
+    /**
+     * @return The parsed level.
+     */
+    @Benchmark
+    public Level parseMap() {
+        return parser.parseMap(rows);
+    }
+
+    /**
+     * @return The level parsed from a stream of the map.
+     * @throws IOException never, the stream is in memory.
+     */
+    @Benchmark
+    public Level parseStream() throws IOException {
+        return parser.parseMap(new ByteArrayInputStream(text));
+    }
+
+    /**
+     * @return The level parsed from the binary format of the map.
+     */
+    @Benchmark
+    public Level parseBinary() {
+        return parser.parseBinaryMap(ByteBuffer.wrap(binary));
+    }
+}
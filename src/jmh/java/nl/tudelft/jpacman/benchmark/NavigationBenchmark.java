@@ -0,0 +1,92 @@
+package nl.tudelft.jpacman.benchmark;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.game.Game;
+import nl.tudelft.jpacman.level.unit.Pellet;
+import nl.tudelft.jpacman.level.unit.Player;
+import nl.tudelft.jpacman.npc.Ghost;
+import nl.tudelft.jpacman.sprite.HeadlessSprites;
+import nl.tudelft.jpacman.strategies.Navigation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the searches of {@link Navigation}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NavigationBenchmark {
+
+    /**
+     * The map to search on.
+     */
+    @Param({BenchmarkLevels.BOARD, BenchmarkLevels.LARGE})
+    public String map;
+
+    private Player player;
+    private Square ghostSquare;
+
+    /**
+     * Creates the game to search on.
+     */
+    @Setup
+    public void setUp() {
+        BenchmarkLevels.configure();
+        Game game = BenchmarkLevels.game(map, new HeadlessSprites());
+        player = game.getPlayers().get(0);
+        for (Ghost ghost : game.getLevel().getGhosts()) {
+            ghostSquare = ghost.getSquare();
+        }
+        assert ghostSquare != null;
+    }
+
+    /**
+     * @return The path from the player to the last ghost of the level.
+     */
+    @Benchmark
+    public List<Direction> shortestPath() {
+        return Navigation.shortestPath(player.getSquare(), ghostSquare, player);
+    }
+
+    /**
+     * @return The path from the player to the last ghost, ignoring terrain.
+     */
+    @Benchmark
+    public List<Direction> shortestPathIgnoringTerrain() {
+        return Navigation.shortestPath(player.getSquare(), ghostSquare, null);
+    }
+
+    /**
+     * @return The pellet nearest to the player.
+     */
+    @Benchmark
+    public Unit findNearestPellet() {
+        return Navigation.findNearest(Pellet.class, player.getSquare());
+    }
+
+    /**
+     * @return The ghost nearest to the player.
+     */
+    @Benchmark
+    public Unit findNearestGhost() {
+        return Navigation.findNearest(Ghost.class, player.getSquare());
+    }
+}
@@ -0,0 +1,69 @@
+package nl.tudelft.jpacman.benchmark;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.game.Game;
+import nl.tudelft.jpacman.level.unit.Player;
+import nl.tudelft.jpacman.sprite.HeadlessSprites;
+import nl.tudelft.jpacman.strategies.PacManAI;
+import nl.tudelft.jpacman.strategies.PacManStrategy;
+import nl.tudelft.jpacman.strategies.PriorityToScoreStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the moves devised by the Pac-Man strategies.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StrategyBenchmark {
+
+    /**
+     * The map to play on.
+     */
+    @Param({BenchmarkLevels.BOARD, BenchmarkLevels.LARGE})
+    public String map;
+
+    private PacManStrategy strategy;
+
+    /**
+     * Creates the game played by the strategy and moves the player to the
+     * nearest intersection, where the strategy has to weigh its options.
+     */
+    @Setup
+    public void setUp() {
+        BenchmarkLevels.configure();
+        Game game = BenchmarkLevels.game(map, new HeadlessSprites());
+        game.selectStrategy(PriorityToScoreStrategy.class);
+        strategy = game.getStrategy();
+
+        Player player = game.getPlayers().get(0);
+        Direction direction = PacManAI.getPossibleDirections(player).get(0);
+        player.setDirection(direction);
+        while (!PacManAI.isIntersection(player, player.getSquare(), direction)) {
+            game.getLevel().move(player, direction);
+        }
+    }
+
+    /**
+     * @return The move of the {@link PriorityToScoreStrategy}.
+     */
+    @Benchmark
+    public Direction priorityToScore() {
+        return strategy.nextMove();
+    }
+}
@@ -0,0 +1,76 @@
+package nl.tudelft.jpacman.ui;
+
+import nl.tudelft.jpacman.benchmark.BenchmarkLevels;
+import nl.tudelft.jpacman.game.Game;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures rendering a frame of the board into an offscreen image, with the
+ * sprites of the game.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardPanelBenchmark {
+
+    /**
+     * The map to render.
+     */
+    @Param({BenchmarkLevels.BOARD, BenchmarkLevels.LARGE})
+    public String map;
+
+    private BoardPanel panel;
+    private BufferedImage image;
+    private Graphics2D graphics;
+
+    /**
+     * Creates the panel and the image to render into.
+     */
+    @Setup
+    public void setUp() {
+        BenchmarkLevels.configure();
+        Game game = BenchmarkLevels.game(map, new PacManSprites());
+        panel = new BoardPanel(game);
+        Dimension size = panel.getPreferredSize();
+        panel.setSize(size);
+        image = new BufferedImage(size.width, size.height, BufferedImage.TYPE_INT_ARGB);
+        graphics = image.createGraphics();
+    }
+
+    /**
+     * Releases the graphics context.
+     */
+    @TearDown
+    public void tearDown() {
+        graphics.dispose();
+    }
+
+    /**
+     * @return The image rendered into.
+     */
+    @Benchmark
+    public BufferedImage paint() {
+        panel.paint(graphics);
+        return image;
+    }
+}
@@ -6,7 +6,11 @@ import nl.tudelft.jpacman.exceptions.PacmanConfigurationException;
 import nl.tudelft.jpacman.game.Game;
 import nl.tudelft.jpacman.game.GameFactory;
 import nl.tudelft.jpacman.level.*;
+import nl.tudelft.jpacman.level.task.ExecutorScheduler;
+import nl.tudelft.jpacman.level.task.TaskScheduler;
+import nl.tudelft.jpacman.level.task.TimingWheelScheduler;
 import nl.tudelft.jpacman.level.unit.Player;
+import nl.tudelft.jpacman.metrics.Metrics;
 import nl.tudelft.jpacman.npc.ghost.GhostFactory;
 import nl.tudelft.jpacman.sprite.PacManSprites;
 import nl.tudelft.jpacman.strategies.PacManStrategy;
@@ -17,6 +21,7 @@ import nl.tudelft.jpacman.ui.PacManUiBuilder;
 import java.awt.event.KeyEvent;
 import java.io.IOException;
 import java.util.List;
+import java.util.Random;
 
 /**
  * Creates and launches the JPacMan UI.
@@ -28,12 +33,16 @@ public class Launcher {
 
     private PacManSprites spriteStore;
     private String levelMap;
+    private long metricsReportInterval;
+    private TaskScheduler scheduler;
+    private ExecutorScheduler ownScheduler;
     private PacManUI pacManUI;
     private Game game;
 
     public Launcher(String configurationPath) {
         ConfigurationLoader.load(configurationPath);
         levelMap = ConfigurationLoader.getProperty("level.map");
+        metricsReportInterval = Long.parseLong(ConfigurationLoader.getProperty("metrics.report.interval"));
         spriteStore = new PacManSprites();
     }
 
@@ -65,6 +74,18 @@ public class Launcher {
         return this;
     }
 
+    /**
+     * Set the scheduler executing the tasks of the levels, instead of the one
+     * chosen by the <code>scheduler.type</code> property.
+     *
+     * @param taskScheduler The scheduler to use.
+     * @return This launcher.
+     */
+    public Launcher withScheduler(TaskScheduler taskScheduler) {
+        scheduler = taskScheduler;
+        return this;
+    }
+
     /**
      * Creates a new game using the level from {@link #makeLevel()}.
      */
@@ -116,7 +137,40 @@ public class Launcher {
      * and the ghosts from {@link #getGhostFactory()}.
      */
     protected LevelFactory getLevelFactory() {
-        return new LevelFactory(getSpriteStore(), getGhostFactory(), getFruitFactory());
+        return new LevelFactory(getSpriteStore(), getGhostFactory(), getFruitFactory(),
+            getScheduler(), new Random());
+    }
+
+    /**
+     * Returns the scheduler executing the tasks of the levels. Unless one was
+     * set, it is chosen by the <code>scheduler.type</code> property:
+     * <code>wheel</code> for the shared timing wheel, <code>platform</code>
+     * for a pool of <code>scheduler.threads</code> platform threads (0 for one
+     * per processor) and <code>virtual</code> for a virtual thread per task.
+     *
+     * @return The scheduler, the same one on every call.
+     */
+    protected TaskScheduler getScheduler() {
+        if (scheduler == null) {
+            String type = ConfigurationLoader.getProperty("scheduler.type");
+            switch (type) {
+                case "wheel":
+                    scheduler = TimingWheelScheduler.getDefault();
+                    break;
+                case "platform":
+                    ownScheduler = ExecutorScheduler.platformThreads(
+                        Integer.parseInt(ConfigurationLoader.getProperty("scheduler.threads")));
+                    scheduler = ownScheduler;
+                    break;
+                case "virtual":
+                    ownScheduler = ExecutorScheduler.virtualThreads();
+                    scheduler = ownScheduler;
+                    break;
+                default:
+                    throw new PacmanConfigurationException("Unknown scheduler type: " + type);
+            }
+        }
+        return scheduler;
     }
 
     /**
@@ -181,12 +235,17 @@ public class Launcher {
     }
 
     /**
-     * Creates and starts a JPac-Man game.
+     * Creates and starts a JPac-Man game. The metrics of the game are exposed
+     * over JMX and, if an interval is configured, printed at that interval.
      */
     public void launch() {
         if (getGame() == null) {
             makeGame();
         }
+        Metrics.getDefault().expose();
+        if (metricsReportInterval > 0) {
+            Metrics.getDefault().startReporting(metricsReportInterval, System.out);
+        }
         PacManUiBuilder builder = new PacManUiBuilder().withDefaultButtons();
         addSinglePlayerKeys(builder);
         pacManUI = builder.build(getGame());
@@ -212,13 +271,22 @@ public class Launcher {
 
     /**
      * Disposes of the UI. For more information see
-     * {@link javax.swing.JFrame#dispose()}.
+     * {@link javax.swing.JFrame#dispose()}. A scheduler the launcher created a
+     * pool of threads for is shut down; the shared timing wheel and a
+     * scheduler set with {@link #withScheduler(TaskScheduler)} are not.
      * <p>
      * Precondition: The game was launched first.
      */
     public void dispose() {
         assert pacManUI != null;
         pacManUI.dispose();
+        if (ownScheduler != null) {
+            ownScheduler.shutdown();
+            if (scheduler == ownScheduler) {
+                scheduler = null;
+            }
+            ownScheduler = null;
+        }
     }
 
     /**
@@ -1,5 +1,11 @@
 package nl.tudelft.jpacman.board;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * A top-down view of a matrix of {@link Square}s.
@@ -8,23 +14,127 @@ package nl.tudelft.jpacman.board;
  */
 public class Board {
 
+    /**
+     * The maximum number of accessible squares for which a
+     * {@link DistanceTable} is built. The table takes three bytes per pair of
+     * squares, so this keeps it at about 12MB.
+     */
+    private static final int MAX_DISTANCE_TABLE_SQUARES = 2048;
+
+    /**
+     * The number of {@link DistanceField}s that are kept, enough for the
+     * targets of all ghosts and the starting squares they return to.
+     */
+    private static final int MAX_DISTANCE_FIELDS = 16;
+
+    /**
+     * The directions in the order in which they appear in the neighbour table.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
     /**
      * The grid of squares with board[x][y] being the square at column x, row y.
      */
     private final Square[][] board;
 
     /**
-     * Creates a new board.
+     * The squares that no unit can enter, one bit per square by index.
+     */
+    private final long[] walls;
+
+    /**
+     * The index of the neighbour of every square in every direction, at
+     * <code>index * 4 + direction</code>, computed on first use.
+     */
+    private volatile int[] neighbours;
+
+    /**
+     * The distances between all accessible squares, computed on first use.
+     */
+    private volatile DistanceTable distanceTable;
+
+    /**
+     * <code>true</code> once {@link #distanceTable} has been computed, which
+     * may have resulted in <code>null</code> for large boards.
+     */
+    private volatile boolean distanceTableComputed;
+
+    /**
+     * The most recently used distance fields by the index of their target,
+     * least recently used first.
+     */
+    private final Map<Integer, DistanceField> distanceFields =
+        new LinkedHashMap<Integer, DistanceField>(MAX_DISTANCE_FIELDS, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, DistanceField> eldest) {
+                return size() > MAX_DISTANCE_FIELDS;
+            }
+        };
+
+    /**
+     * The units on this board by their class.
+     */
+    private final UnitRegistry units = new UnitRegistry();
+
+    /**
+     * The indexes of the squares whose occupants changed since they were last
+     * taken, or <code>null</code> while nobody tracks the changes.
+     */
+    private BitSet changedSquares;
+
+    /**
+     * <code>true</code> iff the borders of this board are joined, so that the
+     * squares at a border are next to the squares at the opposite border and
+     * the neighbours of every square follow from its position.
+     */
+    private final boolean wrapped;
+
+    /**
+     * Creates a new board whose squares are linked to their neighbours, see
+     * {@link Square#link(Square, Direction)}.
      *
      * @param grid
      *            The grid of squares with grid[x][y] being the square at column
      *            x, row y.
      */
-    @SuppressWarnings("PMD.ArrayIsStoredDirectly")
     public Board(Square[][] grid) {
+        this(grid, false);
+    }
+
+    /**
+     * Creates a new board whose borders may be joined.
+     *
+     * @param grid
+     *            The grid of squares with grid[x][y] being the square at column
+     *            x, row y.
+     * @param wrapped
+     *            <code>true</code> if the squares at every border are next to
+     *            those at the opposite border, <code>false</code> if the
+     *            squares are linked to their neighbours instead.
+     */
+    @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+    Board(Square[][] grid, boolean wrapped) {
         assert grid != null;
         this.board = grid;
+        this.wrapped = wrapped;
         assert invariant() : "Initial grid cannot contain null squares";
+
+        int width = getWidth();
+        this.walls = new long[(getSize() + Long.SIZE - 1) / Long.SIZE];
+        List<Unit> occupants = new ArrayList<>();
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < getHeight(); y++) {
+                int index = y * width + x;
+                grid[x][y].placeOn(this, index);
+                if (!grid[x][y].isAccessibleTo(null)) {
+                    walls[index >>> 6] |= 1L << index;
+                }
+                occupants.addAll(grid[x][y].getOccupants());
+            }
+        }
+        units.addAll(occupants);
     }
 
     /**
@@ -79,6 +189,268 @@ public class Board {
         return result;
     }
 
+    /**
+     * Returns the number of squares on this board.
+     *
+     * @return The width times the height of this board.
+     */
+    public int getSize() {
+        return getWidth() * getHeight();
+    }
+
+    /**
+     * Returns the square with the given index, see {@link Square#getIndex()}.
+     *
+     * Precondition: <code>0 &lt;= index &lt; getSize()</code>.
+     *
+     * @param index
+     *            The row-major index of the requested square.
+     * @return The square at position <code>index % width, index / width</code>.
+     */
+    public Square squareAt(int index) {
+        return squareAt(index % getWidth(), index / getWidth());
+    }
+
+    /**
+     * Determines whether the terrain of a square can be entered, that is
+     * whether the square is accessible to a unit regardless of the kind of
+     * unit. The terrain is recorded when the board is created, so no square
+     * is looked at.
+     *
+     * Precondition: <code>0 &lt;= index &lt; getSize()</code>.
+     *
+     * @param index
+     *            The index of the square.
+     * @return <code>true</code> iff
+     *         <code>squareAt(index).isAccessibleTo(null)</code>.
+     */
+    public boolean isAccessible(int index) {
+        return (walls[index >>> 6] & (1L << index)) == 0;
+    }
+
+    /**
+     * Determines whether another board has the same inaccessible squares as
+     * this one.
+     *
+     * @param other
+     *            The board to compare with.
+     * @return <code>true</code> iff both boards have the same size and the
+     *         same squares are inaccessible on both.
+     */
+    public boolean hasSameTerrain(Board other) {
+        return other == this || Arrays.equals(walls, other.walls);
+    }
+
+    /**
+     * @return <code>true</code> iff the squares at every border of this board
+     *         are next to the squares at the opposite border.
+     */
+    boolean isWrapped() {
+        return wrapped;
+    }
+
+    /**
+     * Returns the square next to a square of a board whose borders are
+     * joined.
+     *
+     * @param index
+     *            The index of the square.
+     * @param direction
+     *            The direction of the adjacent square.
+     * @return The adjacent square.
+     */
+    Square squareNextTo(int index, Direction direction) {
+        assert wrapped;
+        int width = getWidth();
+        int height = getHeight();
+        int x = index % width + direction.getDeltaX();
+        int y = index / width + direction.getDeltaY();
+        if (x < 0) {
+            x += width;
+        } else if (x >= width) {
+            x -= width;
+        }
+        if (y < 0) {
+            y += height;
+        } else if (y >= height) {
+            y -= height;
+        }
+        return board[x][y];
+    }
+
+    /**
+     * Returns the index of the square adjacent to a square. Neighbours are
+     * looked up in a table that is computed the first time it is requested,
+     * which must be after the squares have been linked to their neighbours.
+     *
+     * Precondition: <code>0 &lt;= index &lt; getSize()</code>.
+     *
+     * @param index
+     *            The index of the square to find the neighbour of.
+     * @param direction
+     *            The direction of the adjacent square.
+     * @return The index of the adjacent square, or <code>-1</code> if the
+     *         square is not linked to a square on this board in that
+     *         direction.
+     */
+    public int getNeighbour(int index, Direction direction) {
+        int[] table = neighbours;
+        if (table == null) {
+            table = createNeighbourTable();
+            neighbours = table;
+        }
+        return table[index * DIRECTIONS.length + direction.ordinal()];
+    }
+
+    /**
+     * Creates the table of neighbours, from the positions of the squares if
+     * the borders of this board are joined and from the links between the
+     * squares otherwise.
+     *
+     * @return The index of the neighbour of every square in every direction.
+     */
+    private int[] createNeighbourTable() {
+        int[] table = new int[getSize() * DIRECTIONS.length];
+        if (wrapped) {
+            int width = getWidth();
+            int height = getHeight();
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    for (Direction direction : DIRECTIONS) {
+                        int dirX = (width + x + direction.getDeltaX()) % width;
+                        int dirY = (height + y + direction.getDeltaY()) % height;
+                        table[(y * width + x) * DIRECTIONS.length + direction.ordinal()] = dirY * width + dirX;
+                    }
+                }
+            }
+            return table;
+        }
+        for (int i = 0; i < getSize(); i++) {
+            Square square = squareAt(i);
+            for (Direction direction : DIRECTIONS) {
+                Square neighbour = square.getSquareAt(direction);
+                int target = -1;
+                if (neighbour != null && neighbour.getBoard() == this) {
+                    target = neighbour.getIndex();
+                }
+                table[i * DIRECTIONS.length + direction.ordinal()] = target;
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Returns the shortest path distances between all accessible squares of
+     * this board. The table is computed the first time it is requested, which
+     * must be after the squares have been linked to their neighbours.
+     *
+     * @return The distance table of this board, or <code>null</code> if the
+     *         board has too many accessible squares for one.
+     */
+    public DistanceTable getDistanceTable() {
+        if (!distanceTableComputed) {
+            synchronized (this) {
+                if (!distanceTableComputed) {
+                    distanceTable = DistanceTable.create(this, MAX_DISTANCE_TABLE_SQUARES);
+                    distanceTableComputed = true;
+                }
+            }
+        }
+        return distanceTable;
+    }
+
+    /**
+     * Returns the distances from every square of this board to a target. The
+     * fields of the most recently requested targets are kept, so units
+     * heading for the same square share a single search, which is only
+     * repeated once the target has moved on.
+     *
+     * @param target
+     *            The square to measure the distances to, which must be on
+     *            this board.
+     * @return The distance field of the target.
+     */
+    public DistanceField getDistanceField(Square target) {
+        assert target.getBoard() == this;
+        synchronized (distanceFields) {
+            return distanceFields.computeIfAbsent(target.getIndex(),
+                index -> new DistanceField(this, target));
+        }
+    }
+
+    /**
+     * Returns the units of a type that occupy a square of this board. The
+     * units are looked up in an index that is kept up to date as units enter
+     * and leave the board, so this does not search the board.
+     *
+     * @param type
+     *            The type of units to return, which may be a super type of
+     *            the units.
+     * @param <T>
+     *            The type of units to return.
+     * @return An immutable list of the units of the type on this board.
+     */
+    public <T extends Unit> List<T> getUnits(Class<T> type) {
+        return units.get(type);
+    }
+
+    /**
+     * Records that a unit has entered this board.
+     *
+     * @param unit
+     *            The unit that occupied a square of this board.
+     */
+    void unitEntered(Unit unit) {
+        units.add(unit);
+    }
+
+    /**
+     * Records that a unit has left this board.
+     *
+     * @param unit
+     *            The unit that left the squares of this board.
+     */
+    void unitLeft(Unit unit) {
+        units.remove(unit);
+    }
+
+    /**
+     * Records that a unit entered or left a square of this board.
+     *
+     * @param square
+     *            The square whose occupants changed.
+     */
+    void occupantsChanged(Square square) {
+        if (changedSquares != null) {
+            changedSquares.set(square.getIndex());
+        }
+    }
+
+    /**
+     * Starts recording which squares units enter and leave, so that a copy of
+     * the board can be brought up to date without visiting every square.
+     */
+    public void trackChanges() {
+        if (changedSquares == null) {
+            changedSquares = new BitSet(getSize());
+        }
+    }
+
+    /**
+     * Adds the squares whose occupants changed since the last call to a set,
+     * and starts recording anew. Changes are only recorded after
+     * {@link #trackChanges()}.
+     *
+     * @param changed
+     *            The set to add the indexes of the squares to.
+     */
+    public void takeChangedSquares(BitSet changed) {
+        if (changedSquares != null) {
+            changed.or(changedSquares);
+            changedSquares.clear();
+        }
+    }
+
     /**
      * Determines whether the given <code>x,y</code> position is on this board.
      *
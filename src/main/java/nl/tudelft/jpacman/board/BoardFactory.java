@@ -12,9 +12,14 @@ import nl.tudelft.jpacman.sprite.Sprite;
 public class BoardFactory {
 
     /**
-     * The sprite store providing the sprites for the background.
+     * The background of the walls, shared by all of them.
      */
-    private final PacManSprites sprites;
+    private final Sprite wallSprite;
+
+    /**
+     * The background of the ground squares, shared by all of them.
+     */
+    private final Sprite groundSprite;
 
     /**
      * Creates a new BoardFactory that will create a board with the provided
@@ -24,11 +29,15 @@ public class BoardFactory {
      *            The sprite store providing the sprites for the background.
      */
     public BoardFactory(PacManSprites spriteStore) {
-        this.sprites = spriteStore;
+        this.wallSprite = spriteStore.getWallSprite();
+        this.groundSprite = spriteStore.getGroundSprite();
     }
 
     /**
-     * Creates a new board from a grid of cells and connects it.
+     * Creates a new board from a grid of cells whose borders are joined: every
+     * square is next to the squares around it, and the squares at a border
+     * are next to the squares at the opposite border. The squares are not
+     * linked, the board finds their neighbours from their positions.
      *
      * @param grid
      *            The square grid of cells, in which grid[x][y] corresponds to
@@ -37,24 +46,7 @@ public class BoardFactory {
      */
     public Board createBoard(Square[][] grid) {
         assert grid != null;
-
-        Board board = new Board(grid);
-
-        int width = board.getWidth();
-        int height = board.getHeight();
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                Square square = grid[x][y];
-                for (Direction dir : Direction.values()) {
-                    int dirX = (width + x + dir.getDeltaX()) % width;
-                    int dirY = (height + y + dir.getDeltaY()) % height;
-                    Square neighbour = grid[dirX][dirY];
-                    square.link(neighbour, dir);
-                }
-            }
-        }
-
-        return board;
+        return new Board(grid, true);
     }
 
     /**
@@ -63,7 +55,7 @@ public class BoardFactory {
      * @return A new square that can be occupied by any unit.
      */
     public Square createGround() {
-        return new Ground(sprites.getGroundSprite());
+        return new Ground(groundSprite);
     }
 
     /**
@@ -72,7 +64,7 @@ public class BoardFactory {
      * @return A new square that cannot be occupied by any unit.
      */
     public Square createWall() {
-        return new Wall(sprites.getWallSprite());
+        return new Wall(wallSprite);
     }
 
     /**
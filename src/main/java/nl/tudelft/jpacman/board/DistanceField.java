@@ -0,0 +1,133 @@
+package nl.tudelft.jpacman.board;
+
+import java.util.Arrays;
+
+/**
+ * The distances from every square of a {@link Board} to a single target
+ * square, computed by one breadth first search from the target. Any number of
+ * units heading for the same target can read their next step from the field,
+ * instead of each searching a path of their own.
+ * <p>
+ * Like the {@link DistanceTable}, accessibility is decided by the terrain
+ * alone. The search follows the neighbour table of the board, see
+ * {@link Board#getNeighbour(int, Direction)}, and relies on every square
+ * being the neighbour of its own neighbours in the opposite direction.
+ */
+public final class DistanceField {
+
+    /**
+     * The directions in the order in which they are tried.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * The board this field covers.
+     */
+    private final Board board;
+
+    /**
+     * The square all distances are measured to.
+     */
+    private final Square target;
+
+    /**
+     * The number of steps from every square (by index) to the target, or
+     * {@link DistanceTable#UNREACHABLE} if the target cannot be reached.
+     */
+    private final int[] distances;
+
+    /**
+     * Creates the field of a target and computes its distances.
+     *
+     * @param board
+     *            The board the target is on. Its squares must have been
+     *            linked to their neighbours.
+     * @param target
+     *            The square to measure the distances to.
+     */
+    DistanceField(Board board, Square target) {
+        assert target.getBoard() == board;
+        this.board = board;
+        this.target = target;
+        this.distances = new int[board.getSize()];
+        fill();
+    }
+
+    /**
+     * Performs a breadth first search from the target over the accessible
+     * squares. An inaccessible target cannot be reached from anywhere.
+     */
+    private void fill() {
+        Arrays.fill(distances, DistanceTable.UNREACHABLE);
+        if (!board.isAccessible(target.getIndex())) {
+            return;
+        }
+        int[] queue = new int[distances.length];
+        int head = 0;
+        int tail = 0;
+        distances[target.getIndex()] = 0;
+        queue[tail++] = target.getIndex();
+        while (head < tail) {
+            int index = queue[head++];
+            int next = distances[index] + 1;
+            for (Direction direction : DIRECTIONS) {
+                int neighbour = board.getNeighbour(index, direction);
+                if (neighbour >= 0 && distances[neighbour] == DistanceTable.UNREACHABLE
+                    && board.isAccessible(neighbour)) {
+                    distances[neighbour] = next;
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the square all distances are measured to.
+     *
+     * @return The target of this field.
+     */
+    public Square getTarget() {
+        return target;
+    }
+
+    /**
+     * Returns the length of the shortest path from a square to the target.
+     *
+     * @param from
+     *            The starting square.
+     * @return The number of steps to the target, or
+     *         {@link DistanceTable#UNREACHABLE} if there is no path or the
+     *         square is on another board.
+     */
+    public int distance(Square from) {
+        if (from.getBoard() != board) {
+            return DistanceTable.UNREACHABLE;
+        }
+        return distances[from.getIndex()];
+    }
+
+    /**
+     * Returns the first direction of a shortest path from a square to the
+     * target.
+     *
+     * @param from
+     *            The starting square.
+     * @return The direction to move in, or <code>null</code> if the square is
+     *         the target or there is no path.
+     */
+    public Direction nextStep(Square from) {
+        int distance = distance(from);
+        if (distance <= 0) {
+            return null;
+        }
+        int index = from.getIndex();
+        for (Direction direction : DIRECTIONS) {
+            int neighbour = board.getNeighbour(index, direction);
+            if (neighbour >= 0 && distances[neighbour] == distance - 1) {
+                return direction;
+            }
+        }
+        assert false : "A reachable square has a neighbour closer to the target.";
+        return null;
+    }
+}
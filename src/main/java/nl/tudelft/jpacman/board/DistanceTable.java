@@ -0,0 +1,253 @@
+package nl.tudelft.jpacman.board;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Shortest path distances and first steps between all pairs of accessible
+ * squares on a {@link Board}. Walls never change once a board has been
+ * created, so one breadth first search from every accessible square answers
+ * all later navigation queries on that board in constant time.
+ * <p>
+ * Accessibility is decided by the terrain alone, i.e. by asking
+ * {@link Square#isAccessibleTo(Unit)} without a particular unit. The table is
+ * therefore only valid for travellers that are allowed on every square that
+ * is not a wall, which holds for all units in this game.
+ */
+public final class DistanceTable {
+
+    /**
+     * The distance reported for squares that cannot reach each other.
+     */
+    public static final int UNREACHABLE = -1;
+
+    /**
+     * Marker for the absence of a first step.
+     */
+    private static final byte NO_STEP = -1;
+
+    /**
+     * The directions in the order in which they are explored.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * The board this table describes.
+     */
+    private final Board board;
+
+    /**
+     * For each square of the board (by index) its node number in this table,
+     * or <code>-1</code> if the square is not accessible.
+     */
+    private final int[] nodes;
+
+    /**
+     * The number of accessible squares, i.e. the number of nodes.
+     */
+    private final int size;
+
+    /**
+     * For each node and direction the neighbouring node, at
+     * <code>node * 4 + direction</code>, or <code>-1</code> if there is none.
+     */
+    private final int[] neighbours;
+
+    /**
+     * The distance from node a to node b, at <code>a * size + b</code>.
+     */
+    private final short[] distances;
+
+    /**
+     * The ordinal of the first direction to take from node a to get to node
+     * b, at <code>a * size + b</code>.
+     */
+    private final byte[] firstSteps;
+
+    /**
+     * Creates an empty table for the given nodes; see
+     * {@link #create(Board, int)}.
+     *
+     * @param board
+     *            The board this table describes.
+     * @param nodes
+     *            The node number of every square of the board.
+     * @param size
+     *            The number of nodes.
+     */
+    private DistanceTable(Board board, int[] nodes, int size) {
+        this.board = board;
+        this.nodes = nodes;
+        this.size = size;
+        this.neighbours = new int[size * DIRECTIONS.length];
+        this.distances = new short[size * size];
+        this.firstSteps = new byte[size * size];
+    }
+
+    /**
+     * Computes the distance table of a board.
+     *
+     * @param board
+     *            The board to compute the table for. Its squares must have
+     *            been linked to their neighbours.
+     * @param maxSquares
+     *            The maximum number of accessible squares a table is built
+     *            for, as the table grows quadratically with that number.
+     * @return The distance table of the board, or <code>null</code> if the
+     *         board has more than <code>maxSquares</code> accessible squares.
+     */
+    static DistanceTable create(Board board, int maxSquares) {
+        int[] nodes = new int[board.getSize()];
+        int size = 0;
+        for (int i = 0; i < nodes.length; i++) {
+            if (board.isAccessible(i)) {
+                if (size == maxSquares) {
+                    return null;
+                }
+                nodes[i] = size;
+                size++;
+            } else {
+                nodes[i] = -1;
+            }
+        }
+
+        DistanceTable table = new DistanceTable(board, nodes, size);
+        table.link();
+        table.fill();
+        return table;
+    }
+
+    /**
+     * Records the neighbouring node of every node in every direction.
+     */
+    private void link() {
+        for (int i = 0; i < nodes.length; i++) {
+            int node = nodes[i];
+            if (node < 0) {
+                continue;
+            }
+            for (Direction direction : DIRECTIONS) {
+                int neighbour = board.getNeighbour(i, direction);
+                int target = -1;
+                if (neighbour >= 0) {
+                    target = nodes[neighbour];
+                }
+                neighbours[node * DIRECTIONS.length + direction.ordinal()] = target;
+            }
+        }
+    }
+
+    /**
+     * Performs a breadth first search from every node, recording distances
+     * and the first step of the path to every other node.
+     */
+    private void fill() {
+        Arrays.fill(distances, (short) UNREACHABLE);
+        Arrays.fill(firstSteps, NO_STEP);
+        int[] queue = new int[size];
+        for (int source = 0; source < size; source++) {
+            int row = source * size;
+            distances[row + source] = 0;
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = source;
+            while (head < tail) {
+                int node = queue[head++];
+                short next = (short) (distances[row + node] + 1);
+                for (int d = 0; d < DIRECTIONS.length; d++) {
+                    int target = neighbours[node * DIRECTIONS.length + d];
+                    if (target >= 0 && distances[row + target] == UNREACHABLE) {
+                        distances[row + target] = next;
+                        if (node == source) {
+                            firstSteps[row + target] = (byte) d;
+                        } else {
+                            firstSteps[row + target] = firstSteps[row + node];
+                        }
+                        queue[tail++] = target;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Determines whether the square is covered by this table, i.e. whether it
+     * is an accessible square of the board this table describes.
+     *
+     * @param square
+     *            The square to test.
+     * @return <code>true</code> iff this table knows the distances from and
+     *         to this square.
+     */
+    public boolean contains(Square square) {
+        return square.getBoard() == board && nodes[square.getIndex()] >= 0;
+    }
+
+    /**
+     * Returns the length of the shortest path between two squares.
+     * <p>
+     * Precondition: both squares are covered by this table.
+     *
+     * @param from
+     *            The starting square.
+     * @param to
+     *            The destination.
+     * @return The number of steps from <code>from</code> to <code>to</code>,
+     *         or {@link #UNREACHABLE} if there is no path.
+     */
+    public int distance(Square from, Square to) {
+        assert contains(from) && contains(to);
+        return distances[nodes[from.getIndex()] * size + nodes[to.getIndex()]];
+    }
+
+    /**
+     * Returns the first direction of a shortest path between two squares.
+     * <p>
+     * Precondition: both squares are covered by this table.
+     *
+     * @param from
+     *            The starting square.
+     * @param to
+     *            The destination.
+     * @return The direction to move in, or <code>null</code> if the squares
+     *         are the same or there is no path.
+     */
+    public Direction firstStep(Square from, Square to) {
+        assert contains(from) && contains(to);
+        byte step = firstSteps[nodes[from.getIndex()] * size + nodes[to.getIndex()]];
+        if (step == NO_STEP) {
+            return null;
+        }
+        return DIRECTIONS[step];
+    }
+
+    /**
+     * Returns a shortest path between two squares.
+     * <p>
+     * Precondition: both squares are covered by this table.
+     *
+     * @param from
+     *            The starting square.
+     * @param to
+     *            The destination.
+     * @return The directions to follow to get from <code>from</code> to
+     *         <code>to</code>, an empty list if they are the same square, or
+     *         <code>null</code> if there is no path.
+     */
+    public List<Direction> path(Square from, Square to) {
+        int distance = distance(from, to);
+        if (distance == UNREACHABLE) {
+            return null;
+        }
+        List<Direction> path = new ArrayList<>(distance);
+        int node = nodes[from.getIndex()];
+        int target = nodes[to.getIndex()];
+        while (node != target) {
+            byte step = firstSteps[node * size + target];
+            path.add(DIRECTIONS[step]);
+            node = neighbours[node * DIRECTIONS.length + step];
+        }
+        return path;
+    }
+}
@@ -1,6 +1,5 @@
 package nl.tudelft.jpacman.board;
 
-import java.util.ArrayList;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
@@ -17,21 +16,37 @@ import nl.tudelft.jpacman.sprite.Sprite;
 public abstract class Square {
 
     /**
-     * The units occupying this square, in order of appearance.
+     * The units occupying this square, in order of appearance. The list is
+     * replaced rather than modified when a unit enters or leaves, so it can
+     * be handed out without copying.
      */
-    private final List<Unit> occupants;
+    private volatile ImmutableList<Unit> occupants;
 
     /**
-     * The collection of squares adjacent to this square.
+     * The squares adjacent to this square that were linked to it, or
+     * <code>null</code> if none were. The squares of a board made by the
+     * {@link BoardFactory} are not linked, their neighbours follow from
+     * their position on the board.
      */
-    private final Map<Direction, Square> neighbours;
+    private Map<Direction, Square> neighbours;
+
+    /**
+     * The board this square is part of, or <code>null</code> if it has not
+     * been placed on a board (yet).
+     */
+    private Board board;
+
+    /**
+     * The position of this square in the row-major numbering of its board, or
+     * <code>-1</code> if it has not been placed on a board (yet).
+     */
+    private int index = -1;
 
     /**
      * Creates a new, empty square.
      */
     protected Square() {
-        this.occupants = new ArrayList<>();
-        this.neighbours = new EnumMap<>(Direction.class);
+        this.occupants = ImmutableList.of();
         assert invariant();
     }
 
@@ -40,10 +55,53 @@ public abstract class Square {
      *
      * @param direction
      *            The direction of the adjacent square.
-     * @return The adjacent square in the given direction.
+     * @return The adjacent square in the given direction, or
+     *         <code>null</code> if this square has no neighbour there.
      */
     public Square getSquareAt(Direction direction) {
-        return neighbours.get(direction);
+        Map<Direction, Square> linked = neighbours;
+        if (linked != null) {
+            return linked.get(direction);
+        }
+        if (board != null && board.isWrapped()) {
+            return board.squareNextTo(index, direction);
+        }
+        return null;
+    }
+
+    /**
+     * Places this square on a board at the given position.
+     *
+     * @param owner
+     *            The board this square is part of.
+     * @param position
+     *            The position of this square in the row-major numbering of
+     *            the board.
+     */
+    void placeOn(Board owner, int position) {
+        this.board = owner;
+        this.index = position;
+    }
+
+    /**
+     * Returns the board this square is part of.
+     *
+     * @return The board this square is part of, or <code>null</code> if it
+     *         has not been placed on a board.
+     */
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Returns the position of this square in the row-major numbering of its
+     * board, i.e. <code>y * width + x</code>.
+     *
+     * @return The index of this square on its board, or <code>-1</code> if it
+     *         has not been placed on a board.
+     */
+    public int getIndex() {
+        return index;
     }
 
     /**
@@ -56,19 +114,64 @@ public abstract class Square {
      *            The direction the new neighbour is in, as seen from this cell.
      */
     public void link(Square neighbour, Direction direction) {
+        if (neighbours == null) {
+            neighbours = new EnumMap<>(Direction.class);
+        }
         neighbours.put(direction, neighbour);
         assert invariant();
     }
 
     /**
      * Returns an immutable list of units occupying this square, in the order in
-     * which they occupied this square (i.e. oldest first.)
+     * which they occupied this square (i.e. oldest first.) The list is a
+     * snapshot that is not copied: units entering or leaving this square
+     * afterwards do not change it, so it can safely be iterated while the
+     * occupants collide.
      *
      * @return An immutable list of units occupying this square, in the order in
      *         which they occupied this square (i.e. oldest first.)
      */
     public List<Unit> getOccupants() {
-        return ImmutableList.copyOf(occupants);
+        return occupants;
+    }
+
+    /**
+     * Returns the number of units occupying this square.
+     *
+     * @return The number of units occupying this square.
+     */
+    public int getOccupantCount() {
+        return occupants.size();
+    }
+
+    /**
+     * Returns a unit occupying this square.
+     *
+     * @param position
+     *            The position of the unit in the order in which the units
+     *            occupied this square, between 0 and
+     *            {@link #getOccupantCount()}.
+     * @return The unit at the given position.
+     */
+    public Unit getOccupant(int position) {
+        return occupants.get(position);
+    }
+
+    /**
+     * Determines whether a unit of a certain type occupies this square.
+     *
+     * @param type
+     *            The type of unit to look for.
+     * @return <code>true</code> iff a unit of the type occupies this square.
+     */
+    public boolean hasOccupant(Class<? extends Unit> type) {
+        List<Unit> current = occupants;
+        for (int i = 0; i < current.size(); i++) {
+            if (type.isInstance(current.get(i))) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -81,7 +184,10 @@ public abstract class Square {
         assert occupant != null;
         assert !occupants.contains(occupant);
 
-        occupants.add(occupant);
+        occupants = ImmutableList.<Unit>builder().addAll(occupants).add(occupant).build();
+        if (board != null) {
+            board.occupantsChanged(this);
+        }
     }
 
     /**
@@ -92,7 +198,18 @@ public abstract class Square {
      */
     void remove(Unit occupant) {
         assert occupant != null;
-        occupants.remove(occupant);
+        List<Unit> current = occupants;
+        int position = current.indexOf(occupant);
+        if (position < 0) {
+            return;
+        }
+        occupants = ImmutableList.<Unit>builder()
+            .addAll(current.subList(0, position))
+            .addAll(current.subList(position + 1, current.size()))
+            .build();
+        if (board != null) {
+            board.occupantsChanged(this);
+        }
     }
 
     /**
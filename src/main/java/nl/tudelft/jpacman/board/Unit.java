@@ -73,11 +73,23 @@ public abstract class Unit {
     public void occupy(Square target) {
         assert target != null;
 
+        Board previousBoard = null;
         if (square != null) {
             square.remove(this);
+            previousBoard = square.getBoard();
         }
         square = target;
         target.put(this);
+
+        Board board = target.getBoard();
+        if (board != previousBoard) {
+            if (previousBoard != null) {
+                previousBoard.unitLeft(this);
+            }
+            if (board != null) {
+                board.unitEntered(this);
+            }
+        }
         assert invariant();
     }
 
@@ -87,6 +99,9 @@ public abstract class Unit {
     public void leaveSquare() {
         if (square != null) {
             square.remove(this);
+            if (square.getBoard() != null) {
+                square.getBoard().unitLeft(this);
+            }
             square = null;
         }
         assert invariant();
@@ -0,0 +1,191 @@
+package nl.tudelft.jpacman.board;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * The units on a {@link Board}, indexed by their class. Adding or removing a
+ * unit takes constant time, however many units of its class there are, so
+ * that eating one of many pellets stays cheap. The lists handed out are
+ * immutable copies, made when a class is first read after it changed, so
+ * they can be read from any thread without locking or copying.
+ */
+final class UnitRegistry {
+
+    /**
+     * The units on the board by their concrete class.
+     */
+    private final Map<Class<? extends Unit>, Units> units = new ConcurrentHashMap<>();
+
+    /**
+     * The keys of {@link #units}, in the order in which they were first used.
+     */
+    private volatile ImmutableList<Class<? extends Unit>> classes = ImmutableList.of();
+
+    /**
+     * Adds a unit to the registry.
+     *
+     * @param unit
+     *            The unit that was placed on the board.
+     */
+    synchronized void add(Unit unit) {
+        boolean added = unitsOf(unit.getClass()).add(unit);
+        assert added;
+    }
+
+    /**
+     * Adds many units to the registry at once.
+     *
+     * @param added
+     *            The units that were placed on the board.
+     */
+    synchronized void addAll(List<Unit> added) {
+        for (Unit unit : added) {
+            unitsOf(unit.getClass()).add(unit);
+        }
+    }
+
+    /**
+     * Removes a unit from the registry if it was present.
+     *
+     * @param unit
+     *            The unit that was removed from the board.
+     */
+    synchronized void remove(Unit unit) {
+        Units current = units.get(unit.getClass());
+        if (current != null) {
+            current.remove(unit);
+        }
+    }
+
+    /**
+     * Returns the units of a type.
+     *
+     * @param type
+     *            The type of units to return, which may be a super type of
+     *            the units.
+     * @param <T>
+     *            The type of units to return.
+     * @return An immutable list of the units of the type, grouped by their
+     *         concrete class, each class in the order in which its units were
+     *         added. It is only copied if the units are of more than one
+     *         class, or changed since they were last read.
+     */
+    @SuppressWarnings("unchecked")
+    <T extends Unit> List<T> get(Class<T> type) {
+        ImmutableList<Class<? extends Unit>> keys = classes;
+        List<Unit> found = ImmutableList.of();
+        ImmutableList.Builder<Unit> merged = null;
+        for (int i = 0; i < keys.size(); i++) {
+            Class<? extends Unit> key = keys.get(i);
+            if (!type.isAssignableFrom(key)) {
+                continue;
+            }
+            List<Unit> matching = view(units.get(key));
+            if (matching.isEmpty()) {
+                continue;
+            }
+            if (found.isEmpty()) {
+                found = matching;
+            } else {
+                if (merged == null) {
+                    merged = ImmutableList.<Unit>builder().addAll(found);
+                }
+                merged.addAll(matching);
+            }
+        }
+        if (merged != null) {
+            found = merged.build();
+        }
+        return (List<T>) found;
+    }
+
+    /**
+     * Returns the units of a class, registering the class if it is new.
+     * Only called while holding the lock of this registry.
+     *
+     * @param key
+     *            The concrete class of the units.
+     * @return The units of the class.
+     */
+    private Units unitsOf(Class<? extends Unit> key) {
+        Units current = units.get(key);
+        if (current == null) {
+            current = new Units();
+            units.put(key, current);
+            classes = ImmutableList.<Class<? extends Unit>>builder().addAll(classes).add(key).build();
+        }
+        return current;
+    }
+
+    /**
+     * Returns the immutable list of the units of a class, copying them if
+     * they changed since the list was last made.
+     *
+     * @param current
+     *            The units of the class.
+     * @return The list of the units.
+     */
+    private ImmutableList<Unit> view(Units current) {
+        ImmutableList<Unit> list = current.view;
+        if (list == null) {
+            synchronized (this) {
+                list = current.view;
+                if (list == null) {
+                    list = ImmutableList.copyOf(current.members);
+                    current.view = list;
+                }
+            }
+        }
+        return list;
+    }
+
+    /**
+     * The units of one concrete class.
+     */
+    private static final class Units {
+
+        /**
+         * The units, in the order in which they were added. Units are
+         * compared by identity. Only used while holding the lock of the
+         * registry.
+         */
+        private final Set<Unit> members = new LinkedHashSet<>();
+
+        /**
+         * The units as an immutable list, or <code>null</code> if they
+         * changed since it was made.
+         */
+        private volatile ImmutableList<Unit> view = ImmutableList.of();
+
+        /**
+         * Adds a unit.
+         *
+         * @param unit
+         *            The unit.
+         * @return <code>true</code> iff the unit was not present yet.
+         */
+        boolean add(Unit unit) {
+            boolean added = members.add(unit);
+            view = null;
+            return added;
+        }
+
+        /**
+         * Removes a unit if it is present.
+         *
+         * @param unit
+         *            The unit.
+         */
+        void remove(Unit unit) {
+            if (members.remove(unit)) {
+                view = null;
+            }
+        }
+    }
+}
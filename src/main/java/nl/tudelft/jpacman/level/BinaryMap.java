@@ -0,0 +1,245 @@
+package nl.tudelft.jpacman.level;
+
+import nl.tudelft.jpacman.exceptions.PacmanConfigurationException;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The compact binary format of maps, read by
+ * {@link MapParser#parseBinaryMap(java.nio.ByteBuffer)}. Squares are numbered
+ * row by row, <code>y * width + x</code>, and all numbers are big-endian:
+ * <ol>
+ * <li>The header: the {@link #MAGIC} number, the {@link #VERSION} as a short,
+ * and the width and height as ints.</li>
+ * <li>The tiles: one bit per square, set for walls, the lowest bit of each
+ * byte first, padded to whole bytes.</li>
+ * <li>The pellets: the number of runs as an int, then per run the kind of
+ * pellet as a byte ({@link #NO_PELLET}, {@link #PELLET} or
+ * {@link #POWER_PELLET}) and the number of consecutive squares as a variable
+ * length number: seven bits per byte, the lowest first, with the highest bit
+ * set on all bytes but the last.</li>
+ * <li>The starting squares of the players, the fruit squares and the squares
+ * of the ghosts: per table the number of squares as an int, then the squares.
+ * The tables are ordered column by column, the order in which
+ * {@link MapParser} creates them from text.</li>
+ * </ol>
+ */
+public final class BinaryMap {
+
+    /**
+     * The first four bytes of a binary map: "JPMB".
+     */
+    static final int MAGIC = 0x4A504D42;
+
+    /**
+     * The version of the format.
+     */
+    static final short VERSION = 1;
+
+    /**
+     * A run of squares without pellets.
+     */
+    static final byte NO_PELLET = 0;
+
+    /**
+     * A run of squares with a pellet each.
+     */
+    static final byte PELLET = 1;
+
+    /**
+     * A run of squares with a power pellet each.
+     */
+    static final byte POWER_PELLET = 2;
+
+    private BinaryMap() {
+    }
+
+    /**
+     * Converts a map in the text format of
+     * {@link MapParser#parseMap(List)} to the binary format.
+     *
+     * @param rows The rows of the map, the top row first.
+     * @param out  The stream to write the binary map to. It is not closed.
+     * @throws IOException If the stream cannot be written.
+     * @throws PacmanConfigurationException If the rows are not properly
+     *                                      formatted.
+     */
+    public static void write(List<String> rows, OutputStream out) throws IOException {
+        if (rows.isEmpty() || rows.get(0).isEmpty()) {
+            throw new PacmanConfigurationException("Input text must consist of at least 1 non-empty row.");
+        }
+        int width = rows.get(0).length();
+        int height = rows.size();
+        for (String row : rows) {
+            if (row.length() != width) {
+                throw new PacmanConfigurationException("Input text lines are not of equal width.");
+            }
+        }
+
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeShort(VERSION);
+        data.writeInt(width);
+        data.writeInt(height);
+
+        byte[] tiles = new byte[(int) (((long) width * height + 7) / 8)];
+        ByteArrayOutputStream runBytes = new ByteArrayOutputStream();
+        DataOutputStream runs = new DataOutputStream(runBytes);
+        int runCount = 0;
+        byte kind = NO_PELLET;
+        int length = 0;
+        for (int y = 0; y < height; y++) {
+            String row = rows.get(y);
+            for (int x = 0; x < width; x++) {
+                int index = y * width + x;
+                char c = row.charAt(x);
+                if (c == '#') {
+                    tiles[index >>> 3] |= 1 << (index & 7);
+                }
+                byte pellet = pelletOf(c, x, y);
+                if (pellet != kind && length > 0) {
+                    runs.writeByte(kind);
+                    writeVarInt(runs, length);
+                    runCount++;
+                    length = 0;
+                }
+                kind = pellet;
+                length++;
+            }
+        }
+        runs.writeByte(kind);
+        writeVarInt(runs, length);
+        runCount++;
+        data.write(tiles);
+        data.writeInt(runCount);
+        runBytes.writeTo(data);
+
+        writeTable(data, rows, 'P');
+        writeTable(data, rows, 'F');
+        writeTable(data, rows, 'G');
+        data.flush();
+    }
+
+    /**
+     * Writes a number that is not negative in as few bytes as it needs.
+     *
+     * @param data  The stream to write to.
+     * @param value The number.
+     * @throws IOException If the stream cannot be written.
+     */
+    private static void writeVarInt(DataOutputStream data, int value) throws IOException {
+        assert value >= 0;
+        int rest = value;
+        while (rest >= 0x80) {
+            data.writeByte(rest & 0x7F | 0x80);
+            rest >>>= 7;
+        }
+        data.writeByte(rest);
+    }
+
+    /**
+     * Reads a number written by {@link #writeVarInt(DataOutputStream, int)}.
+     *
+     * @param map The binary map, positioned at the number.
+     * @return The number.
+     * @throws PacmanConfigurationException If the number does not fit in an
+     *                                      int.
+     */
+    static int readVarInt(ByteBuffer map) {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            byte b = map.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                if (value < 0) {
+                    break;
+                }
+                return value;
+            }
+        }
+        throw new PacmanConfigurationException("Invalid run length in binary map.");
+    }
+
+    /**
+     * Returns the kind of pellet on a square of a text map.
+     *
+     * @param c The character describing the square.
+     * @param x The column of the square.
+     * @param y The row of the square.
+     * @return The kind of pellet.
+     * @throws PacmanConfigurationException If the character describes no
+     *                                      square.
+     */
+    private static byte pelletOf(char c, int x, int y) {
+        switch (c) {
+            case '.':
+                return PELLET;
+            case 'o':
+                return POWER_PELLET;
+            case ' ':
+            case '#':
+            case 'F':
+            case 'G':
+            case 'P':
+                return NO_PELLET;
+            default:
+                throw new PacmanConfigurationException("Invalid character at " + x + "," + y + ": " + c);
+        }
+    }
+
+    /**
+     * Writes the table of the squares of a text map described by a
+     * character, column by column.
+     *
+     * @param data The stream to write to.
+     * @param rows The rows of the map.
+     * @param c    The character.
+     * @throws IOException If the stream cannot be written.
+     */
+    private static void writeTable(DataOutputStream data, List<String> rows, char c) throws IOException {
+        int width = rows.get(0).length();
+        List<Integer> squares = new ArrayList<>();
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < rows.size(); y++) {
+                if (rows.get(y).charAt(x) == c) {
+                    squares.add(y * width + x);
+                }
+            }
+        }
+        data.writeInt(squares.size());
+        for (int square : squares) {
+            data.writeInt(square);
+        }
+    }
+
+    /**
+     * Converts a text map to a binary map.
+     *
+     * @param args The text map to read and the binary map to write.
+     * @throws IOException If a file cannot be read or written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("usage: BinaryMap <map.txt> <map.bin>");
+            System.exit(1);
+        }
+        List<String> rows = Files.readAllLines(Paths.get(args[0]), StandardCharsets.UTF_8);
+        Path target = Paths.get(args[1]);
+        try (OutputStream out = Files.newOutputStream(target)) {
+            write(rows, out);
+        }
+        System.out.printf("wrote %s: %dx%d, %d bytes%n",
+            target, rows.get(0).length(), rows.size(), Files.size(target));
+    }
+}
@@ -4,11 +4,17 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import nl.tudelft.jpacman.board.Unit;
 
 /**
  * A map of possible collisions and their handlers.
+ * <p>
+ * Handlers may be added while collisions are handled on other threads. Adding
+ * handlers and looking them up for a new pair of classes take turns on this
+ * map, and every addition starts a new cache of resolved handlers, so a
+ * collision never uses a handler that a later addition replaced.
  *
  * @author Michael de Jong
  * @author Jeroen Roosen 
@@ -16,15 +22,31 @@ import nl.tudelft.jpacman.board.Unit;
 public class CollisionInteractionMap implements CollisionMap {
 
     /**
-     * The collection of collision handlers.
+     * The resolved handler of pairs of classes that do not interact.
+     */
+    private static final CollisionHandler<Unit, Unit> NO_HANDLER = (collider, collidee) -> { };
+
+    /**
+     * The collection of collision handlers. Only used while holding the lock
+     * of this map.
      */
     private final Map<Class<? extends Unit>, Map<Class<? extends Unit>, CollisionHandler<?, ?>>> handlers;
 
+    /**
+     * The handlers resolved since the last handler was added, by concrete
+     * collider class and concrete collidee class. Pairs without a handler map
+     * to {@link #NO_HANDLER}, so that the class hierarchy of every pair is
+     * walked only once. Replaced by an empty cache whenever a handler is
+     * added.
+     */
+    private volatile Map<Class<?>, Map<Class<?>, CollisionHandler<?, ?>>> resolved;
+
     /**
      * Creates a new, empty collision map.
      */
     public CollisionInteractionMap() {
         this.handlers = new HashMap<>();
+        this.resolved = new ConcurrentHashMap<>();
     }
 
     /**
@@ -66,7 +88,7 @@ public class CollisionInteractionMap implements CollisionMap {
      * @param handler
      *            The handler that handles the collision.
      */
-    public <C1 extends Unit, C2 extends Unit> void onCollision(Class<C1> collider, Class<C2> collidee, boolean symetric, CollisionHandler<C1, C2> handler) {
+    public synchronized <C1 extends Unit, C2 extends Unit> void onCollision(Class<C1> collider, Class<C2> collidee, boolean symetric, CollisionHandler<C1, C2> handler) {
         addHandler(collider, collidee, handler);
         if (symetric) {
             addHandler(collidee, collider, new InverseCollisionHandler<>(handler));
@@ -83,13 +105,14 @@ public class CollisionInteractionMap implements CollisionMap {
      * @param handler
      *            The handler that handles the collision.
      */
-    private void addHandler(Class<? extends Unit> collider, Class<? extends Unit> collidee, CollisionHandler<?, ?> handler) {
+    private synchronized void addHandler(Class<? extends Unit> collider, Class<? extends Unit> collidee, CollisionHandler<?, ?> handler) {
         if (!handlers.containsKey(collider)) {
             handlers.put(collider, new HashMap<>());
         }
 
         Map<Class<? extends Unit>, CollisionHandler<?, ?>> map = handlers.get(collider);
         map.put(collidee, handler);
+        resolved = new ConcurrentHashMap<>();
     }
 
     /**
@@ -109,23 +132,65 @@ public class CollisionInteractionMap implements CollisionMap {
     @SuppressWarnings("unchecked")
     @Override
     public <C1 extends Unit, C2 extends Unit> void collide(C1 collider, C2 collidee) {
-        Class<? extends Unit> colliderKey = getMostSpecificClass(handlers, collider.getClass());
-        if (colliderKey == null) {
-            return;
+        Map<Class<?>, Map<Class<?>, CollisionHandler<?, ?>>> cache = resolved;
+        Map<Class<?>, CollisionHandler<?, ?>> byCollidee = cache.get(collider.getClass());
+        CollisionHandler<?, ?> handler = null;
+        if (byCollidee != null) {
+            handler = byCollidee.get(collidee.getClass());
         }
+        if (handler == null) {
+            handler = resolve(cache, collider.getClass(), collidee.getClass());
+        }
+        if (handler != NO_HANDLER) {
+            ((CollisionHandler<C1, C2>) handler).handleCollision(collider, collidee);
+        }
+    }
 
-        Map<Class<? extends Unit>, CollisionHandler<?, ?>> map = handlers.get(colliderKey);
-        Class<? extends Unit> collideeKey = getMostSpecificClass(map, collidee.getClass());
-        if (collideeKey == null) {
-            return;
+    /**
+     * Looks up the handler of a pair of concrete classes and remembers it in
+     * the cache, unless a handler was added since the cache was read.
+     *
+     * @param cache
+     *            The cache of resolved handlers the pair was missing from.
+     * @param collider
+     *            The class of the collider.
+     * @param collidee
+     *            The class of the collidee.
+     * @return The handler of the collision, or {@link #NO_HANDLER} if these
+     *         classes do not interact.
+     */
+    private synchronized CollisionHandler<?, ?> resolve(Map<Class<?>, Map<Class<?>, CollisionHandler<?, ?>>> cache,
+                                                        Class<? extends Unit> collider, Class<? extends Unit> collidee) {
+        CollisionHandler<?, ?> handler = lookup(collider, collidee);
+        if (cache == resolved) {
+            cache.computeIfAbsent(collider, key -> new ConcurrentHashMap<>()).put(collidee, handler);
         }
+        return handler;
+    }
 
-        CollisionHandler<C1, C2> collisionHandler = (CollisionHandler<C1, C2>) map.get(collideeKey);
-        if (collisionHandler == null) {
-            return;
+    /**
+     * Looks up the handler of the most specific classes listed for a pair of
+     * concrete classes. Only called while holding the lock of this map.
+     *
+     * @param collider
+     *            The class of the collider.
+     * @param collidee
+     *            The class of the collidee.
+     * @return The handler of the collision, or {@link #NO_HANDLER} if these
+     *         classes do not interact.
+     */
+    private CollisionHandler<?, ?> lookup(Class<? extends Unit> collider, Class<? extends Unit> collidee) {
+        Class<? extends Unit> colliderKey = getMostSpecificClass(handlers, collider);
+        if (colliderKey == null) {
+            return NO_HANDLER;
         }
 
-        collisionHandler.handleCollision(collider, collidee);
+        Map<Class<? extends Unit>, CollisionHandler<?, ?>> map = handlers.get(colliderKey);
+        Class<? extends Unit> collideeKey = getMostSpecificClass(map, collidee);
+        if (collideeKey == null) {
+            return NO_HANDLER;
+        }
+        return map.get(collideeKey);
     }
 
     /**
@@ -47,7 +47,7 @@ public class DefaultPlayerInteractionMap implements CollisionMap {
                     } else {
                         ghost.setAlive(false);
                         ghost.setGameMode((byte) 0);
-                        level.scheduleReborn(ghost, 5000);
+                        level.scheduleReborn(ghost, Level.REBORN_TIME);
                         player.setConsecutiveKills(player.getConsecutiveKills() + 1);
                         player.addPoints((int) (Math.pow(2, player.getConsecutiveKills()) * 100));
                     }
@@ -56,7 +56,7 @@ public class DefaultPlayerInteractionMap implements CollisionMap {
 
         collisionMap.onCollision(Player.class, Pellet.class,
             (player, pellet) -> {
-                pellet.leaveSquare();
+                level.pelletEaten(pellet);
                 player.addPoints(pellet.getValue());
                 if (pellet.isPowerPellet()) {
                     level.setGameMode((byte) 1);
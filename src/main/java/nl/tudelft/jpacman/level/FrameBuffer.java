@@ -0,0 +1,183 @@
+package nl.tudelft.jpacman.level;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.level.unit.Player;
+import nl.tudelft.jpacman.metrics.Counter;
+import nl.tudelft.jpacman.metrics.Metrics;
+import nl.tudelft.jpacman.metrics.Timer;
+
+import java.util.BitSet;
+import java.util.Collection;
+
+/**
+ * The two frames of a level between which the thread applying its changes
+ * and the threads drawing it take turns. The writer fills the frame that is
+ * not shown and then swaps it in; a frame that is still held by a reader is
+ * not filled again, the writer publishes on its next turn instead.
+ * <p>
+ * Frames are only created and filled when a reader has asked for one, so a
+ * level that is not displayed does no work and holds no memory for it. A
+ * frame is filled in full once; after that, only the squares units entered or
+ * left since it was last filled are filled again, along with the squares of
+ * the players and ghosts, whose sprites change as they turn and change mode.
+ */
+final class FrameBuffer {
+
+    /**
+     * The time taken to fill the frames.
+     */
+    private static final Timer PUBLISHED = Metrics.getDefault().timer("frame.publish");
+
+    /**
+     * The number of times a frame could not be filled because a reader held
+     * it.
+     */
+    private static final Counter SKIPPED = Metrics.getDefault().counter("frame.skipped");
+
+    private final Board board;
+
+    /**
+     * The two frames, filled in turns. A frame is created when it is first
+     * filled.
+     */
+    private final RenderFrame[] frames = new RenderFrame[2];
+
+    /**
+     * For each frame, the indexes of the squares whose occupants changed
+     * since it was last filled.
+     */
+    private final BitSet[] stale = {new BitSet(), new BitSet()};
+
+    /**
+     * The squares taken from the board on a publish. Only used by the
+     * writer.
+     */
+    private final BitSet changed = new BitSet();
+
+    /**
+     * The frame that was filled last, or <code>null</code> if none was.
+     */
+    private volatile RenderFrame front;
+
+    /**
+     * <code>true</code> iff a reader asked for a frame since the last one
+     * was filled.
+     */
+    private volatile boolean requested;
+
+    /**
+     * The number of the last frame filled. Only used by the writer.
+     */
+    private long sequence;
+
+    /**
+     * Creates the frames of a board.
+     *
+     * @param board The board to draw.
+     */
+    FrameBuffer(Board board) {
+        this.board = board;
+    }
+
+    /**
+     * Asks the writer for a frame of the current state.
+     */
+    void request() {
+        requested = true;
+    }
+
+    /**
+     * @return <code>true</code> iff a reader is waiting for a new frame.
+     */
+    boolean isRequested() {
+        return requested;
+    }
+
+    /**
+     * Fills the frame that is not shown with the current state and shows it,
+     * unless a reader still holds that frame. Only called by the thread
+     * applying the changes to the level.
+     *
+     * @param players The players of the level.
+     * @param ghosts  The ghosts of the level.
+     */
+    void publish(Collection<Player> players, Collection<? extends Unit> ghosts) {
+        int next = frames[0] == front ? 1 : 0;
+        RenderFrame back = frames[next];
+        boolean full = back == null;
+        if (full) {
+            back = new RenderFrame(board.getSize());
+            frames[next] = back;
+            board.trackChanges();
+        } else if (back.readers.get() > 0) {
+            SKIPPED.increment();
+            return;
+        }
+        long start = System.nanoTime();
+        requested = false;
+
+        board.takeChangedSquares(changed);
+        stale[0].or(changed);
+        stale[1].or(changed);
+        changed.clear();
+        BitSet squares = stale[next];
+        markSquares(squares, players);
+        markSquares(squares, ghosts);
+        if (full) {
+            back.fill(board, players, ++sequence);
+        } else {
+            back.fill(board, squares, players, ++sequence);
+        }
+        squares.clear();
+
+        front = back;
+        PUBLISHED.recordSince(start);
+    }
+
+    /**
+     * Adds the squares of units to a set.
+     *
+     * @param squares The indexes of the squares.
+     * @param units   The units.
+     */
+    private static void markSquares(BitSet squares, Collection<? extends Unit> units) {
+        for (Unit unit : units) {
+            if (unit.hasSquare()) {
+                squares.set(unit.getSquare().getIndex());
+            }
+        }
+    }
+
+    /**
+     * Takes hold of the frame that was filled last. It is not changed until
+     * it is released.
+     *
+     * @return The frame, or <code>null</code> if none was filled yet.
+     */
+    RenderFrame acquire() {
+        while (true) {
+            RenderFrame frame = front;
+            if (frame == null) {
+                return null;
+            }
+            frame.readers.incrementAndGet();
+            if (frame == front) {
+                return frame;
+            }
+            frame.readers.decrementAndGet();
+        }
+    }
+
+    /**
+     * Lets go of a frame, so it can be filled again.
+     *
+     * @param frame A frame returned by {@link #acquire()}, or
+     *              <code>null</code>.
+     */
+    void release(RenderFrame frame) {
+        if (frame != null) {
+            frame.readers.decrementAndGet();
+        }
+    }
+}
@@ -3,6 +3,8 @@ package nl.tudelft.jpacman.level;
 import nl.tudelft.jpacman.level.unit.Fruit;
 import nl.tudelft.jpacman.sprite.PacManSprites;
 
+import java.util.Random;
+
 public class FruitFactory {
     /**
      * The sprite store containing the fruit sprites
@@ -22,6 +24,17 @@ public class FruitFactory {
         return new Fruit(fruitType.getValue(), sprites.getFruit(fruitType));
     }
 
+    /**
+     * Create a new fruit of a random type
+     *
+     * @param random The source of randomness picking the type
+     * @return The new fruit
+     */
+    public Fruit createFruit(Random random) {
+        FruitType fruitType = FruitType.getRamdomFruitType(random);
+        return new Fruit(fruitType.getValue(), sprites.getFruit(fruitType));
+    }
+
     /**
      * Create a new cherry as fruit
      *
@@ -29,7 +29,17 @@ public enum FruitType {
      * @return the selected fruit type
      */
     public static FruitType getRamdomFruitType()  {
-        return FRUITS[RANDOM.nextInt(SIZE)];
+        return getRamdomFruitType(RANDOM);
+    }
+
+    /**
+     * Pick randomly a fruit type
+     *
+     * @param random The source of randomness
+     * @return the selected fruit type
+     */
+    public static FruitType getRamdomFruitType(Random random)  {
+        return FRUITS[random.nextInt(SIZE)];
     }
 
     /**
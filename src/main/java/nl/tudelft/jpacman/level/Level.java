@@ -5,12 +5,18 @@ import nl.tudelft.jpacman.board.Direction;
 import nl.tudelft.jpacman.board.Square;
 import nl.tudelft.jpacman.board.Unit;
 import nl.tudelft.jpacman.level.task.*;
+import nl.tudelft.jpacman.level.unit.Fruit;
 import nl.tudelft.jpacman.level.unit.Pellet;
 import nl.tudelft.jpacman.level.unit.Player;
 import nl.tudelft.jpacman.level.unit.Player.PlayerObserver;
+import nl.tudelft.jpacman.metrics.Metrics;
+import nl.tudelft.jpacman.metrics.Timer;
 import nl.tudelft.jpacman.npc.Ghost;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * A level of Pac-Man. A level consists of the board with the players and the
@@ -27,9 +33,75 @@ public class Level implements PlayerObserver {
     private final Board board;
 
     /**
-     * The lock that ensures moves are executed sequential.
+     * The changes to the board waiting to be applied, in the order in which
+     * they were submitted.
      */
-    private final Object moveLock = new Object();
+    private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+
+    /**
+     * <code>true</code> while a thread is applying the waiting changes. Only
+     * that thread changes the board, so changes never run concurrently.
+     */
+    private final AtomicBoolean applyingCommands = new AtomicBoolean();
+
+    /**
+     * The thread applying the waiting changes, or <code>null</code> if none
+     * is.
+     */
+    private volatile Thread writer;
+
+    /**
+     * <code>true</code> while a task is scheduled to publish a frame.
+     */
+    private final AtomicBoolean publishScheduled = new AtomicBoolean();
+
+    /**
+     * A change that changes nothing, submitted to have a frame published.
+     */
+    private static final Runnable NOTHING = () -> { };
+
+    /**
+     * The time taken by the moves applied to the board.
+     */
+    private static final Timer MOVES = Metrics.getDefault().timer("level.move");
+
+    /**
+     * The time taken by the collisions handled during moves.
+     */
+    private static final Timer COLLISIONS = Metrics.getDefault().timer("level.collision");
+
+    /**
+     * The duration of hunting mode 1 after a power pellet is eaten, in
+     * milliseconds.
+     */
+    static final long HUNTING_TIME = 5000;
+
+    /**
+     * The duration of hunting mode 1 when few power pellets are left, in
+     * milliseconds.
+     */
+    static final long SHORT_HUNTING_TIME = 3000;
+
+    /**
+     * The number of power pellets left at which hunting mode 1 gets short.
+     */
+    static final int SHORT_HUNTING_PELLETS = 2;
+
+    /**
+     * The duration of hunting mode 2, in which the ghosts are about to stop
+     * being frightened, in milliseconds.
+     */
+    static final long ENDING_HUNTING_TIME = 2000;
+
+    /**
+     * The time an eaten ghost waits to be reborn, in milliseconds.
+     */
+    static final long REBORN_TIME = 5000;
+
+    /**
+     * The frames in which this level is drawn.
+     */
+    private final FrameBuffer frames;
 
     /**
      * The lock that ensures starting and stopping can't interfere with each
@@ -37,6 +109,16 @@ public class Level implements PlayerObserver {
      */
     private final Object startStopLock = new Object();
 
+    /**
+     * The scheduler executing the tasks of this level.
+     */
+    private final TaskScheduler scheduler;
+
+    /**
+     * The source of randomness of this level, its ghosts and its fruits.
+     */
+    private final Random random;
+
     /**
      * The NPCs of this level their moving schedules.
      */
@@ -59,9 +141,9 @@ public class Level implements PlayerObserver {
 
     /**
      * <code>true</code> iff this level is currently in progress, i.e. players
-     * and NPCs can move.
+     * and NPCs can move. Read by the threads submitting moves.
      */
-    private boolean inProgress;
+    private volatile boolean inProgress;
 
     /**
      * The squares from which players can start this game.
@@ -83,6 +165,16 @@ public class Level implements PlayerObserver {
      */
     private final int nbPellets;
 
+    /**
+     * The number of simple pellets currently on the board.
+     */
+    private volatile int remainingPellets;
+
+    /**
+     * The number of power pellets currently on the board.
+     */
+    private volatile int remainingPowerPellets;
+
     /**
      * The start current selected starting square.
      */
@@ -120,29 +212,54 @@ public class Level implements PlayerObserver {
      * @param fruitPositions The squares on which a fruit can be created on the board
      */
     public Level(Board board, List<Ghost> ghosts, List<Square> startPositions, List<Square> fruitPositions, FruitFactory fruitFactory) {
+        this(board, ghosts, startPositions, fruitPositions, fruitFactory,
+            TimingWheelScheduler.getDefault(), new Random());
+    }
+
+    /**
+     * Creates a new level for the board whose tasks run on the given scheduler.
+     * Given the same scheduler and seed, a level plays out the same way every time.
+     *
+     * @param board          The board for the level.
+     * @param ghosts         The ghosts on the board.
+     * @param startPositions The squares on which players start on this board.
+     * @param fruitPositions The squares on which a fruit can be created on the board
+     * @param fruitFactory   The factory providing the fruits.
+     * @param scheduler      The scheduler executing the moves and timers of this level.
+     * @param random         The source of randomness of the ghosts and fruits.
+     */
+    public Level(Board board, List<Ghost> ghosts, List<Square> startPositions, List<Square> fruitPositions,
+                 FruitFactory fruitFactory, TaskScheduler scheduler, Random random) {
         assert board != null;
         assert ghosts != null;
         assert startPositions != null;
         assert fruitPositions != null;
+        assert scheduler != null;
+        assert random != null;
 
         this.board = board;
-        this.nbPellets = remainingPellets(false);
+        this.frames = new FrameBuffer(board);
+        this.scheduler = scheduler;
+        this.random = random;
+        countPellets();
+        this.nbPellets = remainingPellets;
         this.inProgress = false;
-        this.npcsMoveSchedules = new HashMap<>();
-        this.npcsRebornSchedules = new HashMap<>();
+        this.npcsMoveSchedules = new LinkedHashMap<>();
+        this.npcsRebornSchedules = new LinkedHashMap<>();
         for (Ghost ghost : ghosts) {
-            ScheduledTaskService moveService = new ScheduledTaskService();
+            ghost.setRandom(random);
+            ScheduledTaskService moveService = new ScheduledTaskService(scheduler);
             moveService.schedule(new GhostMoveTask(moveService, ghost, this), ghost.getInterval() / 2, false);
             npcsMoveSchedules.put(ghost, moveService);
 
-            npcsRebornSchedules.put(ghost, new ScheduledTaskService());
+            npcsRebornSchedules.put(ghost, new ScheduledTaskService(scheduler));
         }
-        this.playersMoveSchedules = new HashMap<>();
+        this.playersMoveSchedules = new LinkedHashMap<>();
         this.startSquares = startPositions;
         this.startSquareIndex = 0;
         this.collisions = new DefaultPlayerInteractionMap(this);
-        this.observers = new HashSet<>();
-        this.exitHuntingModeService = new ScheduledTaskService();
+        this.observers = new LinkedHashSet<>();
+        this.exitHuntingModeService = new ScheduledTaskService(scheduler);
         this.fruitSquares = fruitPositions;
         this.fruitFactory = fruitFactory;
     }
@@ -206,13 +323,14 @@ public class Level implements PlayerObserver {
 
     /**
      * Start the task of gradual exit from hunting mode.
-     * If there are 2 power pellets or less, the hunting mode time is reduced by 2 seconds.
+     * If there are {@link #SHORT_HUNTING_PELLETS} power pellets or less, the hunting mode time is reduced.
      */
     private void startHuntingMode() {
-        if (this.remainingPellets(true) > 2) {
-            this.exitHuntingModeService.schedule(new ExitHuntingModeTask(this.exitHuntingModeService, this), 5000, true);
+        ExitHuntingModeTask exit = new ExitHuntingModeTask(this.exitHuntingModeService, this, ENDING_HUNTING_TIME);
+        if (this.remainingPellets(true) > SHORT_HUNTING_PELLETS) {
+            this.exitHuntingModeService.schedule(exit, HUNTING_TIME, true);
         } else {
-            this.exitHuntingModeService.schedule(new ExitHuntingModeTask(this.exitHuntingModeService, this), 3000, true);
+            this.exitHuntingModeService.schedule(exit, SHORT_HUNTING_TIME, true);
         }
         for (Ghost npc : this.getGhosts()) {
             npc.setAlive(true);
@@ -234,11 +352,11 @@ public class Level implements PlayerObserver {
         if (playersMoveSchedules.containsKey(player)) {
             return;
         }
-        ScheduledTaskService service = new ScheduledTaskService();
+        ScheduledTaskService service = new ScheduledTaskService(scheduler);
         service.schedule(new PlayerMoveTask(service, player, this), player.getInterval() / 2, false);
         playersMoveSchedules.put(player, service);
         Square square = startSquares.get(startSquareIndex);
-        player.occupy(square);
+        submit(() -> player.occupy(square));
         player.setInitialPostion(square);
         player.register(this);
         startSquareIndex++;
@@ -254,6 +372,16 @@ public class Level implements PlayerObserver {
         return board;
     }
 
+    /**
+     * Returns the source of randomness of this level. Strategies playing on
+     * this level should draw from it, so a game can be replayed from a seed.
+     *
+     * @return The source of randomness of this level.
+     */
+    public Random getRandom() {
+        return random;
+    }
+
     /**
      * Returns the number of pellets before running the level.
      *
@@ -265,7 +393,10 @@ public class Level implements PlayerObserver {
 
     /**
      * Moves the unit into the given direction if possible and handles all
-     * collisions.
+     * collisions. The move is applied after the changes submitted before it,
+     * see {@link #submit(Runnable)}: when another thread is applying changes,
+     * that thread applies this move too and this method returns before the
+     * move has been applied. Use {@link #awaitChanges()} to wait for it.
      *
      * @param unit      The unit to move.
      * @param direction The direction to move the unit in.
@@ -274,23 +405,135 @@ public class Level implements PlayerObserver {
         if (!isInProgress()) {
             return;
         }
+        submit(() -> applyMove(unit, direction));
+    }
 
-        synchronized (moveLock) {
-            unit.setDirection(direction);
-            Square location = unit.getSquare();
-            Square destination = location.getSquareAt(direction);
+    /**
+     * Moves the unit into the given direction if possible and handles all
+     * collisions, unless the level was stopped since the move was submitted.
+     *
+     * @param unit      The unit to move.
+     * @param direction The direction to move the unit in.
+     */
+    private void applyMove(Unit unit, Direction direction) {
+        if (!isInProgress() || !unit.hasSquare()) {
+            return;
+        }
+        long start = System.nanoTime();
+        unit.setDirection(direction);
+        Square location = unit.getSquare();
+        Square destination = location.getSquareAt(direction);
+
+        if (destination.isAccessibleTo(unit)) {
+            List<Unit> occupants = destination.getOccupants();
+            unit.occupy(destination);
+            long collision = occupants.isEmpty() ? 0 : System.nanoTime();
+            for (Unit occupant : occupants) {
+                collisions.collide(unit, occupant);
+                long collided = System.nanoTime();
+                COLLISIONS.record(collided - collision);
+                collision = collided;
+            }
+        }
+        updateObservers();
+        MOVES.recordSince(start);
+    }
 
-            if (destination.isAccessibleTo(unit)) {
-                List<Unit> occupants = destination.getOccupants();
-                unit.occupy(destination);
-                for (Unit occupant : occupants) {
-                    collisions.collide(unit, occupant);
+    /**
+     * Queues a change to the board or its units and applies the waiting
+     * changes, unless another thread is applying them already. Every change
+     * to the board, its units and the game mode goes through here, so that
+     * changes never run concurrently. Changes submitted while a change is
+     * being applied, for instance by a collision, are applied after it by the
+     * same thread. Once all changes are applied, a frame is published if one
+     * was asked for. A change that fails is reported to the handler of the
+     * thread applying it, rather than thrown at whoever submitted the change
+     * that thread was applying, and the changes after it are still applied.
+     * <p>
+     * Only the threads running the game submit changes; the threads drawing
+     * the level never apply them.
+     *
+     * @param command The change to apply.
+     */
+    public void submit(Runnable command) {
+        commands.add(command);
+        while (!commands.isEmpty() && applyingCommands.compareAndSet(false, true)) {
+            writer = Thread.currentThread();
+            try {
+                Runnable next;
+                while ((next = commands.poll()) != null) {
+                    apply(next);
                 }
+                if (frames.isRequested()) {
+                    frames.publish(getPlayers(), getGhosts());
+                }
+            } finally {
+                writer = null;
+                applyingCommands.set(false);
             }
-            updateObservers();
         }
     }
 
+    /**
+     * Applies a change, reporting its failure to the handler of the current
+     * thread.
+     *
+     * @param command The change to apply.
+     */
+    private static void apply(Runnable command) {
+        try {
+            command.run();
+        } catch (Throwable e) {
+            Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+        }
+    }
+
+    /**
+     * Waits until the changes submitted before have been applied, including
+     * those applied by another thread. Must not be called by a change.
+     *
+     * @throws InterruptedException If the thread was interrupted while
+     *                              waiting.
+     */
+    public void awaitChanges() throws InterruptedException {
+        assert writer != Thread.currentThread() : "A change cannot wait for itself.";
+        CountDownLatch applied = new CountDownLatch(1);
+        submit(applied::countDown);
+        applied.await();
+    }
+
+    /**
+     * Takes hold of the frame showing this level after the last changes that
+     * were published. A new frame is asked for, which is filled by the thread
+     * applying the next changes, or by a task on the scheduler of this level
+     * if no changes are being made; the calling thread never applies changes
+     * itself. The frame does not change until it is released with
+     * {@link #releaseFrame(RenderFrame)}.
+     *
+     * @return The frame, or <code>null</code> if none was published yet.
+     */
+    public RenderFrame acquireFrame() {
+        frames.request();
+        if (publishScheduled.compareAndSet(false, true)) {
+            scheduler.schedule(() -> {
+                publishScheduled.set(false);
+                submit(NOTHING);
+            }, 0);
+        }
+        return frames.acquire();
+    }
+
+    /**
+     * Lets go of a frame, so it can be reused for a later state.
+     *
+     * @param frame A frame returned by {@link #acquireFrame()}, or
+     *              <code>null</code>.
+     */
+    public void releaseFrame(RenderFrame frame) {
+        frames.release(frame);
+    }
+
     /**
      * Starts or resumes this level. The players and the ghosts start moving.
      */
@@ -377,7 +620,28 @@ public class Level implements PlayerObserver {
      * @param delay The delay
      */
     public void scheduleReborn(Ghost ghost, long delay) {
-        this.npcsRebornSchedules.get(ghost).schedule(() -> ghost.setAlive(true), delay, true);
+        this.npcsRebornSchedules.get(ghost).schedule(() -> submit(() -> ghost.setAlive(true)), delay, true);
+    }
+
+    /**
+     * Returns the time left before the game mode changes from hunting mode
+     * 1 to 2 or from 2 back to 0.
+     *
+     * @return The remaining time in milliseconds, or 0 outside hunting mode.
+     */
+    long getHuntingModeDelay() {
+        return exitHuntingModeService.getRemainingDelay();
+    }
+
+    /**
+     * Returns the time left before an eaten ghost is reborn.
+     *
+     * @param ghost The ghost.
+     * @return The remaining time in milliseconds, or 0 if the ghost is not
+     * waiting to be reborn.
+     */
+    long getRebornDelay(Ghost ghost) {
+        return npcsRebornSchedules.get(ghost).getRemainingDelay();
     }
 
     /**
@@ -399,13 +663,14 @@ public class Level implements PlayerObserver {
                 observer.levelLost();
             }
         }
-        if (remainingPellets(false) == 0) {
+        int pellets = remainingPellets(false);
+        if (pellets == 0) {
             for (LevelObserver observer : observers) {
                 observer.levelWon();
             }
         }
 
-        if (remainingPellets(false) == nbPellets / 2 && !spawnFruit) {
+        if (pellets == nbPellets / 2 && !spawnFruit) {
             for (LevelObserver observer : observers) {
                 observer.halfPelletsEaten();
             }
@@ -429,41 +694,99 @@ public class Level implements PlayerObserver {
     }
 
     /**
-     * Counts the pellets remaining on the board.
+     * Returns the number of pellets remaining on the board. The pellets are
+     * counted once when the level is created, after which the count is kept
+     * up to date by {@link #placePellet(Pellet, Square)} and
+     * {@link #pelletEaten(Pellet)}.
      *
      * @param powerPellet True to count the number of remaining power pellets false for simple pellets
      * @return The amount of pellets remaining on the board.
      */
     public int remainingPellets(boolean powerPellet) {
-        Board board = getBoard();
+        if (powerPellet) {
+            return remainingPowerPellets;
+        }
+        return remainingPellets;
+    }
+
+    /**
+     * Counts the pellets on the board.
+     */
+    private void countPellets() {
         int pellets = 0;
+        int powerPellets = 0;
         for (int x = 0; x < board.getWidth(); x++) {
             for (int y = 0; y < board.getHeight(); y++) {
                 for (Unit unit : board.squareAt(x, y).getOccupants()) {
                     if (unit instanceof Pellet) {
-                        if (((Pellet) unit).isPowerPellet() == powerPellet) {
+                        if (((Pellet) unit).isPowerPellet()) {
+                            powerPellets++;
+                        } else {
                             pellets++;
                         }
                     }
                 }
             }
         }
-        return pellets;
+        this.remainingPellets = pellets;
+        this.remainingPowerPellets = powerPellets;
     }
 
     /**
-     * Place a fruit into the level
+     * Places a pellet on the board of this level and counts it as remaining.
+     * The pellet is placed in turn with the moves, see
+     * {@link #move(Unit, Direction)}.
+     *
+     * @param pellet The pellet to place, which is not on the board yet.
+     * @param square The square to place the pellet on.
+     */
+    public void placePellet(Pellet pellet, Square square) {
+        assert !pellet.hasSquare();
+        submit(() -> {
+            pellet.occupy(square);
+            if (pellet.isPowerPellet()) {
+                remainingPowerPellets++;
+            } else {
+                remainingPellets++;
+            }
+        });
+    }
+
+    /**
+     * Takes an eaten pellet off the board and no longer counts it as
+     * remaining. Called while handling the collision with the pellet.
+     *
+     * @param pellet The pellet that has been eaten.
+     */
+    void pelletEaten(Pellet pellet) {
+        if (!pellet.hasSquare()) {
+            return;
+        }
+        pellet.leaveSquare();
+        if (pellet.isPowerPellet()) {
+            remainingPowerPellets--;
+        } else {
+            remainingPellets--;
+        }
+    }
+
+    /**
+     * Place a fruit into the level, if it has a square for fruits
      */
     public void placeFruit() {
-        int index = this.fruitSquares.size() == 1 ? 0 : new Random().nextInt(this.fruitSquares.size());
-        this.fruitFactory.createFruit().occupy(this.fruitSquares.get(index));
+        if (this.fruitSquares.isEmpty()) {
+            return;
+        }
+        int index = this.fruitSquares.size() == 1 ? 0 : random.nextInt(this.fruitSquares.size());
+        Fruit fruit = this.fruitFactory.createFruit(random);
+        submit(() -> fruit.occupy(this.fruitSquares.get(index)));
     }
 
     /**
-     * Respawn the ghosts in their initial position
+     * Respawn the ghosts in their initial position, in turn with the moves.
      */
     public void respawnGhostsInInitialPosition() {
-        getGhosts().forEach(ghost -> ghost.occupy(ghost.getInitialPosition()));
+        submit(() -> getGhosts().forEach(ghost -> ghost.occupy(ghost.getInitialPosition())));
     }
 
     @Override
@@ -472,7 +795,7 @@ public class Level implements PlayerObserver {
             this.stop();
             this.getGhosts().forEach(Unit::leaveSquare);
             player.setAlive(false);
-            ScheduledTaskService service = new ScheduledTaskService();
+            ScheduledTaskService service = new ScheduledTaskService(scheduler);
             service.schedule(new PlayerDeadTask(service, player, this), 2000, true);
         }
     }
@@ -4,12 +4,15 @@ import nl.tudelft.jpacman.ConfigurationLoader;
 import nl.tudelft.jpacman.board.Board;
 import nl.tudelft.jpacman.board.Square;
 import nl.tudelft.jpacman.level.unit.Fruit;
+import nl.tudelft.jpacman.level.task.TaskScheduler;
+import nl.tudelft.jpacman.level.task.TimingWheelScheduler;
 import nl.tudelft.jpacman.level.unit.Pellet;
 import nl.tudelft.jpacman.npc.Ghost;
 import nl.tudelft.jpacman.npc.ghost.GhostFactory;
 import nl.tudelft.jpacman.sprite.PacManSprites;
 
 import java.util.List;
+import java.util.Random;
 
 /**
  * Factory that creates levels and units.
@@ -54,6 +57,16 @@ public class LevelFactory {
      */
     private final FruitFactory fruitFactory;
 
+    /**
+     * The scheduler executing the tasks of the levels.
+     */
+    private final TaskScheduler scheduler;
+
+    /**
+     * The source of randomness of the levels.
+     */
+    private final Random random;
+
     /**
      * Creates a new level factory.
      *
@@ -61,7 +74,23 @@ public class LevelFactory {
      * @param ghostFactory The factory providing ghosts.
      */
     public LevelFactory(PacManSprites spriteStore, GhostFactory ghostFactory, FruitFactory fruitFactory) {
+        this(spriteStore, ghostFactory, fruitFactory, TimingWheelScheduler.getDefault(), new Random());
+    }
+
+    /**
+     * Creates a new level factory whose levels run on the given scheduler.
+     *
+     * @param spriteStore  The sprite store providing the sprites for units.
+     * @param ghostFactory The factory providing ghosts.
+     * @param fruitFactory The factory providing the fruits.
+     * @param scheduler    The scheduler executing the tasks of the levels.
+     * @param random       The source of randomness of the levels.
+     */
+    public LevelFactory(PacManSprites spriteStore, GhostFactory ghostFactory, FruitFactory fruitFactory,
+                        TaskScheduler scheduler, Random random) {
         this.sprites = spriteStore;
+        this.scheduler = scheduler;
+        this.random = random;
         this.ghostIndex = -1;
         this.ghostFact = ghostFactory;
         this.fruitFactory = fruitFactory;
@@ -76,7 +105,7 @@ public class LevelFactory {
      * @return A new level for the board.
      */
     public Level createLevel(Board board, List<Ghost> ghosts, List<Square> startPositions, List<Square> fruitPositions) {
-        return new Level(board, ghosts, startPositions, fruitPositions, fruitFactory);
+        return new Level(board, ghosts, startPositions, fruitPositions, fruitFactory, scheduler, random);
     }
 
     /**
@@ -0,0 +1,666 @@
+package nl.tudelft.jpacman.level;
+
+import nl.tudelft.jpacman.ConfigurationLoader;
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.level.unit.Fruit;
+import nl.tudelft.jpacman.level.unit.Pellet;
+import nl.tudelft.jpacman.level.unit.Player;
+import nl.tudelft.jpacman.npc.Ghost;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A copy of the state of a level in primitive arrays, which can be copied
+ * cheaply and played forward without touching the board, for strategies that
+ * look ahead. Squares are identified by their index on the board and ghosts
+ * by their position in {@link Level#getGhosts()}.
+ * <p>
+ * Moves follow {@link Level#move(nl.tudelft.jpacman.board.Unit, Direction)}
+ * and the collisions of the {@link DefaultPlayerInteractionMap}; the timers of
+ * the hunting mode and of the ghosts waiting to be reborn advance with
+ * {@link #elapse(long)}. When the player loses a life, the units are put back
+ * on their starting squares at once instead of after the death animation.
+ * No fruit is placed while playing a snapshot forward, and the moves of the
+ * ghosts are left to the caller, as they depend on randomness.
+ * <p>
+ * Snapshots are equal if they describe the same state, so they can be hashed.
+ * A snapshot is not thread-safe; every thread should play its own copy.
+ */
+public final class LevelSnapshot {
+
+    /**
+     * The points scored for a pellet.
+     */
+    private static final int PELLET_VALUE = Integer.parseInt(
+        ConfigurationLoader.getProperty("level.factory.pellet.value"));
+
+    /**
+     * The points scored for a power pellet.
+     */
+    private static final int POWER_PELLET_VALUE = Integer.parseInt(
+        ConfigurationLoader.getProperty("level.factory.power.pellet.value"));
+
+    /**
+     * The score at which the player gains an extra life.
+     */
+    private static final int SCORE_GAIN_EXTRA_LIFE = Integer.parseInt(
+        ConfigurationLoader.getProperty("player.score.extra.life"));
+
+    /**
+     * The directions, by ordinal.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * The parts of the state that do not change during a game, shared by all
+     * copies of a snapshot. The terrain and the neighbours of the squares are
+     * read from the tables of the board rather than copied.
+     */
+    private static final class Layout {
+
+        private final Board board;
+        private final int width;
+        private final int height;
+
+        private final int playerStart;
+        private final int[] ghostStarts;
+
+        /**
+         * Records the layout of a board.
+         *
+         * @param board       The board.
+         * @param playerStart The square the player starts on.
+         * @param ghostStarts The squares the ghosts start on.
+         */
+        Layout(Board board, int playerStart, int[] ghostStarts) {
+            this.board = board;
+            this.width = board.getWidth();
+            this.height = board.getHeight();
+            this.playerStart = playerStart;
+            this.ghostStarts = ghostStarts;
+        }
+    }
+
+    private final Layout layout;
+
+    /**
+     * The squares with a pellet, one bit per square index.
+     */
+    private final long[] pellets;
+
+    /**
+     * The squares with a power pellet, one bit per square index.
+     */
+    private final long[] powerPellets;
+
+    private int remainingPellets;
+    private int remainingPowerPellets;
+
+    /**
+     * The squares of the fruits, or <code>-1</code> once eaten.
+     */
+    private final int[] fruitSquares;
+
+    /**
+     * The points of the fruits.
+     */
+    private final int[] fruitValues;
+
+    private int playerSquare;
+    private byte playerDirection;
+    private int score;
+    private int lives;
+    private int consecutiveKills;
+    private boolean extraLifeReceived;
+
+    private final int[] ghostSquares;
+    private final byte[] ghostDirections;
+    private final boolean[] ghostAlive;
+    private final byte[] ghostModes;
+
+    /**
+     * The time left before each eaten ghost is reborn, in milliseconds.
+     */
+    private final long[] rebornDelays;
+
+    private byte gameMode;
+
+    /**
+     * The time left before the game mode changes, in milliseconds.
+     */
+    private long huntingModeDelay;
+
+    /**
+     * Creates an empty snapshot.
+     *
+     * @param layout The layout of the board.
+     * @param fruits The number of fruits.
+     */
+    private LevelSnapshot(Layout layout, int fruits) {
+        int size = layout.width * layout.height;
+        int ghosts = layout.ghostStarts.length;
+        this.layout = layout;
+        this.pellets = new long[words(size)];
+        this.powerPellets = new long[words(size)];
+        this.fruitSquares = new int[fruits];
+        this.fruitValues = new int[fruits];
+        this.ghostSquares = new int[ghosts];
+        this.ghostDirections = new byte[ghosts];
+        this.ghostAlive = new boolean[ghosts];
+        this.ghostModes = new byte[ghosts];
+        this.rebornDelays = new long[ghosts];
+    }
+
+    /**
+     * Captures the current state of a level. The level should not be moving
+     * while it is captured, for instance because this is called from the
+     * strategy of its player.
+     *
+     * @param level  The level.
+     * @param player The player of the level, which occupies a square.
+     * @return The state of the level.
+     */
+    public static LevelSnapshot of(Level level, Player player) {
+        Board board = level.getBoard();
+        List<Ghost> ghosts = new ArrayList<>(level.getGhosts());
+        int[] ghostStarts = new int[ghosts.size()];
+        for (int g = 0; g < ghostStarts.length; g++) {
+            ghostStarts[g] = ghosts.get(g).getInitialPosition().getIndex();
+        }
+        Square start = player.getInitialPostion();
+        Layout layout = new Layout(board,
+            start == null ? player.getSquare().getIndex() : start.getIndex(), ghostStarts);
+
+        List<Fruit> fruits = board.getUnits(Fruit.class);
+        LevelSnapshot snapshot = new LevelSnapshot(layout, fruits.size());
+        for (int f = 0; f < fruits.size(); f++) {
+            snapshot.fruitSquares[f] = fruits.get(f).getSquare().getIndex();
+            snapshot.fruitValues[f] = fruits.get(f).getValue();
+        }
+        for (Pellet pellet : board.getUnits(Pellet.class)) {
+            int index = pellet.getSquare().getIndex();
+            if (pellet.isPowerPellet()) {
+                set(snapshot.powerPellets, index);
+            } else {
+                set(snapshot.pellets, index);
+            }
+        }
+        snapshot.remainingPellets = level.remainingPellets(false);
+        snapshot.remainingPowerPellets = level.remainingPellets(true);
+
+        snapshot.playerSquare = player.getSquare().getIndex();
+        snapshot.playerDirection = (byte) player.getDirection().ordinal();
+        snapshot.score = player.getScore();
+        snapshot.lives = player.getRemainingLifes();
+        snapshot.consecutiveKills = player.getConsecutiveKills();
+        snapshot.extraLifeReceived = player.getScore() >= SCORE_GAIN_EXTRA_LIFE;
+
+        for (int g = 0; g < ghosts.size(); g++) {
+            Ghost ghost = ghosts.get(g);
+            snapshot.ghostSquares[g] = ghost.hasSquare()
+                ? ghost.getSquare().getIndex() : ghostStarts[g];
+            snapshot.ghostDirections[g] = (byte) ghost.getDirection().ordinal();
+            snapshot.ghostAlive[g] = ghost.isAlive();
+            snapshot.ghostModes[g] = ghost.getGameMode();
+            snapshot.rebornDelays[g] = level.getRebornDelay(ghost);
+        }
+        snapshot.gameMode = level.getGameMode();
+        snapshot.huntingModeDelay = level.getHuntingModeDelay();
+        return snapshot;
+    }
+
+    /**
+     * @return A new snapshot of the same state, sharing the layout of the
+     * board with this one.
+     */
+    public LevelSnapshot copy() {
+        LevelSnapshot copy = new LevelSnapshot(layout, fruitSquares.length);
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    /**
+     * Makes this snapshot describe the same state as a copy of it, without
+     * allocating.
+     *
+     * @param other A snapshot made by {@link #copy()} of this snapshot, or
+     *              of which this snapshot is a copy.
+     */
+    public void copyFrom(LevelSnapshot other) {
+        assert other.layout == layout && other.fruitSquares.length == fruitSquares.length;
+        System.arraycopy(other.pellets, 0, pellets, 0, pellets.length);
+        System.arraycopy(other.powerPellets, 0, powerPellets, 0, powerPellets.length);
+        remainingPellets = other.remainingPellets;
+        remainingPowerPellets = other.remainingPowerPellets;
+        System.arraycopy(other.fruitSquares, 0, fruitSquares, 0, fruitSquares.length);
+        System.arraycopy(other.fruitValues, 0, fruitValues, 0, fruitValues.length);
+        playerSquare = other.playerSquare;
+        playerDirection = other.playerDirection;
+        score = other.score;
+        lives = other.lives;
+        consecutiveKills = other.consecutiveKills;
+        extraLifeReceived = other.extraLifeReceived;
+        System.arraycopy(other.ghostSquares, 0, ghostSquares, 0, ghostSquares.length);
+        System.arraycopy(other.ghostDirections, 0, ghostDirections, 0, ghostDirections.length);
+        System.arraycopy(other.ghostAlive, 0, ghostAlive, 0, ghostAlive.length);
+        System.arraycopy(other.ghostModes, 0, ghostModes, 0, ghostModes.length);
+        System.arraycopy(other.rebornDelays, 0, rebornDelays, 0, rebornDelays.length);
+        gameMode = other.gameMode;
+        huntingModeDelay = other.huntingModeDelay;
+    }
+
+    /**
+     * @return The width of the board.
+     */
+    public int getWidth() {
+        return layout.width;
+    }
+
+    /**
+     * @return The height of the board.
+     */
+    public int getHeight() {
+        return layout.height;
+    }
+
+    /**
+     * Determines whether a square can be occupied.
+     *
+     * @param index The index of the square.
+     * @return <code>true</code> iff the square is accessible.
+     */
+    public boolean isAccessible(int index) {
+        return layout.board.isAccessible(index);
+    }
+
+    /**
+     * Returns the accessible square next to another one.
+     *
+     * @param index     The index of the square.
+     * @param direction The direction of the neighbour.
+     * @return The index of the neighbour, or <code>-1</code> if there is no
+     * accessible square in that direction.
+     */
+    public int getNeighbour(int index, Direction direction) {
+        int neighbour = layout.board.getNeighbour(index, direction);
+        if (neighbour < 0 || !layout.board.isAccessible(neighbour)) {
+            return -1;
+        }
+        return neighbour;
+    }
+
+    /**
+     * @param index The index of a square.
+     * @return <code>true</code> iff the square holds a pellet, either a simple
+     * or a power pellet.
+     */
+    public boolean hasPellet(int index) {
+        return get(pellets, index) || get(powerPellets, index);
+    }
+
+    /**
+     * @param index The index of a square.
+     * @return <code>true</code> iff the square holds a power pellet.
+     */
+    public boolean hasPowerPellet(int index) {
+        return get(powerPellets, index);
+    }
+
+    /**
+     * Returns the number of pellets left, see
+     * {@link Level#remainingPellets(boolean)}.
+     *
+     * @param powerPellet True to count the power pellets, false for the
+     *                    simple pellets.
+     * @return The number of pellets left.
+     */
+    public int getRemainingPellets(boolean powerPellet) {
+        return powerPellet ? remainingPowerPellets : remainingPellets;
+    }
+
+    /**
+     * @return The index of the square of the player.
+     */
+    public int getPlayerSquare() {
+        return playerSquare;
+    }
+
+    /**
+     * @return The direction the player is facing.
+     */
+    public Direction getPlayerDirection() {
+        return DIRECTIONS[playerDirection];
+    }
+
+    /**
+     * @return The score of the player.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * @return The remaining lives of the player.
+     */
+    public int getLives() {
+        return lives;
+    }
+
+    /**
+     * @return The number of ghosts.
+     */
+    public int getGhostCount() {
+        return ghostSquares.length;
+    }
+
+    /**
+     * @param ghost The number of a ghost.
+     * @return The index of the square of the ghost.
+     */
+    public int getGhostSquare(int ghost) {
+        return ghostSquares[ghost];
+    }
+
+    /**
+     * @param ghost The number of a ghost.
+     * @return The index of the square the ghost starts on and returns to
+     * when eaten.
+     */
+    public int getGhostStart(int ghost) {
+        return layout.ghostStarts[ghost];
+    }
+
+    /**
+     * @param ghost The number of a ghost.
+     * @return The direction the ghost is facing.
+     */
+    public Direction getGhostDirection(int ghost) {
+        return DIRECTIONS[ghostDirections[ghost]];
+    }
+
+    /**
+     * @param ghost The number of a ghost.
+     * @return <code>true</code> iff the ghost has not been eaten.
+     */
+    public boolean isGhostAlive(int ghost) {
+        return ghostAlive[ghost];
+    }
+
+    /**
+     * @param ghost The number of a ghost.
+     * @return The game mode of the ghost, see {@link Ghost#getGameMode()}.
+     */
+    public byte getGhostMode(int ghost) {
+        return ghostModes[ghost];
+    }
+
+    /**
+     * @return The game mode of the level, see {@link Level#getGameMode()}.
+     */
+    public byte getGameMode() {
+        return gameMode;
+    }
+
+    /**
+     * @return <code>true</code> iff the player ate all pellets.
+     */
+    public boolean isWon() {
+        return remainingPellets == 0;
+    }
+
+    /**
+     * @return <code>true</code> iff the player lost all lives.
+     */
+    public boolean isLost() {
+        return lives <= 0;
+    }
+
+    /**
+     * @return <code>true</code> iff the game is over and units no longer
+     * move.
+     */
+    public boolean isOver() {
+        return isWon() || isLost();
+    }
+
+    /**
+     * Moves the player one square, if possible, and handles the collisions.
+     *
+     * @param direction The direction to move the player in.
+     */
+    public void movePlayer(Direction direction) {
+        if (isOver()) {
+            return;
+        }
+        playerDirection = (byte) direction.ordinal();
+        int destination = getNeighbour(playerSquare, direction);
+        if (destination < 0) {
+            return;
+        }
+        playerSquare = destination;
+
+        if (clear(powerPellets, destination)) {
+            remainingPowerPellets--;
+            addPoints(POWER_PELLET_VALUE);
+            startHuntingMode();
+        } else if (clear(pellets, destination)) {
+            remainingPellets--;
+            addPoints(PELLET_VALUE);
+        }
+        for (int f = 0; f < fruitSquares.length; f++) {
+            if (fruitSquares[f] == destination) {
+                fruitSquares[f] = -1;
+                addPoints(fruitValues[f]);
+            }
+        }
+        for (int g = 0; g < ghostSquares.length; g++) {
+            if (ghostSquares[g] == destination && meetGhost(g)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Moves a ghost one square, if possible, and handles the collision with
+     * the player.
+     *
+     * @param ghost     The number of the ghost.
+     * @param direction The direction to move the ghost in.
+     */
+    public void moveGhost(int ghost, Direction direction) {
+        if (isOver()) {
+            return;
+        }
+        ghostDirections[ghost] = (byte) direction.ordinal();
+        int destination = getNeighbour(ghostSquares[ghost], direction);
+        if (destination < 0) {
+            return;
+        }
+        ghostSquares[ghost] = destination;
+        if (destination == playerSquare) {
+            meetGhost(ghost);
+        }
+    }
+
+    /**
+     * Lets time pass: the hunting mode comes to an end and eaten ghosts are
+     * reborn when their time is up.
+     *
+     * @param millis The time that passes, in milliseconds.
+     */
+    public void elapse(long millis) {
+        if (isOver()) {
+            return;
+        }
+        for (int g = 0; g < rebornDelays.length; g++) {
+            if (rebornDelays[g] > 0) {
+                rebornDelays[g] -= millis;
+                if (rebornDelays[g] <= 0) {
+                    rebornDelays[g] = 0;
+                    ghostAlive[g] = true;
+                }
+            }
+        }
+        long remaining = millis;
+        while (gameMode != 0 && remaining >= huntingModeDelay) {
+            remaining -= huntingModeDelay;
+            if (gameMode == 1) {
+                setGameMode((byte) 2);
+                huntingModeDelay = Level.ENDING_HUNTING_TIME;
+            } else {
+                setGameMode((byte) 0);
+                consecutiveKills = 0;
+                huntingModeDelay = 0;
+            }
+        }
+        if (gameMode != 0) {
+            huntingModeDelay -= remaining;
+        }
+    }
+
+    /**
+     * Handles the player and a ghost meeting on a square.
+     *
+     * @param ghost The number of the ghost.
+     * @return <code>true</code> iff the player lost a life.
+     */
+    private boolean meetGhost(int ghost) {
+        if (!ghostAlive[ghost]) {
+            return false;
+        }
+        if (ghostModes[ghost] == 0) {
+            lives--;
+            if (lives > 0) {
+                playerSquare = layout.playerStart;
+                System.arraycopy(layout.ghostStarts, 0, ghostSquares, 0, ghostSquares.length);
+            }
+            return true;
+        }
+        ghostAlive[ghost] = false;
+        ghostModes[ghost] = 0;
+        rebornDelays[ghost] = Level.REBORN_TIME;
+        consecutiveKills++;
+        addPoints((1 << consecutiveKills) * 100);
+        return false;
+    }
+
+    /**
+     * Adds points to the score of the player, who gains a life the first
+     * time the score reaches the threshold.
+     *
+     * @param points The points to add.
+     */
+    private void addPoints(int points) {
+        score += points;
+        if (!extraLifeReceived && score >= SCORE_GAIN_EXTRA_LIFE) {
+            lives++;
+            extraLifeReceived = true;
+        }
+    }
+
+    /**
+     * Enters hunting mode 1 after a power pellet has been eaten, as
+     * {@link Level#setGameMode(byte)} does.
+     */
+    private void startHuntingMode() {
+        consecutiveKills = 0;
+        huntingModeDelay = remainingPowerPellets > Level.SHORT_HUNTING_PELLETS
+            ? Level.HUNTING_TIME : Level.SHORT_HUNTING_TIME;
+        gameMode = 1;
+        Arrays.fill(ghostAlive, true);
+        Arrays.fill(ghostModes, (byte) 1);
+    }
+
+    /**
+     * Changes the game mode at the end of a phase of the hunting mode, as the
+     * hunting mode task does: the living ghosts of the previous phase follow.
+     *
+     * @param mode The new game mode.
+     */
+    private void setGameMode(byte mode) {
+        gameMode = mode;
+        for (int g = 0; g < ghostModes.length; g++) {
+            if (ghostAlive[g] && ghostModes[g] == (mode + 2) % 3) {
+                ghostModes[g] = mode;
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LevelSnapshot)) {
+            return false;
+        }
+        LevelSnapshot other = (LevelSnapshot) o;
+        return playerSquare == other.playerSquare
+            && playerDirection == other.playerDirection
+            && score == other.score
+            && lives == other.lives
+            && consecutiveKills == other.consecutiveKills
+            && extraLifeReceived == other.extraLifeReceived
+            && gameMode == other.gameMode
+            && huntingModeDelay == other.huntingModeDelay
+            && remainingPellets == other.remainingPellets
+            && remainingPowerPellets == other.remainingPowerPellets
+            && Arrays.equals(ghostSquares, other.ghostSquares)
+            && Arrays.equals(ghostDirections, other.ghostDirections)
+            && Arrays.equals(ghostAlive, other.ghostAlive)
+            && Arrays.equals(ghostModes, other.ghostModes)
+            && Arrays.equals(rebornDelays, other.rebornDelays)
+            && Arrays.equals(fruitSquares, other.fruitSquares)
+            && Arrays.equals(pellets, other.pellets)
+            && Arrays.equals(powerPellets, other.powerPellets)
+            && layout.board.hasSameTerrain(other.layout.board);
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = playerSquare;
+        hash = 31 * hash + playerDirection;
+        hash = 31 * hash + score;
+        hash = 31 * hash + lives;
+        hash = 31 * hash + gameMode;
+        hash = 31 * hash + Arrays.hashCode(ghostSquares);
+        hash = 31 * hash + Arrays.hashCode(ghostModes);
+        hash = 31 * hash + Arrays.hashCode(pellets);
+        hash = 31 * hash + Arrays.hashCode(powerPellets);
+        return hash;
+    }
+
+    /**
+     * @param bits The number of bits.
+     * @return The number of words of a bit set of that many bits.
+     */
+    private static int words(int bits) {
+        return (bits + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    private static boolean get(long[] set, int index) {
+        return (set[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static void set(long[] set, int index) {
+        set[index >>> 6] |= 1L << index;
+    }
+
+    /**
+     * Clears a bit of a bit set.
+     *
+     * @param set   The bit set.
+     * @param index The index of the bit.
+     * @return <code>true</code> iff the bit was set.
+     */
+    private static boolean clear(long[] set, int index) {
+        long word = set[index >>> 6];
+        long mask = 1L << index;
+        set[index >>> 6] = word & ~mask;
+        return (word & mask) != 0;
+    }
+}
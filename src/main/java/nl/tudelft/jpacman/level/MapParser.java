@@ -4,8 +4,17 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 
 import nl.tudelft.jpacman.exceptions.PacmanConfigurationException;
@@ -13,6 +22,7 @@ import nl.tudelft.jpacman.board.Board;
 import nl.tudelft.jpacman.board.BoardFactory;
 import nl.tudelft.jpacman.board.Square;
 import nl.tudelft.jpacman.npc.Ghost;
+import com.google.common.io.ByteStreams;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 /**
@@ -22,6 +32,12 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
  */
 public class MapParser {
 
+    /**
+     * The number of rows room is made for when the height of a map is not
+     * known in advance.
+     */
+    private static final int INITIAL_ROWS = 32;
+
     /**
      * The factory that creates the levels.
      */
@@ -161,8 +177,7 @@ public class MapParser {
     }
 
     /**
-     * Parses the list of strings into a 2-dimensional character array and
-     * passes it on to {@link #parseMap(char[][])}.
+     * Parses the list of strings into a level, row by row.
      *
      * @param text
      *            The plain text, with every entry in the list being a equally
@@ -174,17 +189,89 @@ public class MapParser {
     public Level parseMap(List<String> text) {
 
         checkMapFormat(text);
+        return parseRows(text.iterator(), text.size());
+    }
 
-        int height = text.size();
-        int width = text.get(0).length();
+    /**
+     * Parses rows of text into a level as they are read, so neither the text
+     * nor a copy of it is kept: only the squares of the rows read so far and
+     * the current row are in memory.
+     * <p>
+     * Ghosts, fruit squares and starting squares are only created after all
+     * rows were read, in the order of {@link #parseMap(char[][])}, column by
+     * column, so a map makes the same level whichever way it is parsed.
+     *
+     * @param rows   The rows, the top row first.
+     * @param height The expected number of rows, to make room for.
+     * @return The level as represented by the rows.
+     * @throws PacmanConfigurationException If the rows are not properly
+     *                                      formatted.
+     */
+    private Level parseRows(Iterator<String> rows, int height) {
+        if (!rows.hasNext()) {
+            throw new PacmanConfigurationException(
+                "Input text must consist of at least 1 row.");
+        }
+        String row = rows.next();
+        int width = row.length();
+        if (width == 0) {
+            throw new PacmanConfigurationException(
+                "Input text lines cannot be empty.");
+        }
 
-        char[][] map = new char[width][height];
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                map[x][y] = text.get(y).charAt(x);
+        Square[][] grid = new Square[width][Math.max(1, height)];
+        List<Ghost> ghosts = new ArrayList<>();
+        List<Square> startPositions = new ArrayList<>();
+        List<Square> fruitPositions = new ArrayList<>();
+        List<Cell> deferred = new ArrayList<>();
+
+        int y = 0;
+        while (true) {
+            if (row.length() != width) {
+                throw new PacmanConfigurationException(
+                    "Input text lines are not of equal width.");
+            }
+            if (y == grid[0].length) {
+                resize(grid, 2 * y);
+            }
+            for (int x = 0; x < width; x++) {
+                char c = row.charAt(x);
+                if (c == 'G' || c == 'F' || c == 'P') {
+                    deferred.add(new Cell(x, y, c));
+                } else {
+                    addSquare(grid, ghosts, startPositions, fruitPositions, x, y, c);
+                }
             }
+            y++;
+            if (!rows.hasNext()) {
+                break;
+            }
+            row = rows.next();
+        }
+        if (y != grid[0].length) {
+            resize(grid, y);
+        }
+
+        deferred.sort(Comparator.comparingInt((Cell cell) -> cell.x).thenComparingInt(cell -> cell.y));
+        for (Cell cell : deferred) {
+            addSquare(grid, ghosts, startPositions, fruitPositions, cell.x, cell.y, cell.c);
+        }
+
+        Board board = boardCreator.createBoard(grid);
+        return levelCreator.createLevel(board, ghosts, startPositions, fruitPositions);
+    }
+
+    /**
+     * Changes the number of rows of a grid.
+     *
+     * @param grid   The grid, with grid[x][y] being the square at column x,
+     *               row y.
+     * @param height The new number of rows.
+     */
+    private static void resize(Square[][] grid, int height) {
+        for (int x = 0; x < grid.length; x++) {
+            grid[x] = Arrays.copyOf(grid[x], height);
         }
-        return parseMap(map);
     }
 
     /**
@@ -219,8 +306,8 @@ public class MapParser {
     }
 
     /**
-     * Parses the provided input stream as a character stream and passes it
-     * result to {@link #parseMap(List)}.
+     * Parses the provided input stream as a character stream, one row at a
+     * time, until the end of the stream.
      *
      * @param source
      *            The input stream that will be read.
@@ -230,17 +317,163 @@ public class MapParser {
      */
     public Level parseMap(InputStream source) throws IOException {
         try (BufferedReader reader = new BufferedReader(new InputStreamReader(source, StandardCharsets.UTF_8))) {
-            List<String> lines = new ArrayList<>();
-            while (reader.ready()) {
-                lines.add(reader.readLine());
+            return parseRows(reader.lines().iterator(), INITIAL_ROWS);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Parses a map in the binary format of {@link BinaryMap}. The squares are
+     * created from the tile bits and the pellets from their runs, without
+     * looking at the map square by square as text.
+     *
+     * @param map
+     *            The binary map, from its position to its limit. Its position
+     *            is moved past the map.
+     * @return The level as represented by the binary map.
+     * @throws PacmanConfigurationException If the map is not a binary map of
+     *                                      a supported version, or is
+     *                                      damaged.
+     */
+    public Level parseBinaryMap(ByteBuffer map) {
+        try {
+            if (map.getInt() != BinaryMap.MAGIC) {
+                throw new PacmanConfigurationException("Not a binary map.");
+            }
+            short version = map.getShort();
+            if (version != BinaryMap.VERSION) {
+                throw new PacmanConfigurationException("Unsupported binary map version: " + version);
+            }
+            int width = map.getInt();
+            int height = map.getInt();
+            if (width <= 0 || height <= 0) {
+                throw new PacmanConfigurationException("Invalid binary map size: " + width + "x" + height);
+            }
+            int size = Math.multiplyExact(width, height);
+            long tileBytes = (size + 7L) / 8;
+            if (map.remaining() < tileBytes) {
+                throw new PacmanConfigurationException("Binary map is truncated: " + width + "x" + height
+                    + " tiles need " + tileBytes + " bytes, " + map.remaining() + " left.");
+            }
+
+            Square[][] grid = new Square[width][height];
+            int tiles = map.position();
+            map.position(tiles + (int) tileBytes);
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    if (isWall(map, tiles, y * width + x)) {
+                        grid[x][y] = boardCreator.createWall();
+                    } else {
+                        grid[x][y] = boardCreator.createGround();
+                    }
+                }
+            }
+
+            int runs = map.getInt();
+            int index = 0;
+            for (int r = 0; r < runs; r++) {
+                byte kind = map.get();
+                if (kind != BinaryMap.NO_PELLET && kind != BinaryMap.PELLET && kind != BinaryMap.POWER_PELLET) {
+                    throw new PacmanConfigurationException("Unknown pellet kind in binary map: " + kind);
+                }
+                int end = Math.addExact(index, BinaryMap.readVarInt(map));
+                if (end > size) {
+                    throw new PacmanConfigurationException("Pellet runs of binary map exceed the board.");
+                }
+                if (kind != BinaryMap.NO_PELLET) {
+                    for (; index < end; index++) {
+                        if (isWall(map, tiles, index)) {
+                            throw new PacmanConfigurationException("Pellet on a wall of binary map at " + index);
+                        }
+                        Square square = grid[index % width][index / width];
+                        if (kind == BinaryMap.POWER_PELLET) {
+                            levelCreator.createPowerPellet().occupy(square);
+                        } else {
+                            levelCreator.createPellet().occupy(square);
+                        }
+                    }
+                }
+                index = end;
+            }
+
+            List<Square> startPositions = readSquares(map, tiles, grid);
+            List<Square> fruitPositions = readSquares(map, tiles, grid);
+            List<Ghost> ghosts = new ArrayList<>();
+            for (Square square : readSquares(map, tiles, grid)) {
+                Ghost ghost = levelCreator.createGhost(square);
+                ghosts.add(ghost);
+                ghost.occupy(square);
+            }
+
+            Board board = boardCreator.createBoard(grid);
+            return levelCreator.createLevel(board, ghosts, startPositions, fruitPositions);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new PacmanConfigurationException("Binary map is truncated.", e);
+        } catch (ArithmeticException e) {
+            throw new PacmanConfigurationException("Binary map is too large.", e);
+        }
+    }
+
+    /**
+     * Determines whether a square of a binary map is a wall.
+     *
+     * @param map   The binary map.
+     * @param tiles The position of the tile bits in the map.
+     * @param index The number of the square.
+     * @return <code>true</code> iff the tile bit of the square is set.
+     */
+    private static boolean isWall(ByteBuffer map, int tiles, int index) {
+        return (map.get(tiles + (index >>> 3)) & 1 << (index & 7)) != 0;
+    }
+
+    /**
+     * Reads a table of squares of a binary map.
+     *
+     * @param map   The binary map, positioned at the table.
+     * @param tiles The position of the tile bits in the map.
+     * @param grid  The squares of the map.
+     * @return The squares in the table, in the order of the table.
+     */
+    private static List<Square> readSquares(ByteBuffer map, int tiles, Square[][] grid) {
+        int width = grid.length;
+        int size = width * grid[0].length;
+        int count = map.getInt();
+        List<Square> squares = new ArrayList<>(Math.min(count, size));
+        for (int i = 0; i < count; i++) {
+            int index = map.getInt();
+            if (index < 0 || index >= size) {
+                throw new PacmanConfigurationException("Square outside of binary map: " + index);
             }
-            return parseMap(lines);
+            if (isWall(map, tiles, index)) {
+                throw new PacmanConfigurationException("Square on a wall of binary map: " + index);
+            }
+            squares.add(grid[index % width][index / width]);
+        }
+        return squares;
+    }
+
+    /**
+     * Parses a binary map file, see {@link #parseBinaryMap(ByteBuffer)}. The
+     * file is mapped into memory rather than read.
+     *
+     * @param file
+     *            The binary map file.
+     * @return The level as represented by the file.
+     * @throws IOException
+     *             when the file could not be read.
+     */
+    public Level parseBinaryMap(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return parseBinaryMap(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
         }
     }
 
     /**
      * Parses the provided input stream as a character stream and passes it
-     * result to {@link #parseMap(List)}.
+     * result to {@link #parseMap(List)}. Resources whose name ends in
+     * <code>.bin</code> are parsed as binary maps instead, see
+     * {@link #parseBinaryMap(ByteBuffer)}.
      *
      * @param mapName
      *            Name of a resource that will be read.
@@ -255,6 +488,9 @@ public class MapParser {
             if (boardStream == null) {
                 throw new PacmanConfigurationException("Could not get resource for: " + mapName);
             }
+            if (mapName.endsWith(".bin")) {
+                return parseBinaryMap(ByteBuffer.wrap(ByteStreams.toByteArray(boardStream)));
+            }
             return parseMap(boardStream);
         }
     }
@@ -265,4 +501,26 @@ public class MapParser {
     protected BoardFactory getBoardCreator() {
         return boardCreator;
     }
+
+    /**
+     * A square whose creation waits until all rows were read.
+     */
+    private static final class Cell {
+        private final int x;
+        private final int y;
+        private final char c;
+
+        /**
+         * Creates a cell.
+         *
+         * @param x The column of the square.
+         * @param y The row of the square.
+         * @param c The character describing the square.
+         */
+        Cell(int x, int y, char c) {
+            this.x = x;
+            this.y = y;
+            this.c = c;
+        }
+    }
 }
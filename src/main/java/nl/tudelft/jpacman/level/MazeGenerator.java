@@ -0,0 +1,444 @@
+package nl.tudelft.jpacman.level;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates maps of any size in the text format of
+ * {@link MapParser#parseMap(List)}, to play and measure the game on boards
+ * far larger than the shipped one. The same seed and settings always give the
+ * same map.
+ * <p>
+ * The corridors are those of a maze on the squares with odd coordinates,
+ * carved by a randomised depth-first search, after which every dead end is
+ * opened towards a neighbouring corridor, so that ghosts can be evaded. All
+ * corridors are connected. The player starts in the middle, the ghosts start
+ * in the half of the maze furthest from the player, the power pellets lie in
+ * the corners and every other corridor square holds a pellet. Tunnels lead
+ * through the left and right walls; the board links the squares at its
+ * borders to those at the opposite borders.
+ */
+public class MazeGenerator {
+
+    /**
+     * The smallest width and height of a maze.
+     */
+    public static final int MIN_SIZE = 5;
+
+    private static final int DEFAULT_GHOSTS = 4;
+    private static final int DEFAULT_POWER_PELLETS = 4;
+    private static final int DEFAULT_FRUITS = 1;
+    private static final int DEFAULT_TUNNELS = 1;
+
+    private static final char WALL = '#';
+    private static final char GROUND = ' ';
+
+    private final int width;
+    private final int height;
+    private long seed;
+    private int ghosts = DEFAULT_GHOSTS;
+    private int powerPellets = DEFAULT_POWER_PELLETS;
+    private int fruits = DEFAULT_FRUITS;
+    private int tunnels = DEFAULT_TUNNELS;
+
+    /**
+     * Creates a generator of mazes of a given size. As the corridors lie on
+     * odd coordinates, an even width or height leaves a double wall at the
+     * right or bottom border.
+     *
+     * @param width  The number of columns, at least {@link #MIN_SIZE}.
+     * @param height The number of rows, at least {@link #MIN_SIZE}.
+     */
+    public MazeGenerator(int width, int height) {
+        if (width < MIN_SIZE || height < MIN_SIZE) {
+            throw new IllegalArgumentException("A maze must be at least " + MIN_SIZE + "x" + MIN_SIZE
+                + ", not " + width + "x" + height);
+        }
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Set the seed of the random choices.
+     *
+     * @param seed The seed.
+     * @return This generator.
+     */
+    public MazeGenerator withSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Set the number of ghosts, 4 by default.
+     *
+     * @param count The number of ghosts.
+     * @return This generator.
+     */
+    public MazeGenerator withGhosts(int count) {
+        assert count >= 0;
+        this.ghosts = count;
+        return this;
+    }
+
+    /**
+     * Set the number of power pellets, 4 by default. The first four lie in
+     * the corners, any others anywhere.
+     *
+     * @param count The number of power pellets.
+     * @return This generator.
+     */
+    public MazeGenerator withPowerPellets(int count) {
+        assert count >= 0;
+        this.powerPellets = count;
+        return this;
+    }
+
+    /**
+     * Set the number of fruit squares, 1 by default.
+     *
+     * @param count The number of fruit squares.
+     * @return This generator.
+     */
+    public MazeGenerator withFruits(int count) {
+        assert count >= 0;
+        this.fruits = count;
+        return this;
+    }
+
+    /**
+     * Set the number of tunnels through the left and right walls, 1 by
+     * default. The tunnels are spread evenly over the rows of the maze.
+     *
+     * @param count The number of tunnels, at most one per corridor row.
+     * @return This generator.
+     */
+    public MazeGenerator withTunnels(int count) {
+        assert count >= 0;
+        this.tunnels = count;
+        return this;
+    }
+
+    /**
+     * Generates a maze.
+     *
+     * @return The rows of the map, the top row first.
+     * @throws IllegalArgumentException If the maze is too small for its
+     *                                  ghosts, fruits, power pellets or
+     *                                  tunnels.
+     */
+    public List<String> generate() {
+        int columns = (width - 1) / 2;
+        int rows = (height - 1) / 2;
+        long cells = (long) columns * rows;
+        if (ghosts + fruits + (long) powerPellets + 1 > cells) {
+            throw new IllegalArgumentException("A maze of " + width + "x" + height
+                + " has no room for " + ghosts + " ghosts, " + fruits + " fruits and "
+                + powerPellets + " power pellets");
+        }
+        if (tunnels > rows) {
+            throw new IllegalArgumentException("A maze of " + width + "x" + height
+                + " has no room for " + tunnels + " tunnels");
+        }
+
+        Random random = new Random(seed);
+        char[][] map = new char[height][width];
+        for (char[] row : map) {
+            Arrays.fill(row, WALL);
+        }
+        carve(map, columns, rows, random);
+        braid(map, columns, rows, random);
+
+        int player = rows / 2 * columns + columns / 2;
+        place(map, player, columns, 'P');
+        placePowerPellets(map, columns, rows, random);
+        placeGhosts(map, player, columns, rows, random);
+        for (int i = 0; i < fruits; i++) {
+            place(map, freeCell(map, columns, rows, random), columns, 'F');
+        }
+
+        for (char[] row : map) {
+            for (int x = 0; x < width; x++) {
+                if (row[x] == GROUND) {
+                    row[x] = '.';
+                }
+            }
+        }
+        for (int i = 0; i < tunnels; i++) {
+            int y = 2 * ((2 * i + 1) * rows / (2 * tunnels)) + 1;
+            map[y][0] = GROUND;
+            for (int x = width - 1; map[y][x] == WALL; x--) {
+                map[y][x] = GROUND;
+            }
+        }
+
+        List<String> result = new ArrayList<>(height);
+        for (char[] row : map) {
+            result.add(new String(row));
+        }
+        return result;
+    }
+
+    /**
+     * Carves the corridors of a maze in which every cell can be reached from
+     * every other cell in exactly one way.
+     *
+     * @param map     The map, all walls.
+     * @param columns The number of cells in a row.
+     * @param rows    The number of cells in a column.
+     * @param random  The source of the random choices.
+     */
+    private void carve(char[][] map, int columns, int rows, Random random) {
+        int[] stack = new int[columns * rows];
+        int[] options = new int[4];
+        int top = 0;
+        stack[top++] = random.nextInt(columns * rows);
+        open(map, stack[0], columns);
+        while (top > 0) {
+            int cell = stack[top - 1];
+            int found = 0;
+            for (int neighbour : neighbours(cell, columns, rows)) {
+                if (neighbour >= 0 && !isOpen(map, neighbour, columns)) {
+                    options[found++] = neighbour;
+                }
+            }
+            if (found == 0) {
+                top--;
+            } else {
+                int next = options[random.nextInt(found)];
+                connect(map, cell, next, columns);
+                open(map, next, columns);
+                stack[top++] = next;
+            }
+        }
+    }
+
+    /**
+     * Opens every dead end of a maze towards one of the neighbouring cells it
+     * is not connected to.
+     *
+     * @param map     The map.
+     * @param columns The number of cells in a row.
+     * @param rows    The number of cells in a column.
+     * @param random  The source of the random choices.
+     */
+    private void braid(char[][] map, int columns, int rows, Random random) {
+        int[] options = new int[4];
+        for (int cell = 0; cell < columns * rows; cell++) {
+            int exits = 0;
+            int found = 0;
+            for (int neighbour : neighbours(cell, columns, rows)) {
+                if (neighbour < 0) {
+                    continue;
+                }
+                if (isConnected(map, cell, neighbour, columns)) {
+                    exits++;
+                } else {
+                    options[found++] = neighbour;
+                }
+            }
+            if (exits == 1 && found > 0) {
+                connect(map, cell, options[random.nextInt(found)], columns);
+            }
+        }
+    }
+
+    /**
+     * Places the power pellets, first in the corners, then in random cells.
+     *
+     * @param map     The map.
+     * @param columns The number of cells in a row.
+     * @param rows    The number of cells in a column.
+     * @param random  The source of the random choices.
+     */
+    private void placePowerPellets(char[][] map, int columns, int rows, Random random) {
+        int[] corners = {0, columns - 1, (rows - 1) * columns, rows * columns - 1};
+        int placed = 0;
+        for (int corner : corners) {
+            if (placed < powerPellets && isFree(map, corner, columns)) {
+                place(map, corner, columns, 'o');
+                placed++;
+            }
+        }
+        for (; placed < powerPellets; placed++) {
+            place(map, freeCell(map, columns, rows, random), columns, 'o');
+        }
+    }
+
+    /**
+     * Places the ghosts in random cells at least half as far from the player
+     * as the cell furthest from the player, or anywhere when those cells are
+     * too few.
+     *
+     * @param map     The map.
+     * @param player  The cell of the player.
+     * @param columns The number of cells in a row.
+     * @param rows    The number of cells in a column.
+     * @param random  The source of the random choices.
+     */
+    private void placeGhosts(char[][] map, int player, int columns, int rows, Random random) {
+        int[] distance = distances(map, player, columns, rows);
+        int furthest = 0;
+        for (int d : distance) {
+            furthest = Math.max(furthest, d);
+        }
+        int[] candidates = new int[distance.length];
+        int count = 0;
+        for (int cell = 0; cell < distance.length; cell++) {
+            if (distance[cell] >= furthest / 2 && isFree(map, cell, columns)) {
+                candidates[count++] = cell;
+            }
+        }
+        int placed = 0;
+        for (; placed < ghosts && count > 0; placed++) {
+            int pick = random.nextInt(count);
+            place(map, candidates[pick], columns, 'G');
+            candidates[pick] = candidates[--count];
+        }
+        for (; placed < ghosts; placed++) {
+            place(map, freeCell(map, columns, rows, random), columns, 'G');
+        }
+    }
+
+    /**
+     * Computes the number of steps from a cell to every cell, through the
+     * corridors of the maze.
+     *
+     * @param map     The map.
+     * @param from    The cell to start from.
+     * @param columns The number of cells in a row.
+     * @param rows    The number of cells in a column.
+     * @return The distances by cell.
+     */
+    private int[] distances(char[][] map, int from, int columns, int rows) {
+        int[] distance = new int[columns * rows];
+        Arrays.fill(distance, -1);
+        int[] queue = new int[columns * rows];
+        int head = 0;
+        int tail = 0;
+        distance[from] = 0;
+        queue[tail++] = from;
+        while (head < tail) {
+            int cell = queue[head++];
+            for (int neighbour : neighbours(cell, columns, rows)) {
+                if (neighbour >= 0 && distance[neighbour] < 0 && isConnected(map, cell, neighbour, columns)) {
+                    distance[neighbour] = distance[cell] + 1;
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+        return distance;
+    }
+
+    /**
+     * Picks a random cell that holds nothing yet.
+     *
+     * @param map     The map.
+     * @param columns The number of cells in a row.
+     * @param rows    The number of cells in a column.
+     * @param random  The source of the random choices.
+     * @return The cell.
+     */
+    private int freeCell(char[][] map, int columns, int rows, Random random) {
+        int cell = random.nextInt(columns * rows);
+        while (!isFree(map, cell, columns)) {
+            cell = (cell + 1) % (columns * rows);
+        }
+        return cell;
+    }
+
+    /**
+     * Returns the cells next to a cell, above, below, left and right.
+     *
+     * @param cell    The cell.
+     * @param columns The number of cells in a row.
+     * @param rows    The number of cells in a column.
+     * @return The neighbouring cells, <code>-1</code> where the cell is at
+     * the border.
+     */
+    private static int[] neighbours(int cell, int columns, int rows) {
+        int x = cell % columns;
+        int y = cell / columns;
+        return new int[] {
+            y > 0 ? cell - columns : -1,
+            y < rows - 1 ? cell + columns : -1,
+            x > 0 ? cell - 1 : -1,
+            x < columns - 1 ? cell + 1 : -1
+        };
+    }
+
+    private static boolean isOpen(char[][] map, int cell, int columns) {
+        return map[2 * (cell / columns) + 1][2 * (cell % columns) + 1] != WALL;
+    }
+
+    private static boolean isFree(char[][] map, int cell, int columns) {
+        return map[2 * (cell / columns) + 1][2 * (cell % columns) + 1] == GROUND;
+    }
+
+    private static void open(char[][] map, int cell, int columns) {
+        place(map, cell, columns, GROUND);
+    }
+
+    private static void place(char[][] map, int cell, int columns, char c) {
+        map[2 * (cell / columns) + 1][2 * (cell % columns) + 1] = c;
+    }
+
+    private static boolean isConnected(char[][] map, int cell, int neighbour, int columns) {
+        return map[cell / columns + neighbour / columns + 1][cell % columns + neighbour % columns + 1] != WALL;
+    }
+
+    private static void connect(char[][] map, int cell, int neighbour, int columns) {
+        map[cell / columns + neighbour / columns + 1][cell % columns + neighbour % columns + 1] = GROUND;
+    }
+
+    /**
+     * Writes a maze to a file, in the binary format of {@link BinaryMap} if
+     * the name of the file ends with <code>.bin</code> and as text
+     * otherwise.
+     *
+     * @param args The width, the height, the file to write, and optionally
+     *             the seed and the number of ghosts.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3 || args.length > 5) {
+            System.err.println("usage: MazeGenerator <width> <height> <map.txt|map.bin> [seed] [ghosts]");
+            System.exit(1);
+        }
+        MazeGenerator generator = new MazeGenerator(Integer.parseInt(args[0]), Integer.parseInt(args[1]));
+        if (args.length > 3) {
+            generator.withSeed(Long.parseLong(args[3]));
+        }
+        if (args.length > 4) {
+            generator.withGhosts(Integer.parseInt(args[4]));
+        }
+        List<String> rows = generator.generate();
+
+        Path target = Paths.get(args[2]);
+        try (OutputStream out = Files.newOutputStream(target)) {
+            if (target.toString().endsWith(".bin")) {
+                BinaryMap.write(rows, out);
+            } else {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                for (String row : rows) {
+                    writer.write(row);
+                    writer.write('\n');
+                }
+                writer.flush();
+            }
+        }
+        System.out.printf("wrote %s: %dx%d, %d bytes%n",
+            target, rows.get(0).length(), rows.size(), Files.size(target));
+    }
+}
@@ -0,0 +1,205 @@
+package nl.tudelft.jpacman.level;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.level.unit.Player;
+import nl.tudelft.jpacman.sprite.Sprite;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * What a level looks like at one moment: the sprites of the occupants of
+ * every square and the score and lives of every player. A frame does not
+ * change while it is held between {@link Level#acquireFrame()} and
+ * {@link Level#releaseFrame(RenderFrame)}, so it can be drawn without
+ * looking at the board while the game goes on.
+ */
+public final class RenderFrame {
+
+    /**
+     * The sprites of the occupants of every square, by index. An array may
+     * be longer than the number of occupants of its square.
+     */
+    private final Sprite[][] sprites;
+
+    /**
+     * The number of occupants of every square, by index.
+     */
+    private final int[] counts;
+
+    private Player[] players = new Player[0];
+    private int[] scores = new int[0];
+    private int[] lives = new int[0];
+    private boolean[] alive = new boolean[0];
+
+    /**
+     * The number of the frame; later frames have higher numbers.
+     */
+    private long sequence;
+
+    /**
+     * The number of threads holding this frame, which must not be filled
+     * again while they do.
+     */
+    final AtomicInteger readers = new AtomicInteger();
+
+    /**
+     * Creates an empty frame.
+     *
+     * @param size The number of squares of the board.
+     */
+    RenderFrame(int size) {
+        this.sprites = new Sprite[size][];
+        this.counts = new int[size];
+    }
+
+    /**
+     * Records the current state of a level in this frame. Only called by the
+     * thread applying the changes to the level.
+     *
+     * @param board    The board of the level.
+     * @param players  The players of the level.
+     * @param number   The number of the frame.
+     */
+    void fill(Board board, Collection<Player> players, long number) {
+        for (int i = 0; i < counts.length; i++) {
+            fillSquare(board, i);
+        }
+        fillPlayers(players, number);
+    }
+
+    /**
+     * Records the current state of a level in this frame, which holds an
+     * earlier state of the same level, looking only at the squares that may
+     * have changed. Only called by the thread applying the changes to the
+     * level.
+     *
+     * @param board    The board of the level.
+     * @param squares  The indexes of the squares that may look different.
+     * @param players  The players of the level.
+     * @param number   The number of the frame.
+     */
+    void fill(Board board, BitSet squares, Collection<Player> players, long number) {
+        for (int i = squares.nextSetBit(0); i >= 0; i = squares.nextSetBit(i + 1)) {
+            fillSquare(board, i);
+        }
+        fillPlayers(players, number);
+    }
+
+    /**
+     * Records the occupants of a square.
+     *
+     * @param board The board of the level.
+     * @param index The index of the square.
+     */
+    private void fillSquare(Board board, int index) {
+        List<Unit> occupants = board.squareAt(index).getOccupants();
+        Sprite[] square = sprites[index];
+        if (square == null || square.length < occupants.size()) {
+            square = new Sprite[occupants.size()];
+            sprites[index] = square;
+        }
+        for (int k = 0; k < occupants.size(); k++) {
+            square[k] = occupants.get(k).getSprite();
+        }
+        counts[index] = occupants.size();
+    }
+
+    /**
+     * Records the scores and lives of the players.
+     *
+     * @param players The players of the level.
+     * @param number  The number of the frame.
+     */
+    private void fillPlayers(Collection<Player> players, long number) {
+        if (this.players.length != players.size()) {
+            this.players = new Player[players.size()];
+            this.scores = new int[players.size()];
+            this.lives = new int[players.size()];
+            this.alive = new boolean[players.size()];
+        }
+        int p = 0;
+        for (Player player : players) {
+            this.players[p] = player;
+            scores[p] = player.getScore();
+            lives[p] = player.getRemainingLifes();
+            alive[p] = player.isAlive();
+            p++;
+        }
+        this.sequence = number;
+    }
+
+    /**
+     * @return The number of the frame; later frames have higher numbers.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Returns the number of occupants of a square.
+     *
+     * @param index The index of the square, see {@link Board#squareAt(int)}.
+     * @return The number of units on the square.
+     */
+    public int getOccupantCount(int index) {
+        return counts[index];
+    }
+
+    /**
+     * Returns the sprite of an occupant of a square, in the order in which
+     * the occupants are drawn.
+     *
+     * @param index    The index of the square.
+     * @param occupant The position of the occupant, less than
+     *                 {@link #getOccupantCount(int)}.
+     * @return The sprite of the occupant.
+     */
+    public Sprite getSprite(int index, int occupant) {
+        assert occupant < counts[index];
+        return sprites[index][occupant];
+    }
+
+    /**
+     * Returns the position of a player in this frame.
+     *
+     * @param player The player.
+     * @return The position of the player, or <code>-1</code> if the player is
+     * not on the level.
+     */
+    public int indexOf(Player player) {
+        for (int p = 0; p < players.length; p++) {
+            if (players[p] == player) {
+                return p;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param player The position of a player, see {@link #indexOf(Player)}.
+     * @return The score of the player.
+     */
+    public int getScore(int player) {
+        return scores[player];
+    }
+
+    /**
+     * @param player The position of a player, see {@link #indexOf(Player)}.
+     * @return The remaining lives of the player.
+     */
+    public int getRemainingLifes(int player) {
+        return lives[player];
+    }
+
+    /**
+     * @param player The position of a player, see {@link #indexOf(Player)}.
+     * @return <code>true</code> iff the player is alive.
+     */
+    public boolean isAlive(int player) {
+        return alive[player];
+    }
+}
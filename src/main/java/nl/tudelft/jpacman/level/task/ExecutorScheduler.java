@@ -0,0 +1,248 @@
+package nl.tudelft.jpacman.level.task;
+
+import nl.tudelft.jpacman.metrics.Metrics;
+import nl.tudelft.jpacman.metrics.Timer;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link TaskScheduler} that keeps time on a single timer thread and hands
+ * the commands that are due to an {@link Executor}, so the commands of a game
+ * run on a shared pool of platform threads or on a virtual thread each,
+ * rather than one after another on the thread keeping time.
+ * <p>
+ * Commands of the same level may run at the same time; the level applies
+ * their changes one at a time.
+ */
+public final class ExecutorScheduler implements TaskScheduler {
+
+    /**
+     * The time between the deadlines of the commands and their execution.
+     */
+    private static final Timer LAG = Metrics.getDefault().timer("scheduler.lag");
+
+    /**
+     * The thread keeping time.
+     */
+    private final ScheduledThreadPoolExecutor timer;
+
+    /**
+     * The threads executing the commands.
+     */
+    private final Executor executor;
+
+    /**
+     * The moment the scheduler was created, in nanoseconds.
+     */
+    private final long startTime;
+
+    /**
+     * Creates a scheduler that executes the commands on an executor.
+     *
+     * @param executor The executor of the commands.
+     */
+    public ExecutorScheduler(Executor executor) {
+        assert executor != null;
+        this.executor = executor;
+        this.timer = new ScheduledThreadPoolExecutor(1, daemonThreads("jpacman-timer"));
+        this.timer.setRemoveOnCancelPolicy(true);
+        this.startTime = System.nanoTime();
+    }
+
+    /**
+     * Creates a scheduler that executes the commands on a fixed pool of
+     * platform threads.
+     *
+     * @param threads The number of threads, or 0 for one per processor.
+     * @return The scheduler.
+     */
+    public static ExecutorScheduler platformThreads(int threads) {
+        assert threads >= 0;
+        int size = threads == 0 ? Runtime.getRuntime().availableProcessors() : threads;
+        return new ExecutorScheduler(Executors.newFixedThreadPool(size, daemonThreads("jpacman-worker")));
+    }
+
+    /**
+     * Creates a scheduler that executes every command on a virtual thread of
+     * its own.
+     *
+     * @return The scheduler.
+     * @throws UnsupportedOperationException If the runtime has no virtual
+     *                                       threads.
+     */
+    public static ExecutorScheduler virtualThreads() {
+        try {
+            Executor executor = (Executor) Executors.class
+                .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            return new ExecutorScheduler(executor);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            throw new UnsupportedOperationException(
+                "Virtual threads are not supported by Java " + System.getProperty("java.version"), e);
+        }
+    }
+
+    @Override
+    public TaskHandle schedule(Runnable command, long delay) {
+        return add(command, elapsed() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, delay)));
+    }
+
+    @Override
+    public TaskHandle scheduleAt(Runnable command, long deadline) {
+        return add(command, TimeUnit.MILLISECONDS.toNanos(deadline));
+    }
+
+    @Override
+    public long now() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsed());
+    }
+
+    /**
+     * Stops keeping time and executing commands. Commands that are waiting
+     * are not executed.
+     */
+    public void shutdown() {
+        timer.shutdownNow();
+        if (executor instanceof ExecutorService) {
+            ((ExecutorService) executor).shutdownNow();
+        }
+    }
+
+    /**
+     * Starts the timer of a command.
+     *
+     * @param command  The command to be executed.
+     * @param deadline The moment the command is due, relative to the start of
+     *                 the scheduler, in nanoseconds.
+     * @return The handle of the command.
+     */
+    private TaskHandle add(Runnable command, long deadline) {
+        assert command != null;
+
+        Execution execution = new Execution(command, deadline);
+        execution.future = timer.schedule(() -> executor.execute(execution),
+            deadline - elapsed(), TimeUnit.NANOSECONDS);
+        return execution;
+    }
+
+    /**
+     * Returns the time since the scheduler was created.
+     *
+     * @return The elapsed time in nanoseconds.
+     */
+    private long elapsed() {
+        return System.nanoTime() - startTime;
+    }
+
+    /**
+     * Creates the daemon threads of a scheduler.
+     *
+     * @param name The name of the threads.
+     * @return The factory of the threads.
+     */
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * A command waiting for its deadline.
+     */
+    private final class Execution implements TaskHandle, Runnable {
+
+        /**
+         * The command has neither been executed nor cancelled.
+         */
+        private static final int WAITING = 0;
+
+        /**
+         * The command has been cancelled.
+         */
+        private static final int CANCELLED = 1;
+
+        /**
+         * The command has been executed.
+         */
+        private static final int EXPIRED = 2;
+
+        /**
+         * The command to be executed.
+         */
+        private final Runnable command;
+
+        /**
+         * The moment the command is due, relative to the start of the
+         * scheduler.
+         */
+        private final long deadline;
+
+        /**
+         * The state of this command, one of the constants above.
+         */
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        /**
+         * The timer of the command.
+         */
+        private volatile ScheduledFuture<?> future;
+
+        /**
+         * Creates a new command.
+         *
+         * @param command  The command to be executed.
+         * @param deadline The moment the command is due.
+         */
+        Execution(Runnable command, long deadline) {
+            this.command = command;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public long getRemainingDelay() {
+            if (state.get() != WAITING) {
+                return 0;
+            }
+            return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - elapsed()));
+        }
+
+        @Override
+        public boolean cancel() {
+            if (state.compareAndSet(WAITING, CANCELLED)) {
+                ScheduledFuture<?> scheduled = future;
+                if (scheduled != null) {
+                    scheduled.cancel(false);
+                }
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Executes the command, unless it has been cancelled. A failing
+         * command does not stop the thread executing it.
+         */
+        @Override
+        public void run() {
+            if (!state.compareAndSet(WAITING, EXPIRED)) {
+                return;
+            }
+            LAG.record(elapsed() - deadline);
+            try {
+                command.run();
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
@@ -8,24 +8,33 @@ import nl.tudelft.jpacman.npc.Ghost;
  */
 public final class ExitHuntingModeTask extends Task {
 
+    /**
+     * The duration of hunting mode 2 in milliseconds.
+     */
+    private final long endingTime;
+
     /**
      * Constructor of the class
      *
-     * @param service The ScheduledTaskService associated with this task
-     * @param level   The level
+     * @param service    The ScheduledTaskService associated with this task
+     * @param level      The level
+     * @param endingTime The duration of hunting mode 2 in milliseconds
      */
-    public ExitHuntingModeTask(ScheduledTaskService service, Level level) {
+    public ExitHuntingModeTask(ScheduledTaskService service, Level level, long endingTime) {
         super(service, level);
+        this.endingTime = endingTime;
     }
 
     @Override
     public void run() {
-        if (this.level.getGameMode() == 1) {
-            this.setGameMode((byte) 2);
-            service.schedule(this, 2000, true);
-        } else if (this.level.getGameMode() == 2) {
-            this.setGameMode((byte) 0);
-        }
+        this.level.submit(() -> {
+            if (this.level.getGameMode() == 1) {
+                this.setGameMode((byte) 2);
+                service.schedule(this, endingTime, true);
+            } else if (this.level.getGameMode() == 2) {
+                this.setGameMode((byte) 0);
+            }
+        });
     }
 
     private void setGameMode(byte b) {
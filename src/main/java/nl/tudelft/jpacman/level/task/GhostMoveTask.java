@@ -3,13 +3,21 @@ package nl.tudelft.jpacman.level.task;
 import nl.tudelft.jpacman.ConfigurationLoader;
 import nl.tudelft.jpacman.board.Direction;
 import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.metrics.Metrics;
+import nl.tudelft.jpacman.metrics.Timer;
 import nl.tudelft.jpacman.npc.Ghost;
 
 /**
- * A task that moves an NPC and reschedules itself after it finished.
+ * A task that moves an NPC and reschedules itself after it finished, at a
+ * fixed rate.
  */
 public final class GhostMoveTask extends Task {
 
+    /**
+     * The time taken by the moves of all ghosts.
+     */
+    private static final Timer MOVES = Metrics.getDefault().timer("task.ghost.move");
+
     private final Ghost ghost;
     private final int DEAD_MOVE_INTERVAL = Integer.parseInt(ConfigurationLoader.getProperty("ghost.dead.move.interval"));
 
@@ -27,17 +35,19 @@ public final class GhostMoveTask extends Task {
 
     @Override
     public void run() {
+        long start = System.nanoTime();
         if (ghost.isAlive()) {
             this.moveGhost();
-            service.schedule(this, this.ghost.getInterval(), true);
+            service.reschedule(this, this.ghost.getInterval());
         } else {
             if (!ghost.getSquare().equals(ghost.getInitialPosition())) {
                 this.moveGhost();
-                service.schedule(this, this.DEAD_MOVE_INTERVAL, true);
+                service.reschedule(this, this.DEAD_MOVE_INTERVAL);
             } else {
-                service.schedule(this, this.ghost.getInterval(), true);
+                service.reschedule(this, this.ghost.getInterval());
             }
         }
+        MOVES.recordSince(start);
     }
 
     private void moveGhost() {
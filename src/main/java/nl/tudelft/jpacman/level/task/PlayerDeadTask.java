@@ -16,10 +16,12 @@ public class PlayerDeadTask extends Task {
 
     @Override
     public void run() {
-        this.player.leaveSquare();
+        this.level.submit(this.player::leaveSquare);
         this.level.respawnGhostsInInitialPosition();
-        this.player.occupy(this.player.getInitialPostion());
-        this.player.setAlive(true);
+        this.level.submit(() -> {
+            this.player.occupy(this.player.getInitialPostion());
+            this.player.setAlive(true);
+        });
         this.level.start();
     }
 }
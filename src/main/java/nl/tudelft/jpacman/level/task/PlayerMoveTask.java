@@ -3,12 +3,20 @@ package nl.tudelft.jpacman.level.task;
 import nl.tudelft.jpacman.board.Direction;
 import nl.tudelft.jpacman.level.Level;
 import nl.tudelft.jpacman.level.unit.Player;
+import nl.tudelft.jpacman.metrics.Metrics;
+import nl.tudelft.jpacman.metrics.Timer;
 
 /**
- * A task that moves a Player and reschedules itself after it finished.
+ * A task that moves a Player and reschedules itself after it finished, at a
+ * fixed rate.
  */
 public final class PlayerMoveTask extends Task {
 
+    /**
+     * The time taken by the moves of all players.
+     */
+    private static final Timer MOVES = Metrics.getDefault().timer("task.player.move");
+
     private final Player player;
 
     /**
@@ -24,12 +32,14 @@ public final class PlayerMoveTask extends Task {
 
     @Override
     public void run() {
+        long start = System.nanoTime();
         Direction direction = this.player.nextMove();
         if (direction != null) {
             this.level.move(this.player, direction);
         }
 
         long interval = this.player.getInterval();
-        service.schedule(this, interval, true);
+        service.reschedule(this, interval);
+        MOVES.recordSince(start);
     }
 }
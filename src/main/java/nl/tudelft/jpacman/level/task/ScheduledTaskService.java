@@ -1,67 +1,229 @@
 package nl.tudelft.jpacman.level.task;
 
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
+import nl.tudelft.jpacman.level.task.TaskScheduler.TaskHandle;
+import nl.tudelft.jpacman.metrics.Counter;
+import nl.tudelft.jpacman.metrics.Metrics;
 
+/**
+ * Schedules a single command on a {@link TaskScheduler} and allows the timer
+ * of that command to be suspended and resumed.
+ * <p>
+ * Every command is due at a deadline on the timeline of the scheduler. A
+ * command that repeats itself with {@link #reschedule(Runnable, long)} is
+ * due an interval after its previous deadline rather than after the moment
+ * it was rescheduled, so the time the command takes and the time it waits
+ * for the scheduler do not add up over its repetitions. Suspending the
+ * service keeps the exact time left before the deadline.
+ */
 public class ScheduledTaskService {
 
-    private final ScheduledExecutorService service;
-    private ScheduledFuture<?> futur = null;
+    /**
+     * The milliseconds between the deadlines of all commands and their
+     * execution.
+     */
+    private static final Counter LAG = Metrics.getDefault().counter("task.lag");
+
+    /**
+     * The number of repetitions skipped by all commands that fell behind.
+     */
+    private static final Counter SKIPPED = Metrics.getDefault().counter("task.skipped");
+
+    private final TaskScheduler scheduler;
+    private TaskHandle futur = null;
     private long remainingDelay;
     private Runnable command;
+    private boolean suspended;
 
     /**
-     * Constructor of the class
+     * The moment the scheduled command is or was due, on the timeline of the
+     * scheduler.
+     */
+    private long deadline;
+
+    /**
+     * The milliseconds between the deadlines of the commands of this service
+     * and their execution, added up.
+     */
+    private long lag;
+
+    /**
+     * The number of repetitions skipped because the command fell behind.
+     */
+    private long skipped;
+
+    /**
+     * Constructor of the class, scheduling on the default scheduler.
      */
     public ScheduledTaskService() {
-        this.service = Executors.newSingleThreadScheduledExecutor();
+        this(TimingWheelScheduler.getDefault());
+    }
+
+    /**
+     * Constructor of the class
+     *
+     * @param scheduler The scheduler executing the commands.
+     */
+    public ScheduledTaskService(TaskScheduler scheduler) {
+        assert scheduler != null;
+        this.scheduler = scheduler;
     }
 
     /**
      * Schedule a command to be executed within a certain delay. The timer can be started now or later.
+     * While the service is suspended, the timer is only started when the service is resumed.
      *
      * @param command  The command to be executed
      * @param delay    The delay
      * @param startNow If true, start the timer now.
      */
-    public void schedule(Runnable command, long delay, boolean startNow) {
+    public synchronized void schedule(Runnable command, long delay, boolean startNow) {
         this.command = command;
-        if (startNow) {
+        if (startNow && !this.suspended) {
             this.remainingDelay = 0;
-            this.futur = this.service.schedule(command, delay, TimeUnit.MILLISECONDS);
+            start(this.scheduler.now() + delay);
         } else {
             this.remainingDelay = delay;
         }
     }
 
+    /**
+     * Schedule the command that is being executed again, an interval after
+     * the deadline it was executed for. When the command fell so far behind
+     * that the next deadline has passed too, the repetitions it missed
+     * entirely are skipped and it is executed at once, for the deadline it
+     * is late for the least. While the service is suspended, the timer is
+     * only started when the service is resumed.
+     *
+     * @param command  The command to be executed
+     * @param interval The time between two executions of the command
+     */
+    public synchronized void reschedule(Runnable command, long interval) {
+        assert interval > 0;
+        this.command = command;
+        long now = this.scheduler.now();
+        long next = this.deadline + interval;
+        if (next < now) {
+            long behind = (now - next) / interval;
+            next += behind * interval;
+            this.skipped += behind;
+            SKIPPED.add(behind);
+        }
+        if (this.suspended) {
+            this.deadline = next;
+            this.remainingDelay = Math.max(1, next - now);
+        } else {
+            this.remainingDelay = 0;
+            start(next);
+        }
+    }
+
     /**
      * Suspend the timer for the scheduled task
      */
-    public void suspend() {
+    public synchronized void suspend() {
+        this.suspended = true;
         if (this.futur != null) {
-            this.remainingDelay = this.futur.getDelay(TimeUnit.MILLISECONDS);
-            this.futur.cancel(true);
+            if (this.futur.cancel()) {
+                this.remainingDelay = Math.max(1, this.deadline - this.scheduler.now());
+            }
+            this.futur = null;
         }
     }
 
     /**
      * Resume the timer for the scheduled task
      */
-    public void resume() {
+    public synchronized void resume() {
+        this.suspended = false;
         if (this.remainingDelay != 0) {
-            this.futur = this.service.schedule(this.command, this.remainingDelay, TimeUnit.MILLISECONDS);
+            start(this.scheduler.now() + this.remainingDelay);
+            this.remainingDelay = 0;
+        }
+    }
+
+    /**
+     * Returns the time left before the scheduled command is executed, not
+     * counting the time the service is suspended.
+     *
+     * @return The remaining delay in milliseconds, or 0 if no command is
+     * pending.
+     */
+    public synchronized long getRemainingDelay() {
+        if (this.futur != null) {
+            return this.futur.getRemainingDelay();
         }
+        return this.remainingDelay;
+    }
+
+    /**
+     * Returns how late the commands of this service were executed.
+     *
+     * @return The milliseconds between the deadlines of the commands and
+     * their execution, added up.
+     */
+    public synchronized long getLag() {
+        return this.lag;
+    }
+
+    /**
+     * Returns how often a command was behind by more than its interval.
+     *
+     * @return The number of repetitions skipped.
+     */
+    public synchronized long getSkipped() {
+        return this.skipped;
     }
 
     /**
      * Cancel scheduled task
      */
-    public void cancelTask() {
+    public synchronized void cancelTask() {
+        this.remainingDelay = 0;
         if (this.futur != null) {
-            this.futur.cancel(true);
+            this.futur.cancel();
             this.futur = null;
         }
     }
+
+    /**
+     * Starts the timer of the command.
+     *
+     * @param due The deadline of the command.
+     */
+    private void start(long due) {
+        this.deadline = due;
+        this.futur = this.scheduler.scheduleAt(new Execution(this.command, due), due);
+    }
+
+    /**
+     * An execution of a command, which records how late it is.
+     */
+    private final class Execution implements Runnable {
+
+        private final Runnable command;
+        private final long due;
+
+        /**
+         * Creates an execution.
+         *
+         * @param command The command to be executed.
+         * @param due     The deadline of the command.
+         */
+        Execution(Runnable command, long due) {
+            this.command = command;
+            this.due = due;
+        }
+
+        @Override
+        public void run() {
+            long late = scheduler.now() - due;
+            if (late > 0) {
+                synchronized (ScheduledTaskService.this) {
+                    lag += late;
+                }
+                LAG.add(late);
+            }
+            command.run();
+        }
+    }
 }
@@ -0,0 +1,59 @@
+package nl.tudelft.jpacman.level.task;
+
+/**
+ * Executes commands after a delay. A scheduler is shared by all
+ * {@link ScheduledTaskService}s of a game, so the number of threads does not
+ * grow with the number of units on a level.
+ */
+public interface TaskScheduler {
+
+    /**
+     * Schedules a command to be executed once after a delay.
+     *
+     * @param command The command to be executed.
+     * @param delay   The delay in milliseconds.
+     * @return The handle through which the command can be cancelled.
+     */
+    TaskHandle schedule(Runnable command, long delay);
+
+    /**
+     * Schedules a command to be executed once at a moment on the timeline of
+     * this scheduler. A moment that has passed already is due at once.
+     *
+     * @param command  The command to be executed.
+     * @param deadline The moment, see {@link #now()}.
+     * @return The handle through which the command can be cancelled.
+     */
+    TaskHandle scheduleAt(Runnable command, long deadline);
+
+    /**
+     * Returns the current moment on the timeline of this scheduler, to which
+     * the deadlines of {@link #scheduleAt(Runnable, long)} refer.
+     *
+     * @return The time in milliseconds since the scheduler was created.
+     */
+    long now();
+
+    /**
+     * A command that has been scheduled on a {@link TaskScheduler}.
+     */
+    interface TaskHandle {
+
+        /**
+         * Returns the time left before the command is executed.
+         *
+         * @return The remaining delay in milliseconds, or 0 if the command is
+         * due or has already been executed.
+         */
+        long getRemainingDelay();
+
+        /**
+         * Prevents the command from being executed, unless it already has
+         * been.
+         *
+         * @return <code>true</code> iff the command will no longer be executed
+         * because of this call.
+         */
+        boolean cancel();
+    }
+}
@@ -0,0 +1,356 @@
+package nl.tudelft.jpacman.level.task;
+
+import nl.tudelft.jpacman.metrics.Metrics;
+import nl.tudelft.jpacman.metrics.Timer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link TaskScheduler} backed by a hashed timing wheel that is driven by a
+ * single daemon thread. Commands are placed in the slot of the tick at which
+ * they are due and are executed on the scheduler thread, so scheduling and
+ * cancelling cost constant time no matter how many commands are waiting.
+ * <p>
+ * Commands are executed at most one tick late. The thread sleeps while no
+ * commands are waiting.
+ */
+public final class TimingWheelScheduler implements TaskScheduler {
+
+    /**
+     * The default duration of a tick in milliseconds.
+     */
+    private static final long DEFAULT_TICK = 5;
+
+    /**
+     * The default number of slots on the wheel, a power of two.
+     */
+    private static final int DEFAULT_WHEEL_SIZE = 512;
+
+    /**
+     * The time between the deadlines of the commands and their execution.
+     */
+    private static final Timer LAG = Metrics.getDefault().timer("scheduler.lag");
+
+    /**
+     * The duration of a tick in nanoseconds.
+     */
+    private final long tickNanos;
+
+    /**
+     * The commands waiting on the wheel, per slot. Only touched by the
+     * scheduler thread.
+     */
+    private final List<List<Timeout>> wheel;
+
+    /**
+     * The mask that maps a tick to its slot.
+     */
+    private final int mask;
+
+    /**
+     * The commands that have been scheduled but not yet placed on the wheel.
+     */
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The number of commands that are neither executed nor cancelled.
+     */
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    /**
+     * The lock the scheduler thread waits on while no commands are waiting.
+     */
+    private final Object idleLock = new Object();
+
+    /**
+     * The moment the wheel started turning, in nanoseconds.
+     */
+    private final long startTime;
+
+    /**
+     * The tick that is processed next. Only touched by the scheduler thread.
+     */
+    private long tick;
+
+    /**
+     * Creates a scheduler with the default tick duration and wheel size.
+     */
+    public TimingWheelScheduler() {
+        this(DEFAULT_TICK, DEFAULT_WHEEL_SIZE);
+    }
+
+    /**
+     * Creates a scheduler and starts its thread.
+     *
+     * @param tickDuration The duration of a tick in milliseconds.
+     * @param wheelSize    The number of slots on the wheel, a power of two.
+     */
+    public TimingWheelScheduler(long tickDuration, int wheelSize) {
+        assert tickDuration > 0;
+        assert wheelSize > 0 && Integer.bitCount(wheelSize) == 1;
+
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickDuration);
+        this.mask = wheelSize - 1;
+        this.wheel = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            wheel.add(new ArrayList<>());
+        }
+        this.startTime = System.nanoTime();
+
+        Thread thread = new Thread(this::turn, "jpacman-scheduler");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Returns the scheduler shared by all games that were not given one.
+     *
+     * @return The default scheduler.
+     */
+    public static TimingWheelScheduler getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    @Override
+    public TaskHandle schedule(Runnable command, long delay) {
+        return add(command, elapsed() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, delay)));
+    }
+
+    @Override
+    public TaskHandle scheduleAt(Runnable command, long deadline) {
+        return add(command, TimeUnit.MILLISECONDS.toNanos(deadline));
+    }
+
+    @Override
+    public long now() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsed());
+    }
+
+    /**
+     * Hands a command to the scheduler thread, waking it if it is idle.
+     *
+     * @param command  The command to be executed.
+     * @param deadline The moment the command is due, relative to the start of
+     *                 the wheel, in nanoseconds.
+     * @return The handle of the command.
+     */
+    private TaskHandle add(Runnable command, long deadline) {
+        assert command != null;
+
+        Timeout timeout = new Timeout(command, deadline);
+        pending.add(timeout);
+        if (waiting.getAndIncrement() == 0) {
+            synchronized (idleLock) {
+                idleLock.notifyAll();
+            }
+        }
+        return timeout;
+    }
+
+    /**
+     * Processes the ticks of the wheel, forever.
+     */
+    @SuppressWarnings("InfiniteLoopStatement")
+    private void turn() {
+        while (true) {
+            try {
+                awaitTick();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            placePending();
+            expire(wheel.get((int) (tick & mask)));
+            tick++;
+        }
+    }
+
+    /**
+     * Waits until the current tick has passed. When no commands are waiting,
+     * this first waits for one to be scheduled and skips the ticks that
+     * passed in the meantime.
+     *
+     * @throws InterruptedException If the scheduler thread is interrupted.
+     */
+    private void awaitTick() throws InterruptedException {
+        if (waiting.get() == 0) {
+            synchronized (idleLock) {
+                while (waiting.get() == 0) {
+                    idleLock.wait();
+                }
+            }
+            tick = Math.max(tick, elapsed() / tickNanos);
+        }
+        long sleep = (tick + 1) * tickNanos - elapsed();
+        if (sleep > 0) {
+            TimeUnit.NANOSECONDS.sleep(sleep);
+        }
+    }
+
+    /**
+     * Places the commands that were scheduled since the last tick on the
+     * wheel.
+     */
+    private void placePending() {
+        for (Timeout timeout = pending.poll(); timeout != null; timeout = pending.poll()) {
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            long due = timeout.deadline / tickNanos;
+            timeout.rounds = Math.max(0, due - tick) / wheel.size();
+            wheel.get((int) (Math.max(due, tick) & mask)).add(timeout);
+        }
+    }
+
+    /**
+     * Executes the commands of a slot that are due in this round and removes
+     * cancelled ones.
+     *
+     * @param slot The slot of the current tick.
+     */
+    private void expire(List<Timeout> slot) {
+        int kept = 0;
+        for (int i = 0; i < slot.size(); i++) {
+            Timeout timeout = slot.get(i);
+            if (timeout.rounds > 0) {
+                timeout.rounds--;
+                slot.set(kept++, timeout);
+            } else if (timeout.expire()) {
+                LAG.record(elapsed() - timeout.deadline);
+                timeout.run();
+            }
+        }
+        slot.subList(kept, slot.size()).clear();
+    }
+
+    /**
+     * Returns the time since the wheel started turning.
+     *
+     * @return The elapsed time in nanoseconds.
+     */
+    private long elapsed() {
+        return System.nanoTime() - startTime;
+    }
+
+    /**
+     * A command on the wheel.
+     */
+    private final class Timeout implements TaskHandle {
+
+        /**
+         * The command has neither been executed nor cancelled.
+         */
+        private static final int WAITING = 0;
+
+        /**
+         * The command has been cancelled.
+         */
+        private static final int CANCELLED = 1;
+
+        /**
+         * The command has been executed.
+         */
+        private static final int EXPIRED = 2;
+
+        /**
+         * The command to be executed.
+         */
+        private final Runnable command;
+
+        /**
+         * The moment the command is due, relative to the start of the wheel.
+         */
+        private final long deadline;
+
+        /**
+         * The state of this command, one of the constants above.
+         */
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        /**
+         * The number of turns of the wheel left before the command is due.
+         * Only touched by the scheduler thread.
+         */
+        private long rounds;
+
+        /**
+         * Creates a new command on the wheel.
+         *
+         * @param command  The command to be executed.
+         * @param deadline The moment the command is due.
+         */
+        Timeout(Runnable command, long deadline) {
+            this.command = command;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public long getRemainingDelay() {
+            if (state.get() != WAITING) {
+                return 0;
+            }
+            return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - elapsed()));
+        }
+
+        @Override
+        public boolean cancel() {
+            if (state.compareAndSet(WAITING, CANCELLED)) {
+                waiting.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Returns whether this command has been cancelled.
+         *
+         * @return <code>true</code> iff this command has been cancelled.
+         */
+        boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        /**
+         * Marks this command as executed, unless it has been cancelled.
+         *
+         * @return <code>true</code> iff the command is to be executed.
+         */
+        boolean expire() {
+            if (state.compareAndSet(WAITING, EXPIRED)) {
+                waiting.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Executes the command. A failing command does not stop the wheel,
+         * which the commands of every level share, even if it fails with an
+         * error; the failure is reported to the handler of the thread.
+         */
+        void run() {
+            try {
+                command.run();
+            } catch (Throwable e) {
+                Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            }
+        }
+    }
+
+    /**
+     * Holds the default scheduler, so its thread is only started when used.
+     */
+    private static final class DefaultHolder {
+
+        /**
+         * The default scheduler.
+         */
+        private static final TimingWheelScheduler INSTANCE = new TimingWheelScheduler();
+    }
+}
@@ -0,0 +1,167 @@
+package nl.tudelft.jpacman.level.task;
+
+import java.util.PriorityQueue;
+
+/**
+ * A {@link TaskScheduler} whose time only passes when it is told to. Commands
+ * are executed on the thread that advances the clock, in the order of their
+ * deadlines and, for equal deadlines, in the order they were scheduled. A
+ * level running on a virtual clock therefore plays out the same way every
+ * time, as fast as the commands can be executed.
+ */
+public final class VirtualClock implements TaskScheduler {
+
+    /**
+     * The commands that are waiting, the earliest first.
+     */
+    private final PriorityQueue<Timer> timers = new PriorityQueue<>();
+
+    /**
+     * The current time in milliseconds since the clock was created.
+     */
+    private long now;
+
+    /**
+     * The number of commands scheduled so far, used to order commands with
+     * the same deadline.
+     */
+    private long scheduled;
+
+    @Override
+    public synchronized long now() {
+        return now;
+    }
+
+    @Override
+    public synchronized TaskHandle schedule(Runnable command, long delay) {
+        assert command != null;
+
+        return scheduleAt(command, now + Math.max(0, delay));
+    }
+
+    @Override
+    public synchronized TaskHandle scheduleAt(Runnable command, long deadline) {
+        assert command != null;
+
+        Timer timer = new Timer(command, Math.max(now, deadline), scheduled++);
+        timers.add(timer);
+        return timer;
+    }
+
+    /**
+     * Advances the clock to the next command that is due no later than the
+     * given time and executes it.
+     *
+     * @param until The latest time to advance the clock to.
+     * @return <code>true</code> iff a command was executed, <code>false</code>
+     * if no command is due before the given time, in which case the clock is
+     * left as it is.
+     */
+    public boolean runNext(long until) {
+        Timer next;
+        synchronized (this) {
+            next = timers.peek();
+            while (next != null && next.cancelled) {
+                timers.poll();
+                next = timers.peek();
+            }
+            if (next == null || next.deadline > until) {
+                return false;
+            }
+            timers.poll();
+            next.expired = true;
+            now = Math.max(now, next.deadline);
+        }
+        next.command.run();
+        return true;
+    }
+
+    /**
+     * Advances the clock by the given duration, executing all commands that
+     * are due in the meantime, including the ones they schedule.
+     *
+     * @param duration The time to advance the clock by in milliseconds.
+     */
+    public void advance(long duration) {
+        long until = now() + duration;
+        while (runNext(until)) {
+            // keep executing the commands that are due.
+        }
+        synchronized (this) {
+            now = Math.max(now, until);
+        }
+    }
+
+    /**
+     * A command waiting on the clock.
+     */
+    private final class Timer implements TaskHandle, Comparable<Timer> {
+
+        /**
+         * The command to be executed.
+         */
+        private final Runnable command;
+
+        /**
+         * The time at which the command is due.
+         */
+        private final long deadline;
+
+        /**
+         * The number of commands scheduled before this one.
+         */
+        private final long order;
+
+        /**
+         * <code>true</code> iff the command has been cancelled.
+         */
+        private boolean cancelled;
+
+        /**
+         * <code>true</code> iff the command has been executed.
+         */
+        private boolean expired;
+
+        /**
+         * Creates a new command on the clock.
+         *
+         * @param command  The command to be executed.
+         * @param deadline The time at which the command is due.
+         * @param order    The number of commands scheduled before this one.
+         */
+        Timer(Runnable command, long deadline, long order) {
+            this.command = command;
+            this.deadline = deadline;
+            this.order = order;
+        }
+
+        @Override
+        public long getRemainingDelay() {
+            synchronized (VirtualClock.this) {
+                if (cancelled || expired) {
+                    return 0;
+                }
+                return Math.max(0, deadline - now);
+            }
+        }
+
+        @Override
+        public boolean cancel() {
+            synchronized (VirtualClock.this) {
+                if (cancelled || expired) {
+                    return false;
+                }
+                cancelled = true;
+                return true;
+            }
+        }
+
+        @Override
+        public int compareTo(Timer other) {
+            if (deadline != other.deadline) {
+                return Long.compare(deadline, other.deadline);
+            }
+            return Long.compare(order, other.order);
+        }
+    }
+}
@@ -5,6 +5,8 @@ import nl.tudelft.jpacman.board.Direction;
 import nl.tudelft.jpacman.board.Square;
 import nl.tudelft.jpacman.board.Unit;
 import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.metrics.Metrics;
+import nl.tudelft.jpacman.metrics.Timer;
 import nl.tudelft.jpacman.sprite.AnimatedSprite;
 import nl.tudelft.jpacman.sprite.Sprite;
 import nl.tudelft.jpacman.strategies.HumanStrategy;
@@ -61,6 +63,12 @@ public class Player extends Unit {
      */
     private PacManStrategy strategy;
 
+    /**
+     * The time taken by the strategy to choose a move, or <code>null</code>
+     * if the player has no strategy.
+     */
+    private Timer decisions;
+
     /**
      * The remaining lifes of the player.
      * By default, the player has the number of lifes defined into the configuration files.
@@ -210,6 +218,10 @@ public class Player extends Unit {
      */
     public void setStrategy(PacManStrategy strategy) {
         this.strategy = strategy;
+        if (strategy != null) {
+            this.decisions = Metrics.getDefault().timer(
+                "strategy." + strategy.getName() + ".decision");
+        }
     }
 
     /**
@@ -255,7 +267,10 @@ public class Player extends Unit {
         if (strategy instanceof HumanStrategy) {
             return getDirection();
         } else {
-            return strategy.nextMove();
+            long start = System.nanoTime();
+            Direction direction = strategy.nextMove();
+            decisions.recordSince(start);
+            return direction;
         }
     }
 
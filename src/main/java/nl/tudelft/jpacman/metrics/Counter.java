@@ -0,0 +1,49 @@
+package nl.tudelft.jpacman.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts events or adds up amounts, from any number of threads.
+ */
+public final class Counter implements CounterMXBean {
+
+    private final String name;
+
+    private final AtomicLong count = new AtomicLong();
+
+    /**
+     * Creates a counter, see {@link Metrics#counter(String)}.
+     *
+     * @param name The name of the counter.
+     */
+    Counter(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Counts an event.
+     */
+    public void increment() {
+        count.incrementAndGet();
+    }
+
+    /**
+     * Counts a number of events, or adds an amount.
+     *
+     * @param amount The number of events, not negative.
+     */
+    public void add(long amount) {
+        assert amount >= 0;
+        count.addAndGet(amount);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getCount() {
+        return count.get();
+    }
+}
@@ -0,0 +1,17 @@
+package nl.tudelft.jpacman.metrics;
+
+/**
+ * The management interface of a {@link Counter}.
+ */
+public interface CounterMXBean {
+
+    /**
+     * @return The name of the counter.
+     */
+    String getName();
+
+    /**
+     * @return The number of events counted.
+     */
+    long getCount();
+}
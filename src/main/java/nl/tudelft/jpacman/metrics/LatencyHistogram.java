@@ -0,0 +1,178 @@
+package nl.tudelft.jpacman.metrics;
+
+/**
+ * A distribution of durations in nanoseconds. Durations are counted in
+ * buckets that double in width every {@value #SUB_BUCKETS} buckets, so
+ * percentiles are reported to within about six percent, whatever their
+ * magnitude, in a fixed amount of memory.
+ * <p>
+ * A histogram is not thread-safe; histograms that were filled on different
+ * threads are combined with {@link #merge(LatencyHistogram)}. Durations
+ * recorded from many threads at once go into a {@link Timer} instead.
+ */
+public final class LatencyHistogram {
+
+    /**
+     * The number of bits of a duration that select its bucket within a
+     * doubling.
+     */
+    private static final int SUB_BUCKET_BITS = 4;
+
+    /**
+     * The number of buckets per doubling of durations.
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * The number of buckets.
+     */
+    static final int BUCKETS = Long.SIZE * SUB_BUCKETS;
+
+    /**
+     * The number of durations in every bucket.
+     */
+    private final long[] counts;
+
+    /**
+     * The number of durations recorded.
+     */
+    private long count;
+
+    /**
+     * The sum of the durations recorded.
+     */
+    private long total;
+
+    /**
+     * The longest duration recorded.
+     */
+    private long max;
+
+    /**
+     * Creates an empty histogram.
+     */
+    public LatencyHistogram() {
+        this.counts = new long[BUCKETS];
+    }
+
+    /**
+     * Creates a histogram of durations that were counted elsewhere.
+     *
+     * @param counts The number of durations in every bucket, see
+     *               {@link #bucket(long)}.
+     * @param total  The sum of the durations.
+     * @param max    The longest duration.
+     */
+    LatencyHistogram(long[] counts, long total, long max) {
+        assert counts.length == BUCKETS;
+        this.counts = counts;
+        for (long c : counts) {
+            this.count += c;
+        }
+        this.total = total;
+        this.max = max;
+    }
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos The duration in nanoseconds, not negative.
+     */
+    public void record(long nanos) {
+        assert nanos >= 0;
+        counts[bucket(nanos)]++;
+        count++;
+        total += nanos;
+        max = Math.max(max, nanos);
+    }
+
+    /**
+     * Adds the durations recorded by another histogram to this one.
+     *
+     * @param other The histogram to add.
+     */
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        total += other.total;
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * @return The number of durations recorded.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return The mean duration in nanoseconds, or 0 if none was recorded.
+     */
+    public long getMean() {
+        if (count == 0) {
+            return 0;
+        }
+        return total / count;
+    }
+
+    /**
+     * @return The longest duration in nanoseconds.
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the duration that a percentage of the recorded durations do not
+     * exceed.
+     *
+     * @param percentage The percentage, between 0 and 100.
+     * @return The upper bound of the bucket of the percentile in nanoseconds,
+     * or 0 if no duration was recorded.
+     */
+    public long getPercentile(double percentage) {
+        assert percentage >= 0 && percentage <= 100;
+        long rank = Math.max(1, (long) Math.ceil(percentage / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the bucket of a duration. Durations below {@link #SUB_BUCKETS}
+     * have a bucket of their own.
+     *
+     * @param nanos The duration.
+     * @return The index of its bucket.
+     */
+    static int bucket(long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            return (int) nanos;
+        }
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos) - SUB_BUCKET_BITS;
+        int sub = (int) (nanos >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Returns the longest duration counted in a bucket.
+     *
+     * @param bucket The index of the bucket.
+     * @return The upper bound of the bucket.
+     */
+    private static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long sub = bucket % SUB_BUCKETS;
+        return ((SUB_BUCKETS + sub + 1) << shift) - 1;
+    }
+}
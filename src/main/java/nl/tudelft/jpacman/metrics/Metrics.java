@@ -0,0 +1,218 @@
+package nl.tudelft.jpacman.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The timers and counters of the game, by name. Metrics are created on first
+ * use and live as long as their registry. A registry can be exposed over JMX
+ * and can print a report of its metrics at a fixed interval; neither is done
+ * unless asked for, so games that are not watched pay only for recording.
+ * <p>
+ * The game records in the {@link #getDefault() default registry}:
+ * <ul>
+ * <li><code>level.move</code>: applying a move to the level, collisions
+ * included.</li>
+ * <li><code>level.collision</code>: handling a single collision.</li>
+ * <li><code>ghost.&lt;type&gt;.ai</code>: the AI of a ghost choosing a
+ * move.</li>
+ * <li><code>strategy.&lt;type&gt;.decision</code>: the strategy of a player
+ * choosing a move.</li>
+ * <li><code>task.player.move</code> and <code>task.ghost.move</code>: a move
+ * task, from deciding on the move to rescheduling the task.</li>
+ * <li><code>scheduler.lag</code>: how late the scheduler runs a command
+ * after its deadline.</li>
+ * <li><code>task.lag</code> and <code>task.skipped</code>: the milliseconds
+ * the tasks of the levels ran after their deadlines, added up, and the
+ * repetitions of moves skipped because they fell behind.</li>
+ * <li><code>frame.publish</code> and <code>frame.skipped</code>: filling a
+ * frame for the UI, and the frames not filled because the UI still held
+ * them.</li>
+ * </ul>
+ */
+public final class Metrics {
+
+    /**
+     * The JMX domain of the metrics of the default registry.
+     */
+    private static final String DOMAIN = "nl.tudelft.jpacman";
+
+    private final String domain;
+
+    private final Map<String, Timer> timers = new ConcurrentSkipListMap<>();
+
+    private final Map<String, Counter> counters = new ConcurrentSkipListMap<>();
+
+    /**
+     * The server the metrics are registered with, or <code>null</code> if
+     * they are not exposed.
+     */
+    private MBeanServer server;
+
+    /**
+     * The thread printing reports, or <code>null</code> if none is.
+     */
+    private Thread reporter;
+
+    /**
+     * Creates an empty registry.
+     *
+     * @param domain The JMX domain to expose the metrics under.
+     */
+    public Metrics(String domain) {
+        this.domain = domain;
+    }
+
+    /**
+     * Returns the registry in which the game records its metrics.
+     *
+     * @return The default registry.
+     */
+    public static Metrics getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    /**
+     * Returns the timer with a name, creating it if there is none.
+     *
+     * @param name The name of the timer.
+     * @return The timer.
+     */
+    public Timer timer(String name) {
+        Timer timer = timers.get(name);
+        if (timer != null) {
+            return timer;
+        }
+        synchronized (this) {
+            timer = timers.get(name);
+            if (timer == null) {
+                timer = new Timer(name);
+                timers.put(name, timer);
+                register(timer, "Timer", name);
+            }
+            return timer;
+        }
+    }
+
+    /**
+     * Returns the counter with a name, creating it if there is none.
+     *
+     * @param name The name of the counter.
+     * @return The counter.
+     */
+    public Counter counter(String name) {
+        Counter counter = counters.get(name);
+        if (counter != null) {
+            return counter;
+        }
+        synchronized (this) {
+            counter = counters.get(name);
+            if (counter == null) {
+                counter = new Counter(name);
+                counters.put(name, counter);
+                register(counter, "Counter", name);
+            }
+            return counter;
+        }
+    }
+
+    /**
+     * Registers all metrics, including the ones created later, with the
+     * platform MBean server. Does nothing if they are registered already.
+     */
+    public synchronized void expose() {
+        if (server != null) {
+            return;
+        }
+        server = ManagementFactory.getPlatformMBeanServer();
+        for (Timer timer : timers.values()) {
+            register(timer, "Timer", timer.getName());
+        }
+        for (Counter counter : counters.values()) {
+            register(counter, "Counter", counter.getName());
+        }
+    }
+
+    /**
+     * Prints a report of the metrics at a fixed interval, on a daemon thread.
+     * Does nothing if reports are printed already.
+     *
+     * @param interval The time between reports in milliseconds.
+     * @param out      The stream to print the reports to.
+     */
+    public synchronized void startReporting(long interval, PrintStream out) {
+        assert interval > 0;
+        if (reporter != null) {
+            return;
+        }
+        reporter = new Thread(() -> {
+            try {
+                while (true) {
+                    TimeUnit.MILLISECONDS.sleep(interval);
+                    out.print(report());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "jpacman-metrics");
+        reporter.setDaemon(true);
+        reporter.start();
+    }
+
+    /**
+     * Describes all metrics, one per line, in the order of their names.
+     *
+     * @return The report.
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        for (Timer timer : timers.values()) {
+            LatencyHistogram snapshot = timer.getSnapshot();
+            report.append(String.format(
+                "%-24s count=%d mean=%.1fus p50=%.1fus p90=%.1fus p99=%.1fus max=%.1fus%n",
+                timer.getName(), snapshot.getCount(), Timer.micros(snapshot.getMean()),
+                Timer.micros(snapshot.getPercentile(50)), Timer.micros(snapshot.getPercentile(90)),
+                Timer.micros(snapshot.getPercentile(99)), Timer.micros(snapshot.getMax())));
+        }
+        for (Counter counter : counters.values()) {
+            report.append(String.format("%-24s count=%d%n", counter.getName(), counter.getCount()));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Registers a metric with the MBean server, if the metrics are exposed.
+     *
+     * @param metric The metric.
+     * @param type   The type of the metric.
+     * @param name   The name of the metric.
+     */
+    private void register(Object metric, String type, String name) {
+        if (server == null) {
+            return;
+        }
+        try {
+            server.registerMBean(metric, new ObjectName(
+                domain + ":type=" + type + ",name=" + ObjectName.quote(name)));
+        } catch (JMException e) {
+            throw new IllegalStateException("Unable to expose metric " + name, e);
+        }
+    }
+
+    /**
+     * Holds the default registry, which is created on first use.
+     */
+    private static final class DefaultHolder {
+
+        /**
+         * The default registry.
+         */
+        private static final Metrics INSTANCE = new Metrics(DOMAIN);
+    }
+}
@@ -0,0 +1,122 @@
+package nl.tudelft.jpacman.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A distribution of durations that are recorded from any number of threads,
+ * in the buckets of a {@link LatencyHistogram}. Recording a duration takes a
+ * few atomic additions and allocates nothing, so timers can be left in the
+ * moves of the game.
+ */
+public final class Timer implements TimerMXBean {
+
+    private final String name;
+
+    /**
+     * The number of durations in every bucket.
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(LatencyHistogram.BUCKETS);
+
+    /**
+     * The sum of the durations recorded.
+     */
+    private final AtomicLong total = new AtomicLong();
+
+    /**
+     * The longest duration recorded.
+     */
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Creates a timer, see {@link Metrics#timer(String)}.
+     *
+     * @param name The name of the timer.
+     */
+    Timer(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos The duration in nanoseconds. Negative durations are
+     *              recorded as 0.
+     */
+    public void record(long nanos) {
+        long duration = Math.max(0, nanos);
+        counts.incrementAndGet(LatencyHistogram.bucket(duration));
+        total.addAndGet(duration);
+        long longest = max.get();
+        while (duration > longest && !max.compareAndSet(longest, duration)) {
+            longest = max.get();
+        }
+    }
+
+    /**
+     * Records the time that passed since a moment.
+     *
+     * @param start The moment, a value of {@link System#nanoTime()}.
+     */
+    public void recordSince(long start) {
+        record(System.nanoTime() - start);
+    }
+
+    /**
+     * Copies the durations recorded so far. Durations recorded while the copy
+     * is made may be left out.
+     *
+     * @return The durations recorded.
+     */
+    public LatencyHistogram getSnapshot() {
+        long[] copy = new long[counts.length()];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new LatencyHistogram(copy, total.get(), max.get());
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getCount() {
+        return getSnapshot().getCount();
+    }
+
+    @Override
+    public double getMean() {
+        return micros(getSnapshot().getMean());
+    }
+
+    @Override
+    public double getP50() {
+        return micros(getSnapshot().getPercentile(50));
+    }
+
+    @Override
+    public double getP90() {
+        return micros(getSnapshot().getPercentile(90));
+    }
+
+    @Override
+    public double getP99() {
+        return micros(getSnapshot().getPercentile(99));
+    }
+
+    @Override
+    public double getMax() {
+        return micros(max.get());
+    }
+
+    /**
+     * @param nanos A duration in nanoseconds.
+     * @return The duration in microseconds.
+     */
+    static double micros(long nanos) {
+        return nanos / (double) TimeUnit.MICROSECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,43 @@
+package nl.tudelft.jpacman.metrics;
+
+/**
+ * The management interface of a {@link Timer}. All durations are in
+ * microseconds.
+ */
+public interface TimerMXBean {
+
+    /**
+     * @return The name of the timer.
+     */
+    String getName();
+
+    /**
+     * @return The number of durations recorded.
+     */
+    long getCount();
+
+    /**
+     * @return The mean duration.
+     */
+    double getMean();
+
+    /**
+     * @return The median duration.
+     */
+    double getP50();
+
+    /**
+     * @return The duration that 90 percent of the durations do not exceed.
+     */
+    double getP90();
+
+    /**
+     * @return The duration that 99 percent of the durations do not exceed.
+     */
+    double getP99();
+
+    /**
+     * @return The longest duration.
+     */
+    double getMax();
+}
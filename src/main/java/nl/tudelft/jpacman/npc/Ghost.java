@@ -3,6 +3,8 @@ package nl.tudelft.jpacman.npc;
 import nl.tudelft.jpacman.board.Direction;
 import nl.tudelft.jpacman.board.Square;
 import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.metrics.Metrics;
+import nl.tudelft.jpacman.metrics.Timer;
 import nl.tudelft.jpacman.strategies.Navigation;
 import nl.tudelft.jpacman.sprite.Sprite;
 
@@ -44,6 +46,16 @@ public abstract class Ghost extends Unit {
      */
     private byte gameMode;
 
+    /**
+     * The source of the random variation in the moves of this ghost.
+     */
+    private Random random = new Random();
+
+    /**
+     * The time taken by the AI of this type of ghost to choose a move.
+     */
+    private final Timer decisions;
+
 
     /**
      * Calculates the next move for this unit and returns the direction to move
@@ -60,7 +72,10 @@ public abstract class Ghost extends Unit {
         } else if (gameMode != 0) {
             return this.randomMove();
         } else {
-            return nextAiMove().orElseGet(this::randomMove);
+            long start = System.nanoTime();
+            Optional<Direction> move = nextAiMove();
+            decisions.recordSince(start);
+            return move.orElseGet(this::randomMove);
         }
     }
 
@@ -87,6 +102,7 @@ public abstract class Ghost extends Unit {
         this.initialPosition = initialPosition;
         this.gameMode = 0;
         this.alive = true;
+        this.decisions = Metrics.getDefault().timer("ghost." + getClass().getSimpleName() + ".ai");
     }
 
     /**
@@ -145,6 +161,17 @@ public abstract class Ghost extends Unit {
         }
     }
 
+    /**
+     * Sets the source of the random variation in the moves of this ghost, so
+     * a level can be replayed from a seed.
+     *
+     * @param random The source of randomness.
+     */
+    public void setRandom(Random random) {
+        assert random != null;
+        this.random = random;
+    }
+
     /**
      * The time that should be taken between moves.
      *
@@ -159,7 +186,7 @@ public abstract class Ghost extends Unit {
         if (this.intervalVariation == 0) {
             return interval;
         } else {
-            return interval + new Random().nextInt(this.intervalVariation);
+            return interval + random.nextInt(this.intervalVariation);
         }
     }
 
@@ -180,7 +207,7 @@ public abstract class Ghost extends Unit {
         if (directions.isEmpty()) {
             return null;
         }
-        int i = new Random().nextInt(directions.size());
+        int i = random.nextInt(directions.size());
         return directions.get(i);
     }
 }
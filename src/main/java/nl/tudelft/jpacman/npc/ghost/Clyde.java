@@ -101,14 +101,11 @@ public class Clyde extends Ghost {
         assert nearest.hasSquare();
         Square target = nearest.getSquare();
 
-        List<Direction> path = Navigation.shortestPath(getSquare(), target, this);
-        if (path != null && !path.isEmpty()) {
-            Direction direction = path.get(0);
-            if (path.size() <= SHYNESS) {
-                return Optional.ofNullable(OPPOSITES.get(direction));
-            }
-            return Optional.of(direction);
+        Optional<Direction> direction = Navigation.getNextDirection(getSquare(), target, this);
+        if (direction.isPresent()
+            && Navigation.getDistance(getSquare(), target, this) <= SHYNESS) {
+            return Optional.ofNullable(OPPOSITES.get(direction.get()));
         }
-        return Optional.empty();
+        return direction;
     }
 }
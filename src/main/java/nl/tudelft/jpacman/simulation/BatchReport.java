@@ -0,0 +1,234 @@
+package nl.tudelft.jpacman.simulation;
+
+import nl.tudelft.jpacman.metrics.LatencyHistogram;
+import nl.tudelft.jpacman.strategies.PacManStrategy;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The combined outcome of the games a strategy played in a
+ * {@link SimulationBatch}. Reports of games played on different threads are
+ * combined with {@link #merge(BatchReport)}; a report is not thread-safe.
+ */
+public final class BatchReport {
+
+    /**
+     * The strategy that played the games.
+     */
+    private final Class<? extends PacManStrategy> strategy;
+
+    /**
+     * The number of games played.
+     */
+    private int games;
+
+    /**
+     * The number of games won.
+     */
+    private int wins;
+
+    /**
+     * The number of games lost.
+     */
+    private int losses;
+
+    /**
+     * The sum of the scores.
+     */
+    private long totalScore;
+
+    /**
+     * The sum of the squares of the scores.
+     */
+    private double squaredScores;
+
+    /**
+     * The lowest score.
+     */
+    private int minScore = Integer.MAX_VALUE;
+
+    /**
+     * The highest score.
+     */
+    private int maxScore = Integer.MIN_VALUE;
+
+    /**
+     * The sum of the durations of the games in milliseconds.
+     */
+    private long totalDuration;
+
+    /**
+     * The sum of the pellets eaten.
+     */
+    private long totalPelletsEaten;
+
+    /**
+     * The durations of all decisions of the strategy.
+     */
+    private final LatencyHistogram decisions = new LatencyHistogram();
+
+    /**
+     * Creates a report without any games.
+     *
+     * @param strategy The strategy that plays the games.
+     */
+    public BatchReport(Class<? extends PacManStrategy> strategy) {
+        this.strategy = strategy;
+    }
+
+    /**
+     * Adds the outcome of a game to this report.
+     *
+     * @param result The outcome of a game played by the strategy.
+     */
+    public void add(SimulationResult result) {
+        games++;
+        if (result.isWon()) {
+            wins++;
+        } else if (result.isLost()) {
+            losses++;
+        }
+        int score = result.getScore();
+        totalScore += score;
+        squaredScores += (double) score * score;
+        minScore = Math.min(minScore, score);
+        maxScore = Math.max(maxScore, score);
+        totalDuration += result.getDuration();
+        totalPelletsEaten += result.getPelletsEaten();
+        decisions.merge(result.getDecisions());
+    }
+
+    /**
+     * Adds the games of another report of the same strategy to this report.
+     *
+     * @param other The report to add.
+     */
+    public void merge(BatchReport other) {
+        assert other.strategy == strategy;
+        games += other.games;
+        wins += other.wins;
+        losses += other.losses;
+        totalScore += other.totalScore;
+        squaredScores += other.squaredScores;
+        minScore = Math.min(minScore, other.minScore);
+        maxScore = Math.max(maxScore, other.maxScore);
+        totalDuration += other.totalDuration;
+        totalPelletsEaten += other.totalPelletsEaten;
+        decisions.merge(other.decisions);
+    }
+
+    /**
+     * @return The strategy that played the games.
+     */
+    public Class<? extends PacManStrategy> getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * @return The number of games played.
+     */
+    public int getGames() {
+        return games;
+    }
+
+    /**
+     * @return The number of games in which the player ate all pellets.
+     */
+    public int getWins() {
+        return wins;
+    }
+
+    /**
+     * @return The number of games in which the player ran out of lives.
+     */
+    public int getLosses() {
+        return losses;
+    }
+
+    /**
+     * @return The mean score of the games.
+     */
+    public double getMeanScore() {
+        return mean(totalScore);
+    }
+
+    /**
+     * @return The standard deviation of the scores of the games.
+     */
+    public double getScoreDeviation() {
+        if (games == 0) {
+            return 0;
+        }
+        double mean = getMeanScore();
+        return Math.sqrt(Math.max(0, squaredScores / games - mean * mean));
+    }
+
+    /**
+     * @return The lowest score of the games.
+     */
+    public int getMinScore() {
+        return minScore;
+    }
+
+    /**
+     * @return The highest score of the games.
+     */
+    public int getMaxScore() {
+        return maxScore;
+    }
+
+    /**
+     * @return The mean duration the player survived, in milliseconds of the
+     *         virtual clock.
+     */
+    public double getMeanDuration() {
+        return mean(totalDuration);
+    }
+
+    /**
+     * @return The mean number of pellets eaten per game.
+     */
+    public double getMeanPelletsEaten() {
+        return mean(totalPelletsEaten);
+    }
+
+    /**
+     * @return The durations of all decisions of the strategy.
+     */
+    public LatencyHistogram getDecisions() {
+        return decisions;
+    }
+
+    /**
+     * Divides a sum by the number of games.
+     *
+     * @param sum The sum over all games.
+     * @return The mean per game, or 0 if no game was played.
+     */
+    private double mean(long sum) {
+        if (games == 0) {
+            return 0;
+        }
+        return (double) sum / games;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: games=%d won=%d lost=%d score=%.0f+-%.0f [%d, %d] time=%.0fms "
+                + "pellets=%.1f decisions=%d p50=%.1fus p90=%.1fus p99=%.1fus max=%.1fus",
+            strategy.getSimpleName(), games, wins, losses, getMeanScore(), getScoreDeviation(),
+            minScore, maxScore, getMeanDuration(), getMeanPelletsEaten(), decisions.getCount(),
+            micros(decisions.getPercentile(50)), micros(decisions.getPercentile(90)),
+            micros(decisions.getPercentile(99)), micros(decisions.getMax()));
+    }
+
+    /**
+     * Converts nanoseconds to microseconds.
+     *
+     * @param nanos The duration in nanoseconds.
+     * @return The duration in microseconds.
+     */
+    private static double micros(long nanos) {
+        return nanos / (double) TimeUnit.MICROSECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,177 @@
+package nl.tudelft.jpacman.simulation;
+
+import nl.tudelft.jpacman.ConfigurationLoader;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.exceptions.PacmanConfigurationException;
+import nl.tudelft.jpacman.game.Game;
+import nl.tudelft.jpacman.game.GameFactory;
+import nl.tudelft.jpacman.level.FruitFactory;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.LevelFactory;
+import nl.tudelft.jpacman.level.MapParser;
+import nl.tudelft.jpacman.level.PlayerFactory;
+import nl.tudelft.jpacman.level.task.VirtualClock;
+import nl.tudelft.jpacman.level.unit.Player;
+import nl.tudelft.jpacman.metrics.LatencyHistogram;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.sprite.HeadlessSprites;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import nl.tudelft.jpacman.strategies.PacManStrategy;
+import nl.tudelft.jpacman.strategies.PriorityToScoreStrategy;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Plays a game of Pac-Man without a user interface. The game runs on a
+ * {@link VirtualClock} instead of the wall clock, so it is played as fast as
+ * the moves can be computed, and all randomness is drawn from a seed, so a
+ * game with the same seed always plays out the same way.
+ * <p>
+ * The configuration must have been loaded before a game is simulated.
+ */
+public class Simulation {
+
+    /**
+     * The default longest duration of a game, ten minutes.
+     */
+    private static final long DEFAULT_TIME_LIMIT = 10 * 60 * 1000;
+
+    private String levelMap;
+    private Class<? extends PacManStrategy> strategy;
+    private long seed;
+    private long timeLimit;
+
+    /**
+     * Creates a simulation of the configured map, played by the
+     * {@link PriorityToScoreStrategy}.
+     */
+    public Simulation() {
+        this.levelMap = ConfigurationLoader.getProperty("level.map");
+        this.strategy = PriorityToScoreStrategy.class;
+        this.timeLimit = DEFAULT_TIME_LIMIT;
+    }
+
+    /**
+     * Set the name of the resource containing the map to play.
+     *
+     * @param fileName Map to be used.
+     * @return This simulation.
+     */
+    public Simulation withMapFile(String fileName) {
+        this.levelMap = fileName;
+        return this;
+    }
+
+    /**
+     * Set the strategy that plays the game.
+     *
+     * @param clazz The class of the strategy, which must not be the human one.
+     * @return This simulation.
+     */
+    public Simulation withStrategy(Class<? extends PacManStrategy> clazz) {
+        this.strategy = clazz;
+        return this;
+    }
+
+    /**
+     * @return The class of the strategy that plays the game.
+     */
+    public Class<? extends PacManStrategy> getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Set the seed all randomness of the game is drawn from.
+     *
+     * @param newSeed The seed.
+     * @return This simulation.
+     */
+    public Simulation withSeed(long newSeed) {
+        this.seed = newSeed;
+        return this;
+    }
+
+    /**
+     * Set the longest duration of a game, after which it is stopped.
+     *
+     * @param limit The time limit on the virtual clock in milliseconds.
+     * @return This simulation.
+     */
+    public Simulation withTimeLimit(long limit) {
+        this.timeLimit = limit;
+        return this;
+    }
+
+    /**
+     * Plays a game until it is won, lost or runs out of time.
+     *
+     * @return The outcome of the game.
+     */
+    public SimulationResult run() {
+        VirtualClock clock = new VirtualClock();
+        Game game = makeGame(clock, new Random(seed));
+        game.selectStrategy(strategy);
+        Player player = game.getPlayers().get(0);
+        LatencyHistogram decisions = new LatencyHistogram();
+        player.setStrategy(new TimedStrategy(player.getStrategy(), decisions));
+        int pellets = countPellets(game.getLevel());
+        game.start();
+
+        while (game.isInProgress() && clock.runNext(timeLimit)) {
+            // each command moves a unit or fires a timer of the level.
+        }
+        game.stop();
+
+        return new SimulationResult(seed, player.getScore(), player.getRemainingLifes(),
+            game.getLevel().remainingPellets(false), pellets - countPellets(game.getLevel()),
+            clock.now(), decisions);
+    }
+
+    /**
+     * Counts the pellets of both kinds on the board of a level.
+     *
+     * @param level The level.
+     * @return The number of pellets left.
+     */
+    private static int countPellets(Level level) {
+        return level.remainingPellets(false) + level.remainingPellets(true);
+    }
+
+    /**
+     * Creates a new game whose level runs on the given clock.
+     *
+     * @param clock  The clock executing the tasks of the level.
+     * @param random The source of randomness of the level.
+     * @return A new game.
+     */
+    protected Game makeGame(VirtualClock clock, Random random) {
+        PacManSprites sprites = new HeadlessSprites();
+        LevelFactory levelFactory = new LevelFactory(sprites, new GhostFactory(sprites),
+            new FruitFactory(sprites), clock, random);
+        MapParser parser = new MapParser(levelFactory, new BoardFactory(sprites));
+        Level level;
+        try {
+            level = parser.parseMap(levelMap);
+        } catch (IOException e) {
+            throw new PacmanConfigurationException("Unable to create level, name = " + levelMap, e);
+        }
+        return new GameFactory(new PlayerFactory(sprites)).createSinglePlayerGame(level);
+    }
+
+    /**
+     * Simulates games and prints their outcomes.
+     *
+     * @param args The number of games to play and the seed of the first game,
+     *             by default a single game with seed 0.
+     */
+    public static void main(String[] args) {
+        ConfigurationLoader.load("src/main/resources/configuration.properties");
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+        long firstSeed = args.length > 1 ? Long.parseLong(args[1]) : 0;
+        Simulation simulation = new Simulation();
+        for (int i = 0; i < games; i++) {
+            System.out.println(simulation.withSeed(firstSeed + i).run());
+        }
+    }
+}
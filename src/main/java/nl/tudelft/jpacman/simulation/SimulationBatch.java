@@ -0,0 +1,245 @@
+package nl.tudelft.jpacman.simulation;
+
+import nl.tudelft.jpacman.ConfigurationLoader;
+import nl.tudelft.jpacman.strategies.PacManStrategy;
+import nl.tudelft.jpacman.strategies.PriorityToScoreStrategy;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays many independent games without a user interface, spread over all
+ * cores of the machine, to compare strategies. Every strategy plays every map
+ * with the same seeds, so the strategies face the same games.
+ * <p>
+ * The configuration must have been loaded before the batch is run.
+ */
+public class SimulationBatch {
+
+    /**
+     * The default number of games per strategy and map.
+     */
+    private static final int DEFAULT_GAMES = 100;
+
+    private final List<Class<? extends PacManStrategy>> strategies = new ArrayList<>();
+    private final List<String> maps = new ArrayList<>();
+    private int games = DEFAULT_GAMES;
+    private long firstSeed;
+    private long timeLimit = -1;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Add a strategy to compare. Without strategies, the
+     * {@link PriorityToScoreStrategy} plays.
+     *
+     * @param clazz The class of the strategy, which must not be the human one.
+     * @return This batch.
+     */
+    public SimulationBatch withStrategy(Class<? extends PacManStrategy> clazz) {
+        strategies.add(clazz);
+        return this;
+    }
+
+    /**
+     * Add the name of a resource containing a map to play. Without maps, the
+     * configured map is played.
+     *
+     * @param fileName Map to be used.
+     * @return This batch.
+     */
+    public SimulationBatch withMapFile(String fileName) {
+        maps.add(fileName);
+        return this;
+    }
+
+    /**
+     * Set the number of games each strategy plays on each map.
+     *
+     * @param count The number of games.
+     * @return This batch.
+     */
+    public SimulationBatch withGames(int count) {
+        assert count > 0;
+        this.games = count;
+        return this;
+    }
+
+    /**
+     * Set the seed of the first game; the following games are played with the
+     * following seeds.
+     *
+     * @param seed The seed of the first game.
+     * @return This batch.
+     */
+    public SimulationBatch withFirstSeed(long seed) {
+        this.firstSeed = seed;
+        return this;
+    }
+
+    /**
+     * Set the longest duration of a game, see
+     * {@link Simulation#withTimeLimit(long)}.
+     *
+     * @param limit The time limit on the virtual clock in milliseconds.
+     * @return This batch.
+     */
+    public SimulationBatch withTimeLimit(long limit) {
+        this.timeLimit = limit;
+        return this;
+    }
+
+    /**
+     * Set the number of games played at the same time, by default the number
+     * of processors.
+     *
+     * @param threads The number of threads playing games.
+     * @return This batch.
+     */
+    public SimulationBatch withParallelism(int threads) {
+        assert threads > 0;
+        this.parallelism = threads;
+        return this;
+    }
+
+    /**
+     * Plays all games of the batch.
+     *
+     * @return The outcome of the games of each strategy, in the order in
+     * which the strategies were added.
+     */
+    public Map<Class<? extends PacManStrategy>, BatchReport> run() {
+        List<Simulation> simulations = new ArrayList<>();
+        for (Class<? extends PacManStrategy> strategy : getStrategies()) {
+            for (String map : getMaps()) {
+                for (int i = 0; i < games; i++) {
+                    Simulation simulation = new Simulation()
+                        .withStrategy(strategy)
+                        .withSeed(firstSeed + i);
+                    if (map != null) {
+                        simulation.withMapFile(map);
+                    }
+                    if (timeLimit >= 0) {
+                        simulation.withTimeLimit(timeLimit);
+                    }
+                    simulations.add(simulation);
+                }
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.invoke(new Games(simulations, 0, simulations.size()));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * @return The strategies to compare.
+     */
+    private List<Class<? extends PacManStrategy>> getStrategies() {
+        if (strategies.isEmpty()) {
+            List<Class<? extends PacManStrategy>> defaults = new ArrayList<>();
+            defaults.add(PriorityToScoreStrategy.class);
+            return defaults;
+        }
+        return strategies;
+    }
+
+    /**
+     * @return The maps to play, where <code>null</code> stands for the
+     * configured map.
+     */
+    private List<String> getMaps() {
+        if (maps.isEmpty()) {
+            List<String> defaults = new ArrayList<>();
+            defaults.add(null);
+            return defaults;
+        }
+        return maps;
+    }
+
+    /**
+     * Plays a range of the games of the batch, splitting it in halves that
+     * are played in parallel until a single game is left.
+     */
+    private static final class Games extends RecursiveTask<Map<Class<? extends PacManStrategy>, BatchReport>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<Simulation> simulations;
+        private final int from;
+        private final int to;
+
+        /**
+         * Creates the task of a range of games.
+         *
+         * @param simulations All games of the batch.
+         * @param from        The index of the first game to play.
+         * @param to          The index after the last game to play.
+         */
+        Games(List<Simulation> simulations, int from, int to) {
+            this.simulations = simulations;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Map<Class<? extends PacManStrategy>, BatchReport> compute() {
+            if (to - from == 1) {
+                Simulation simulation = simulations.get(from);
+                BatchReport report = new BatchReport(simulation.getStrategy());
+                report.add(simulation.run());
+                Map<Class<? extends PacManStrategy>, BatchReport> reports = new LinkedHashMap<>();
+                reports.put(report.getStrategy(), report);
+                return reports;
+            }
+
+            int middle = (from + to) >>> 1;
+            Games second = new Games(simulations, middle, to);
+            second.fork();
+            Map<Class<? extends PacManStrategy>, BatchReport> reports =
+                new Games(simulations, from, middle).compute();
+            for (BatchReport report : second.join().values()) {
+                reports.merge(report.getStrategy(), report, (first, other) -> {
+                    first.merge(other);
+                    return first;
+                });
+            }
+            return reports;
+        }
+    }
+
+    /**
+     * Plays a batch of games and prints the outcome of each strategy.
+     *
+     * @param args The number of games per strategy, the seed of the first
+     *             game and the fully qualified class names of the strategies
+     *             to compare, by default 100 games from seed 0 by the
+     *             {@link PriorityToScoreStrategy}.
+     * @throws ClassNotFoundException If a strategy does not exist.
+     */
+    public static void main(String[] args) throws ClassNotFoundException {
+        ConfigurationLoader.load("src/main/resources/configuration.properties");
+        SimulationBatch batch = new SimulationBatch();
+        if (args.length > 0) {
+            batch.withGames(Integer.parseInt(args[0]));
+        }
+        if (args.length > 1) {
+            batch.withFirstSeed(Long.parseLong(args[1]));
+        }
+        for (int i = 2; i < args.length; i++) {
+            batch.withStrategy(Class.forName(args[i]).asSubclass(PacManStrategy.class));
+        }
+
+        long start = System.nanoTime();
+        for (BatchReport report : batch.run().values()) {
+            System.out.println(report);
+        }
+        System.out.printf("played in %.1fs%n", (System.nanoTime() - start) / 1e9);
+    }
+}
@@ -0,0 +1,143 @@
+package nl.tudelft.jpacman.simulation;
+
+import nl.tudelft.jpacman.metrics.LatencyHistogram;
+
+/**
+ * The outcome of a single simulated game.
+ */
+public final class SimulationResult {
+
+    /**
+     * The seed the game was played with.
+     */
+    private final long seed;
+
+    /**
+     * The score of the player at the end of the game.
+     */
+    private final int score;
+
+    /**
+     * The lives the player had left at the end of the game.
+     */
+    private final int remainingLives;
+
+    /**
+     * The simple pellets left on the board at the end of the game.
+     */
+    private final int remainingPellets;
+
+    /**
+     * The pellets of both kinds the player ate during the game.
+     */
+    private final int pelletsEaten;
+
+    /**
+     * The duration of the game on the virtual clock, in milliseconds.
+     */
+    private final long duration;
+
+    /**
+     * The wall clock time the strategy took to decide on each move.
+     */
+    private final LatencyHistogram decisions;
+
+    /**
+     * Creates the outcome of a game.
+     *
+     * @param seed             The seed the game was played with.
+     * @param score            The score of the player.
+     * @param remainingLives   The lives the player had left.
+     * @param remainingPellets The simple pellets left on the board.
+     * @param pelletsEaten     The pellets of both kinds the player ate.
+     * @param duration         The duration of the game in milliseconds.
+     * @param decisions        The durations of the decisions of the strategy.
+     */
+    public SimulationResult(long seed, int score, int remainingLives, int remainingPellets,
+                            int pelletsEaten, long duration, LatencyHistogram decisions) {
+        this.seed = seed;
+        this.score = score;
+        this.remainingLives = remainingLives;
+        this.remainingPellets = remainingPellets;
+        this.pelletsEaten = pelletsEaten;
+        this.duration = duration;
+        this.decisions = decisions;
+    }
+
+    /**
+     * @return The seed the game was played with.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return The score of the player at the end of the game.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * @return The lives the player had left at the end of the game.
+     */
+    public int getRemainingLives() {
+        return remainingLives;
+    }
+
+    /**
+     * @return The simple pellets left on the board at the end of the game.
+     */
+    public int getRemainingPellets() {
+        return remainingPellets;
+    }
+
+    /**
+     * @return The pellets of both kinds the player ate during the game.
+     */
+    public int getPelletsEaten() {
+        return pelletsEaten;
+    }
+
+    /**
+     * @return The duration of the game on the virtual clock, in milliseconds.
+     */
+    public long getDuration() {
+        return duration;
+    }
+
+    /**
+     * @return The wall clock time the strategy took to decide on each move.
+     *         Unlike the rest of the outcome, it differs between runs of the
+     *         same seed.
+     */
+    public LatencyHistogram getDecisions() {
+        return decisions;
+    }
+
+    /**
+     * @return <code>true</code> iff the player ate all pellets.
+     */
+    public boolean isWon() {
+        return remainingPellets == 0;
+    }
+
+    /**
+     * @return <code>true</code> iff the player ran out of lives.
+     */
+    public boolean isLost() {
+        return remainingLives <= 0;
+    }
+
+    @Override
+    public String toString() {
+        String outcome = "timeout";
+        if (isWon()) {
+            outcome = "won";
+        } else if (isLost()) {
+            outcome = "lost";
+        }
+        return "seed=" + seed + " " + outcome + " score=" + score + " lives=" + remainingLives
+            + " pellets=" + remainingPellets + " time=" + duration + "ms";
+    }
+}
@@ -0,0 +1,50 @@
+package nl.tudelft.jpacman.simulation;
+
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.metrics.LatencyHistogram;
+import nl.tudelft.jpacman.strategies.PacManStrategy;
+
+/**
+ * A strategy that measures how long another strategy takes to decide on each
+ * move.
+ */
+final class TimedStrategy extends PacManStrategy {
+
+    /**
+     * The strategy that decides on the moves.
+     */
+    private final PacManStrategy strategy;
+
+    /**
+     * The durations of the decisions.
+     */
+    private final LatencyHistogram decisions;
+
+    /**
+     * Creates a strategy that times another one.
+     *
+     * @param strategy  The strategy to time, which must not be the human one.
+     * @param decisions The histogram to record the decisions in.
+     */
+    TimedStrategy(PacManStrategy strategy, LatencyHistogram decisions) {
+        super(strategy.getGame());
+        this.strategy = strategy;
+        this.decisions = decisions;
+    }
+
+    /**
+     * @return The name of the strategy that decides on the moves.
+     */
+    @Override
+    public String getName() {
+        return strategy.getName();
+    }
+
+    @Override
+    public Direction nextMove() {
+        long start = System.nanoTime();
+        Direction direction = strategy.nextMove();
+        decisions.record(System.nanoTime() - start);
+        return direction;
+    }
+}
@@ -0,0 +1,19 @@
+package nl.tudelft.jpacman.sprite;
+
+/**
+ * Sprite Store for games that are never drawn, such as simulations. It hands
+ * out empty sprites instead of loading any images, so it needs neither the
+ * sprite resources nor a display.
+ */
+public class HeadlessSprites extends PacManSprites {
+
+    /**
+     * The sprite handed out for every resource.
+     */
+    private static final Sprite EMPTY = new EmptySprite();
+
+    @Override
+    public Sprite loadSprite(String resource) {
+        return EMPTY;
+    }
+}
@@ -0,0 +1,198 @@
+package nl.tudelft.jpacman.strategies;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Breadth first search over the squares of a {@link Board}, identifying
+ * squares by their index. Every thread has its own search with preallocated
+ * arrays that are reused by all searches on that thread, so a search does not
+ * allocate anything apart from its result.
+ */
+final class BreadthFirstSearch {
+
+    /**
+     * The directions in the order in which they are explored.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * The search of each thread.
+     */
+    private static final ThreadLocal<BreadthFirstSearch> SEARCHES =
+        ThreadLocal.withInitial(BreadthFirstSearch::new);
+
+    /**
+     * The board that is currently being searched.
+     */
+    private Board board;
+
+    /**
+     * The squares to visit, in order. Every square is queued at most once per
+     * search, so the queue never has to wrap around.
+     */
+    private int[] queue = new int[0];
+
+    /**
+     * The square from which each visited square was reached.
+     */
+    private int[] parents = new int[0];
+
+    /**
+     * The ordinal of the direction in which each visited square was reached.
+     */
+    private byte[] steps = new byte[0];
+
+    /**
+     * The search in which each square was last visited. Squares are marked
+     * with {@link #epoch}, so nothing needs to be cleared between searches.
+     */
+    private int[] visited = new int[0];
+
+    /**
+     * The number of the current search.
+     */
+    private int epoch;
+
+    /**
+     * Creates a search without a board.
+     */
+    private BreadthFirstSearch() {
+    }
+
+    /**
+     * Returns the search of the current thread, prepared for the given board.
+     *
+     * @param board The board to search.
+     * @return The search of the current thread.
+     */
+    static BreadthFirstSearch on(Board board) {
+        BreadthFirstSearch search = SEARCHES.get();
+        search.prepare(board);
+        return search;
+    }
+
+    /**
+     * Makes sure the arrays are large enough for the board.
+     *
+     * @param target The board to search.
+     */
+    private void prepare(Board target) {
+        this.board = target;
+        int size = target.getSize();
+        if (visited.length < size) {
+            queue = new int[size];
+            parents = new int[size];
+            steps = new byte[size];
+            visited = new int[size];
+            epoch = 0;
+        }
+    }
+
+    /**
+     * Starts a new search from the given square.
+     *
+     * @param from The index of the starting square.
+     * @return The number of squares in the queue, i.e. 1.
+     */
+    private int start(int from) {
+        epoch++;
+        if (epoch == Integer.MAX_VALUE) {
+            Arrays.fill(visited, 0);
+            epoch = 1;
+        }
+        visited[from] = epoch;
+        queue[0] = from;
+        return 1;
+    }
+
+    /**
+     * Calculates the shortest path, see
+     * {@link Navigation#shortestPath(Square, Square, Unit)}.
+     *
+     * @param from      The starting square, which is on the board.
+     * @param to        The destination, which differs from the start.
+     * @param traveller The traveller, or <code>null</code> to ignore terrain.
+     * @return The shortest path to the destination or <code>null</code> if no
+     * such path could be found.
+     */
+    List<Direction> shortestPath(Square from, Square to, Unit traveller) {
+        if (to.getBoard() != board) {
+            return null;
+        }
+        int target = to.getIndex();
+        int head = 0;
+        int tail = start(from.getIndex());
+        while (head < tail) {
+            int index = queue[head++];
+            if (index == target) {
+                return pathTo(from.getIndex(), target);
+            }
+            for (int d = 0; d < DIRECTIONS.length; d++) {
+                int next = board.getNeighbour(index, DIRECTIONS[d]);
+                if (next >= 0 && visited[next] != epoch
+                    && (traveller == null || board.squareAt(next).isAccessibleTo(traveller))) {
+                    visited[next] = epoch;
+                    parents[next] = index;
+                    steps[next] = (byte) d;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Follows the recorded parents back from a visited square.
+     *
+     * @param from The index of the starting square of the search.
+     * @param to   The index of a square visited by the search.
+     * @return The directions from the start to the square.
+     */
+    private List<Direction> pathTo(int from, int to) {
+        List<Direction> path = new ArrayList<>();
+        for (int index = to; index != from; index = parents[index]) {
+            path.add(DIRECTIONS[steps[index]]);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Finds the nearest unit of the given type regardless of terrain, see
+     * {@link Navigation#findNearest(Class, Square, Predicate)}.
+     *
+     * @param type   The type of unit to search for.
+     * @param from   The starting square, which is on the board.
+     * @param filter The condition the unit must satisfy.
+     * @param <T>    The type of unit to search for.
+     * @return The nearest matching unit, or <code>null</code> if there is none.
+     */
+    <T extends Unit> T findNearest(Class<T> type, Square from, Predicate<? super T> filter) {
+        int head = 0;
+        int tail = start(from.getIndex());
+        while (head < tail) {
+            int index = queue[head++];
+            T unit = Navigation.findUnit(type, board.squareAt(index), filter);
+            if (unit != null) {
+                return unit;
+            }
+            for (Direction direction : DIRECTIONS) {
+                int next = board.getNeighbour(index, direction);
+                if (next >= 0 && visited[next] != epoch) {
+                    visited[next] = epoch;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,148 @@
+package nl.tudelft.jpacman.strategies;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.DistanceTable;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.npc.Ghost;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The danger the ghosts pose to every square of a board at one moment: the
+ * number of steps the nearest ghost needs to get there. It is computed by a
+ * single breadth first search that starts from all ghosts at once, so the
+ * safety of any number of squares can be checked without a search per ghost.
+ * <p>
+ * Like the {@link DistanceTable}, accessibility is decided by the terrain
+ * alone. A map describes the positions of the ghosts when it was created and
+ * should be created again once they have moved.
+ */
+public final class DangerMap {
+
+    /**
+     * The arrival time of squares no ghost can reach.
+     */
+    public static final int NEVER = Integer.MAX_VALUE;
+
+    /**
+     * The directions in the order in which they are explored.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * The board the ghosts are on.
+     */
+    private final Board board;
+
+    /**
+     * The ghosts on the board.
+     */
+    private final List<Ghost> ghosts;
+
+    /**
+     * The number of steps the nearest ghost needs to get to every square (by
+     * index), or {@link #NEVER}.
+     */
+    private final int[] arrivals;
+
+    /**
+     * Computes the danger the ghosts pose to the squares of a board.
+     *
+     * @param board  The board the ghosts are on.
+     * @param ghosts The ghosts. Ghosts that are not on the board are ignored.
+     */
+    public DangerMap(Board board, Collection<Ghost> ghosts) {
+        this.board = board;
+        this.ghosts = new ArrayList<>(ghosts.size());
+        this.arrivals = new int[board.getSize()];
+        for (Ghost ghost : ghosts) {
+            if (ghost.hasSquare() && ghost.getSquare().getBoard() == board) {
+                this.ghosts.add(ghost);
+            }
+        }
+        fill();
+    }
+
+    /**
+     * Performs a breadth first search from the squares of all ghosts.
+     */
+    private void fill() {
+        Arrays.fill(arrivals, NEVER);
+        int[] queue = new int[arrivals.length];
+        int head = 0;
+        int tail = 0;
+        for (Ghost ghost : ghosts) {
+            int index = ghost.getSquare().getIndex();
+            if (arrivals[index] == NEVER) {
+                arrivals[index] = 0;
+                queue[tail++] = index;
+            }
+        }
+        while (head < tail) {
+            int index = queue[head++];
+            int next = arrivals[index] + 1;
+            for (Direction direction : DIRECTIONS) {
+                int neighbour = board.getNeighbour(index, direction);
+                if (neighbour >= 0 && arrivals[neighbour] == NEVER
+                    && board.isAccessible(neighbour)) {
+                    arrivals[neighbour] = next;
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of steps the nearest ghost needs to get to a square.
+     *
+     * @param square The square, which is on the board of this map.
+     * @return The number of steps of the nearest ghost, or {@link #NEVER} if
+     * no ghost can get there.
+     */
+    public int arrival(Square square) {
+        assert square.getBoard() == board;
+        return arrivals[square.getIndex()];
+    }
+
+    /**
+     * Determines whether a square can be reached before any ghost gets there.
+     *
+     * @param square The square to reach.
+     * @param steps  The number of steps needed to get there.
+     * @return <code>true</code> iff every ghost needs more steps.
+     */
+    public boolean isSafe(Square square, int steps) {
+        return arrival(square) > steps;
+    }
+
+    /**
+     * Returns the ghosts this map was computed for.
+     *
+     * @return The ghosts on the board.
+     */
+    public List<Ghost> getGhosts() {
+        return ghosts;
+    }
+
+    /**
+     * Returns the number of steps a single ghost needs to get to a square.
+     * Distances to the same square are shared between ghosts, see
+     * {@link Navigation#getDistance(Square, Square, nl.tudelft.jpacman.board.Unit)}.
+     *
+     * @param ghost  One of the ghosts of this map.
+     * @param square The square the ghost is heading for.
+     * @return The number of steps of the ghost, or {@link #NEVER} if it cannot
+     * get there.
+     */
+    public int arrival(Ghost ghost, Square square) {
+        int distance = Navigation.getDistance(ghost.getSquare(), square, ghost);
+        if (distance == DistanceTable.UNREACHABLE) {
+            return NEVER;
+        }
+        return distance;
+    }
+}
@@ -0,0 +1,542 @@
+package nl.tudelft.jpacman.strategies;
+
+import nl.tudelft.jpacman.ConfigurationLoader;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.game.Game;
+import nl.tudelft.jpacman.level.unit.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A strategy that plays the level forward many times from every decision with
+ * a Monte Carlo tree search, and takes the move that was explored most.
+ * <p>
+ * Every decision gets either a number of rollouts or a budget of time. With a
+ * number of rollouts, the search runs while the move is decided, and the same
+ * seed always gives the same moves, as simulations need. With a budget of
+ * time, the search for the next decision runs in the background while the
+ * player makes its current move, which takes longer than the budget, so the
+ * thread running the game does not wait for it. When the player did not end
+ * up where the search expected, it keeps going in its direction instead.
+ * <p>
+ * The search runs on a snapshot of the level, see {@link RolloutState}.
+ * Every thread grows a tree of its own and their visits of the first moves
+ * are added up, so more cores give more rollouts per decision without any
+ * sharing during the search. The threads are tasks of the fork/join pool the
+ * strategy runs in, or of the common pool.
+ */
+public final class MonteCarloStrategy extends PacManStrategy {
+    public static String TITLE = "AI - Monte Carlo tree search";
+
+    /**
+     * The default time budget per decision in milliseconds.
+     */
+    private static final int TIME_BUDGET = Integer.parseInt(
+        ConfigurationLoader.getProperty("strategy.montecarlo.time.budget"));
+
+    /**
+     * The default number of rollouts per decision, where 0 means the time
+     * budget applies instead.
+     */
+    private static final int ITERATIONS = Integer.parseInt(
+        ConfigurationLoader.getProperty("strategy.montecarlo.iterations"));
+
+    /**
+     * The default number of threads searching, where 0 means one per
+     * processor.
+     */
+    private static final int THREADS = Integer.parseInt(
+        ConfigurationLoader.getProperty("strategy.montecarlo.threads"));
+
+    /**
+     * The directions, by ordinal.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * The deepest the tree grows, in moves of the player.
+     */
+    private static final int TREE_DEPTH = 20;
+
+    /**
+     * The number of moves of the player a rollout plays, including the moves
+     * in the tree.
+     */
+    private static final int HORIZON = 40;
+
+    /**
+     * The weight of exploration against the mean reward of a move.
+     */
+    private static final double EXPLORATION = 0.7;
+
+    /**
+     * The points at which a rollout in which the player survives is halfway
+     * between surviving without points and winning.
+     */
+    private static final double SCORE_SCALE = 100;
+
+    /**
+     * The highest reward of a rollout in which the player dies, for dying at
+     * the end of the horizon.
+     */
+    private static final double DEATH_REWARD = 0.2;
+
+    /**
+     * The player to decide the moves of.
+     */
+    private final Player player;
+
+    /**
+     * The time budget per decision in nanoseconds.
+     */
+    private final long budget;
+
+    /**
+     * The number of rollouts per decision, or 0 if the time budget applies.
+     */
+    private final long iterations;
+
+    /**
+     * The number of threads searching.
+     */
+    private final int threads;
+
+    /**
+     * The source of the seeds of the searches.
+     */
+    private final SplittableRandom random;
+
+    /**
+     * The number of rollouts played in all decisions.
+     */
+    private final AtomicLong rollouts = new AtomicLong();
+
+    /**
+     * The time spent searching in all decisions, in nanoseconds.
+     */
+    private final AtomicLong searchTime = new AtomicLong();
+
+    /**
+     * The search for the next decision running in the background, or
+     * <code>null</code> if there is none.
+     */
+    private Plan plan;
+
+    /**
+     * Create the Monte Carlo tree search strategy for the player, with the
+     * configured budget and threads.
+     *
+     * @param game   the current game.
+     * @param player the player who has this strategy.
+     */
+    public MonteCarloStrategy(Game game, Player player) {
+        this(game, player, TIME_BUDGET, ITERATIONS, THREADS);
+    }
+
+    /**
+     * Create the Monte Carlo tree search strategy for the player.
+     *
+     * @param game       the current game.
+     * @param player     the player who has this strategy.
+     * @param budget     the time budget per decision in milliseconds, used
+     *                   when no number of rollouts is given.
+     * @param iterations the number of rollouts per decision, or 0 to search
+     *                   in the background for the time budget.
+     * @param threads    the number of threads searching, or 0 for one per
+     *                   processor.
+     */
+    public MonteCarloStrategy(Game game, Player player, long budget, long iterations, int threads) {
+        super(game);
+        assert budget >= 0 && iterations >= 0 && threads >= 0;
+        this.player = player;
+        this.budget = TimeUnit.MILLISECONDS.toNanos(budget);
+        this.iterations = iterations;
+        if (threads == 0) {
+            this.threads = Runtime.getRuntime().availableProcessors();
+        } else {
+            this.threads = threads;
+        }
+        this.random = new SplittableRandom(game.getLevel().getRandom().nextLong());
+    }
+
+    @Override
+    public Direction nextMove() {
+        List<Direction> possibleDirections = PacManAI.getPossibleDirections(player);
+        assert !possibleDirections.isEmpty();
+
+        if (iterations > 0) {
+            if (possibleDirections.size() == 1) {
+                return possibleDirections.get(0);
+            }
+            RolloutState root = RolloutState.of(getGame().getLevel(), player);
+            return best(search(root, -1, Long.MAX_VALUE, iterations), possibleDirections);
+        }
+
+        RolloutState root = RolloutState.of(getGame().getLevel(), player);
+        Direction next = null;
+        if (plan != null) {
+            Search search = plan.finish(root.getPlayerSquare());
+            if (search != null) {
+                next = best(search, possibleDirections);
+            }
+            plan = null;
+        }
+        if (next == null) {
+            next = possibleDirections.contains(player.getDirection())
+                ? player.getDirection() : possibleDirections.get(0);
+        }
+
+        int square = root.getPlayerNeighbour(next.ordinal());
+        if (square >= 0) {
+            plan = new Plan(square, fork(root, next.ordinal(), System.nanoTime() + budget, Long.MAX_VALUE));
+        }
+        return next;
+    }
+
+    /**
+     * Searches a state on the calling thread and the helper threads and
+     * waits for the outcome.
+     *
+     * @param root     The state to search from.
+     * @param lead     The ordinal of the direction of the move the player
+     *                 makes first in every rollout, or <code>-1</code>.
+     * @param deadline The value of {@link System#nanoTime()} at which to stop.
+     * @param limit    The number of rollouts to play over all threads.
+     * @return The outcome of all threads together.
+     */
+    private Search search(RolloutState root, int lead, long deadline, long limit) {
+        List<ForkJoinTask<Search>> helpers = fork(root, lead, deadline, limit / threads);
+        Search search = new Search(root, previous(lead), lead, deadline,
+            limit - limit / threads * (threads - 1), random.split()).call();
+        for (ForkJoinTask<Search> helper : helpers) {
+            search.add(helper.join());
+        }
+        return search;
+    }
+
+    /**
+     * Starts the searches of a state, one per thread besides the calling
+     * one, or one per thread if the calling thread does not search. They run
+     * in the fork/join pool of the calling thread, or in the common pool.
+     *
+     * @param root     The state to search from.
+     * @param lead     The ordinal of the direction of the move the player
+     *                 makes first in every rollout, or <code>-1</code>.
+     * @param deadline The value of {@link System#nanoTime()} at which to stop.
+     * @param limit    The number of rollouts each search plays at most.
+     * @return The searches.
+     */
+    private List<ForkJoinTask<Search>> fork(RolloutState root, int lead, long deadline, long limit) {
+        int count = limit == Long.MAX_VALUE ? threads : threads - 1;
+        List<ForkJoinTask<Search>> searches = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            searches.add(ForkJoinTask.adapt(
+                new Search(root, previous(lead), lead, deadline, Math.max(limit, 1), random.split())).fork());
+        }
+        return searches;
+    }
+
+    /**
+     * @param lead The ordinal of the direction of the first move of the
+     *             rollouts, or <code>-1</code>.
+     * @return The ordinal of the direction the player has when the tree of
+     * a search starts.
+     */
+    private int previous(int lead) {
+        if (lead >= 0) {
+            return lead;
+        }
+        return player.getDirection().ordinal();
+    }
+
+    /**
+     * Takes the move that was explored most.
+     *
+     * @param search             The outcome of the search.
+     * @param possibleDirections The moves the player can make.
+     * @return The move.
+     */
+    private Direction best(Search search, List<Direction> possibleDirections) {
+        rollouts.addAndGet(search.iterations);
+        searchTime.addAndGet(search.time);
+
+        Direction best = possibleDirections.get(0);
+        for (Direction direction : possibleDirections) {
+            if (search.visits[direction.ordinal()] > search.visits[best.ordinal()]) {
+                best = direction;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @return The number of rollouts played in all decisions so far.
+     */
+    public long getRollouts() {
+        return rollouts.get();
+    }
+
+    /**
+     * @return The number of rollouts played per second of searching, over all
+     * threads, or 0 if no decision needed a search yet.
+     */
+    public double getRolloutsPerSecond() {
+        long nanos = searchTime.get();
+        if (nanos == 0) {
+            return 0;
+        }
+        return rollouts.get() * (double) TimeUnit.SECONDS.toNanos(1) / nanos;
+    }
+
+    /**
+     * The search for the decision the player makes after its current move.
+     */
+    private static final class Plan {
+
+        /**
+         * The square the player is expected to reach.
+         */
+        private final int square;
+
+        private final List<ForkJoinTask<Search>> searches;
+
+        /**
+         * Creates the plan of a search.
+         *
+         * @param square   The square the player is expected to reach.
+         * @param searches The searches running.
+         */
+        Plan(int square, List<ForkJoinTask<Search>> searches) {
+            this.square = square;
+            this.searches = searches;
+        }
+
+        /**
+         * Adds up the outcome of the searches, if they searched from the
+         * square the player is on, waiting for those that are not done yet.
+         * Otherwise the searches that did not start yet are cancelled, and
+         * the others end at their deadline.
+         *
+         * @param actual The square the player is on.
+         * @return The outcome of the searches, or <code>null</code> if it
+         * cannot be used.
+         */
+        Search finish(int actual) {
+            if (actual != square) {
+                for (ForkJoinTask<Search> search : searches) {
+                    search.cancel(false);
+                }
+                return null;
+            }
+            Search total = searches.get(0).join();
+            for (int i = 1; i < searches.size(); i++) {
+                total.add(searches.get(i).join());
+            }
+            return total;
+        }
+    }
+
+    /**
+     * The statistics of the moves that were tried from a state.
+     */
+    private static final class Node {
+
+        /**
+         * The moves tried, by the ordinal of their direction, or
+         * <code>null</code> for moves not tried yet.
+         */
+        private final Node[] children = new Node[DIRECTIONS.length];
+
+        /**
+         * The number of rollouts through this node.
+         */
+        private int visits;
+
+        /**
+         * The sum of the rewards of the rollouts through this node.
+         */
+        private double reward;
+    }
+
+    /**
+     * The search of a single thread, which grows a tree of its own until the
+     * deadline or the number of rollouts is reached.
+     */
+    private static final class Search implements Callable<Search> {
+
+        private final RolloutState root;
+        private final int previous;
+        private final int lead;
+        private final long deadline;
+        private final long limit;
+        private final SplittableRandom random;
+
+        /**
+         * The number of rollouts through each first move, by the ordinal of
+         * its direction.
+         */
+        private final long[] visits = new long[DIRECTIONS.length];
+
+        /**
+         * The number of rollouts played.
+         */
+        private long iterations;
+
+        /**
+         * The time the search took, in nanoseconds. For searches added up,
+         * the time of the longest one.
+         */
+        private long time;
+
+        /**
+         * Creates a search.
+         *
+         * @param root     The state to search from, which is not modified.
+         * @param previous The ordinal of the direction of the player.
+         * @param lead     The ordinal of the direction of the move the player
+         *                 makes before the tree starts, or <code>-1</code>.
+         * @param deadline The value of {@link System#nanoTime()} at which to
+         *                 stop.
+         * @param limit    The number of rollouts at which to stop.
+         * @param random   The source of the moves in the rollouts.
+         */
+        Search(RolloutState root, int previous, int lead, long deadline, long limit, SplittableRandom random) {
+            this.root = root;
+            this.previous = previous;
+            this.lead = lead;
+            this.deadline = deadline;
+            this.limit = limit;
+            this.random = random;
+        }
+
+        /**
+         * Adds the rollouts of another search from the same state.
+         *
+         * @param other The other search.
+         */
+        void add(Search other) {
+            for (int d = 0; d < visits.length; d++) {
+                visits[d] += other.visits[d];
+            }
+            iterations += other.iterations;
+            time = Math.max(time, other.time);
+        }
+
+        @Override
+        public Search call() {
+            long start = System.nanoTime();
+            Node tree = new Node();
+            Node[] path = new Node[TREE_DEPTH + 1];
+            RolloutState state = root.copy();
+            do {
+                state.copyFrom(root);
+                if (lead >= 0) {
+                    state.step(lead, random);
+                }
+                path[0] = tree;
+                Node node = tree;
+                int depth = 0;
+                int direction = previous;
+                while (!state.isOver() && depth < TREE_DEPTH) {
+                    direction = select(node, state);
+                    boolean expanded = node.children[direction] == null;
+                    if (expanded) {
+                        node.children[direction] = new Node();
+                    }
+                    node = node.children[direction];
+                    state.step(direction, random);
+                    path[++depth] = node;
+                    if (expanded) {
+                        break;
+                    }
+                }
+
+                int steps = lead >= 0 ? depth + 1 : depth;
+                while (!state.isOver() && steps < HORIZON) {
+                    direction = state.randomStep(direction, random);
+                    steps++;
+                }
+
+                double reward = reward(state, steps);
+                for (int i = 0; i <= depth; i++) {
+                    path[i].visits++;
+                    path[i].reward += reward;
+                }
+                iterations++;
+            } while (iterations < limit && System.nanoTime() < deadline);
+
+            for (int d = 0; d < visits.length; d++) {
+                if (tree.children[d] != null) {
+                    visits[d] = tree.children[d].visits;
+                }
+            }
+            time = System.nanoTime() - start;
+            return this;
+        }
+
+        /**
+         * Selects the move to follow from a node: a random move that was not
+         * tried yet, or else the move with the best upper confidence bound.
+         *
+         * @param node  The node.
+         * @param state The state of the node.
+         * @return The ordinal of the direction of the move.
+         */
+        private int select(Node node, RolloutState state) {
+            int untried = -1;
+            int options = 0;
+            int best = -1;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            double logVisits = Math.log(node.visits);
+            for (int d = 0; d < DIRECTIONS.length; d++) {
+                if (!state.canMove(d)) {
+                    continue;
+                }
+                Node child = node.children[d];
+                if (child == null) {
+                    options++;
+                    if (random.nextInt(options) == 0) {
+                        untried = d;
+                    }
+                } else if (untried < 0) {
+                    double value = child.reward / child.visits
+                        + EXPLORATION * Math.sqrt(logVisits / child.visits);
+                    if (value > bestValue) {
+                        bestValue = value;
+                        best = d;
+                    }
+                }
+            }
+            if (untried >= 0) {
+                return untried;
+            }
+            return best;
+        }
+
+        /**
+         * Rates the outcome of a rollout between 0 and 1: dying is worse the
+         * sooner it happens, surviving is better the more points it brings
+         * and winning is best.
+         *
+         * @param state The state at the end of the rollout.
+         * @param steps The number of moves the player made.
+         * @return The reward of the rollout.
+         */
+        private static double reward(RolloutState state, int steps) {
+            if (state.isWon()) {
+                return 1;
+            }
+            if (state.isDead()) {
+                return DEATH_REWARD * steps / HORIZON;
+            }
+            double score = state.getScore();
+            return 0.5 + 0.5 * score / (score + SCORE_SCALE);
+        }
+    }
+}
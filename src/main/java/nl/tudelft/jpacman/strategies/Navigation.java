@@ -2,10 +2,15 @@ package nl.tudelft.jpacman.strategies;
 
 import nl.tudelft.jpacman.board.Board;
 import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.DistanceField;
+import nl.tudelft.jpacman.board.DistanceTable;
 import nl.tudelft.jpacman.board.Square;
 import nl.tudelft.jpacman.board.Unit;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
 
 /**
  * Navigation provides utility to navigate on {@link Square}s.
@@ -18,10 +23,13 @@ public final class Navigation {
     }
 
     /**
-     * Calculates the shortest path. This is done by BFS. This search ensures
-     * the traveller is allowed to occupy the squares on the way, or returns the
-     * shortest path to the square regardless of terrain if no traveller is
-     * specified.
+     * Calculates the shortest path. This search ensures the traveller is
+     * allowed to occupy the squares on the way, or returns the shortest path
+     * to the square regardless of terrain if no traveller is specified.
+     * Travellers are answered from the {@link DistanceTable} of the board when
+     * it has one, other searches are done by BFS.
+     * <p>
+     * Precondition: the squares are on a {@link Board}.
      *
      * @param from      The starting square.
      * @param to        The destination.
@@ -38,31 +46,24 @@ public final class Navigation {
             return new ArrayList<>();
         }
 
-        List<Node> targets = new ArrayList<>();
-        Set<Square> visited = new HashSet<>();
-        targets.add(new Node(null, from, null));
-        while (!targets.isEmpty()) {
-            Node node = targets.remove(0);
-            Square square = node.getSquare();
-            if (square.equals(to)) {
-                return node.getPath();
+        DistanceTable table = getDistanceTable(from, traveller);
+        if (table != null) {
+            if (!table.contains(to)) {
+                return null;
             }
-            visited.add(square);
-            addNewTargets(traveller, targets, visited, node, square);
+            return table.path(from, to);
         }
-        return null;
-    }
 
-    private static void addNewTargets(Unit traveller, List<Node> targets, Set<Square> visited, Node node, Square square) {
-        for (Direction direction : Direction.values()) {
-            Square target = square.getSquareAt(direction);
-            if (!visited.contains(target) && (traveller == null || target.isAccessibleTo(traveller))) {
-                targets.add(new Node(direction, target, node));
-            }
-        }
+        Board board = from.getBoard();
+        assert board != null : "Squares are searched through their board.";
+        return BreadthFirstSearch.on(board).shortestPath(from, to, traveller);
     }
 
     /**
+     * Determines the first step towards a destination. Travellers are answered
+     * from the {@link DistanceTable} of the board when it has one, or else
+     * from the {@link DistanceField} of the destination, which is shared by
+     * all travellers heading there.
      *
      * @param from The starting square.
      * @param to The destination.
@@ -73,6 +74,19 @@ public final class Navigation {
      * @return The next direction to take to get to the destination
      */
     public static Optional<Direction> getNextDirection(Square from, Square to, Unit traveller) {
+        DistanceTable table = getDistanceTable(from, traveller);
+        if (table != null) {
+            if (!table.contains(to)) {
+                return Optional.empty();
+            }
+            return Optional.ofNullable(table.firstStep(from, to));
+        }
+
+        DistanceField field = getDistanceField(from, to, traveller);
+        if (field != null) {
+            return Optional.ofNullable(field.nextStep(from));
+        }
+
         List<Direction> path = shortestPath(from, to, traveller);
         if (path != null && !path.isEmpty()) {
             return Optional.ofNullable(path.get(0));
@@ -80,6 +94,79 @@ public final class Navigation {
         return Optional.empty();
     }
 
+    /**
+     * Returns the length of the shortest path between two squares, answered
+     * like {@link #getNextDirection(Square, Square, Unit)}.
+     *
+     * @param from      The starting square.
+     * @param to        The destination.
+     * @param traveller The traveller attempting to reach the destination, or
+     *                  <code>null</code> to ignore terrain.
+     * @return The number of steps to the destination, or
+     * {@link DistanceTable#UNREACHABLE} if it cannot be reached.
+     */
+    public static int getDistance(Square from, Square to, Unit traveller) {
+        DistanceTable table = getDistanceTable(from, traveller);
+        if (table != null) {
+            if (!table.contains(to)) {
+                return DistanceTable.UNREACHABLE;
+            }
+            return table.distance(from, to);
+        }
+
+        DistanceField field = getDistanceField(from, to, traveller);
+        if (field != null) {
+            return field.distance(from);
+        }
+
+        List<Direction> path = shortestPath(from, to, traveller);
+        if (path == null) {
+            return DistanceTable.UNREACHABLE;
+        }
+        return path.size();
+    }
+
+    /**
+     * Returns the distance field that can answer a search between the given
+     * squares, if any. Like tables, fields only cover searches that respect
+     * terrain.
+     *
+     * @param from      The starting square of the search.
+     * @param to        The destination of the search.
+     * @param traveller The traveller of the search, may be <code>null</code>.
+     * @return The distance field of <code>to</code>, or <code>null</code> if
+     * the search has to be done by BFS.
+     */
+    private static DistanceField getDistanceField(Square from, Square to, Unit traveller) {
+        Board board = to.getBoard();
+        if (traveller == null || board == null || from.getBoard() != board) {
+            return null;
+        }
+        return board.getDistanceField(to);
+    }
+
+    /**
+     * Returns the distance table that can answer a search from the given
+     * square, if any. Tables only cover searches that respect terrain, so
+     * searches without a traveller are never answered from a table.
+     *
+     * @param from      The starting square of the search.
+     * @param traveller The traveller of the search, may be <code>null</code>.
+     * @return The distance table of the board <code>from</code> is on, or
+     * <code>null</code> if the search has to be done by BFS.
+     */
+    private static DistanceTable getDistanceTable(Square from, Unit traveller) {
+        Board board = from.getBoard();
+        if (traveller == null || board == null) {
+            return null;
+        }
+        DistanceTable table = board.getDistanceTable();
+        if (table == null || !table.contains(from)) {
+            return null;
+        }
+        return table;
+    }
+
     /**
      * Finds the nearest unit of the given type and returns its location. This
      * method will perform a breadth first search starting from the given
@@ -91,27 +178,43 @@ public final class Navigation {
      * such unit could be found.
      */
     public static Unit findNearest(Class<? extends Unit> type, Square currentLocation) {
-        List<Square> toDo = new ArrayList<>();
-        Set<Square> visited = new HashSet<>();
-
-        toDo.add(currentLocation);
+        return findNearest(type, currentLocation, unit -> true);
+    }
 
-        while (!toDo.isEmpty()) {
-            Square square = toDo.remove(0);
-            Unit unit = findUnit(type, square);
-            if (unit != null) {
-                assert unit.hasSquare();
-                return unit;
-            }
-            visited.add(square);
-            for (Direction direction : Direction.values()) {
-                Square newTarget = square.getSquareAt(direction);
-                if (!visited.contains(newTarget) && !toDo.contains(newTarget)) {
-                    toDo.add(newTarget);
-                }
+    /**
+     * Finds the nearest unit of the given type that satisfies a condition.
+     * The candidates are looked up on the board first, so no search is needed
+     * when there are none or only one of them. Otherwise this method will
+     * perform a breadth first search starting from the given square,
+     * regardless of terrain.
+     * <p>
+     * Precondition: the square is on a {@link Board}.
+     *
+     * @param type            The type of unit to search for.
+     * @param currentLocation The starting location for the search.
+     * @param filter          The condition the unit must satisfy.
+     * @param <T>             The type of unit to search for.
+     * @return The nearest unit of the given type satisfying the condition, or
+     * <code>null</code> if no such unit could be found.
+     */
+    public static <T extends Unit> T findNearest(Class<T> type, Square currentLocation,
+                                                 Predicate<? super T> filter) {
+        Board board = currentLocation.getBoard();
+        assert board != null : "Squares are searched through their board.";
+        T candidate = null;
+        int candidates = 0;
+        for (T unit : board.getUnits(type)) {
+            if (filter.test(unit)) {
+                candidate = unit;
+                candidates++;
             }
         }
-        return null;
+        if (candidates <= 1) {
+            return candidate;
+        }
+        T unit = BreadthFirstSearch.on(board).findNearest(type, currentLocation, filter);
+        assert unit == null || unit.hasSquare();
+        return unit;
     }
 
     /**
@@ -121,19 +224,16 @@ public final class Navigation {
      * @param clazz the type to search for.
      * @param board the board to find the unit in.
      * @param <T>   the return type, same as the type in clazz.
-     * @return the first unit found of type clazz, or null.
+     * @return the first unit of type clazz in row-major order, or null.
      */
     public static <T extends Unit> T findUnitInBoard(Class<T> clazz, Board board) {
-        for (int y = 0; y < board.getHeight(); y++) {
-            for (int x = 0; x < board.getWidth(); x++) {
-                final T ghost = Navigation.findUnit(clazz, board.squareAt(x, y));
-                if (ghost != null) {
-                    return ghost;
-                }
+        T first = null;
+        for (T unit : board.getUnits(clazz)) {
+            if (first == null || unit.getSquare().getIndex() < first.getSquare().getIndex()) {
+                first = unit;
             }
         }
-
-        return null;
+        return first;
     }
 
     /**
@@ -145,12 +245,31 @@ public final class Navigation {
      * @return A unit of type T, iff such a unit occupies this square, or
      * <code>null</code> of none does.
      */
-    @SuppressWarnings("unchecked")
     public static <T extends Unit> T findUnit(Class<T> type, Square square) {
-        for (Unit unit : square.getOccupants()) {
+        return findUnit(type, square, unit -> true);
+    }
+
+    /**
+     * Determines whether a square has an occupant of a certain type that
+     * satisfies a condition.
+     *
+     * @param type   The type to search for.
+     * @param square The square to search.
+     * @param filter The condition the unit must satisfy.
+     * @param <T>    the type of unit we searched for.
+     * @return A unit of type T satisfying the condition, iff such a unit
+     * occupies this square, or <code>null</code> of none does.
+     */
+    static <T extends Unit> T findUnit(Class<T> type, Square square, Predicate<? super T> filter) {
+        List<Unit> occupants = square.getOccupants();
+        for (int i = 0; i < occupants.size(); i++) {
+            Unit unit = occupants.get(i);
             if (type.isInstance(unit)) {
-                assert unit.hasSquare();
-                return (T) unit;
+                T candidate = type.cast(unit);
+                if (filter.test(candidate)) {
+                    assert unit.hasSquare();
+                    return candidate;
+                }
             }
         }
         return null;
@@ -9,6 +9,7 @@ import nl.tudelft.jpacman.level.unit.Player;
 import nl.tudelft.jpacman.npc.Ghost;
 
 import java.util.*;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
 
 public final class PacManAI {
@@ -27,29 +28,14 @@ public final class PacManAI {
             || currentSquare.getSquareAt(direction.getOppositeClockwise()).isAccessibleTo(player);
     }
 
+    /**
+     * Finds the nearest ghost that is alive, regardless of terrain.
+     *
+     * @param currentLocation the square to start searching from
+     * @return the nearest living ghost, or null if there is none
+     */
     public static Ghost findNearestGhost(Square currentLocation) {
-        List<Square> toDo = new ArrayList<>();
-        Set<Square> visited = new HashSet<>();
-
-        toDo.add(currentLocation);
-
-        while (!toDo.isEmpty()) {
-            Square square = toDo.remove(0);
-            Ghost ghost = Navigation.findUnit(Ghost.class, square);
-            if (ghost != null && ghost.isAlive()) {
-                assert ghost.hasSquare();
-                return ghost;
-            }
-            visited.add(square);
-            for (Direction direction : Direction.values()) {
-                Square newTarget = square.getSquareAt(direction);
-                if (!visited.contains(newTarget) && !toDo.contains(newTarget)) {
-                    toDo.add(newTarget);
-                }
-            }
-        }
-
-        return null;
+        return Navigation.findNearest(Ghost.class, currentLocation, Ghost::isAlive);
     }
 
     /**
@@ -64,7 +50,7 @@ public final class PacManAI {
             .map(direction -> findNextIntersection(player, player.getSquare().getSquareAt(direction), direction))
             .collect(Collectors.toList());
 
-        Map<Square, List<Direction>> pathToIntersections = new HashMap<>(listNextIntersections.size());
+        Map<Square, List<Direction>> pathToIntersections = new LinkedHashMap<>(listNextIntersections.size());
 
         for (Square square : listNextIntersections) {
             List<Direction> directions = Navigation.shortestPath(player.getSquare(), square, player);
@@ -108,7 +94,7 @@ public final class PacManAI {
 
         return possiblePaths.entrySet().parallelStream()
             .filter(set -> noGhostInPath(from, set.getValue(), ghostSquares))
-            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+            .collect(toOrderedMap());
     }
 
     /**
@@ -148,6 +134,9 @@ public final class PacManAI {
 
         assert ghost.hasSquare();
         List<Direction> nearestGhost = Navigation.shortestPath(ghost.getSquare(), currentSquare, ghost);
+        if (nearestGhost == null || nearestGhost.isEmpty()) {
+            return possibleDirections.get(0);
+        }
 
         Direction ghostDirection = nearestGhost.get(0).getOpposite();
 
@@ -237,7 +226,7 @@ public final class PacManAI {
 
             for (Direction d : path) {
                 square = square.getSquareAt(d);
-                if (square.getOccupants().stream().anyMatch(unit -> unit instanceof Pellet)) {
+                if (square.hasOccupant(Pellet.class)) {
                     nbPellets += 1;
                 }
             }
@@ -260,35 +249,40 @@ public final class PacManAI {
     }
 
     /**
-     * Get all safe paths.
+     * Get all safe paths, i.e. the paths to destinations that every ghost
+     * needs more steps to reach than the player.
      *
-     * @param ghosts the list of ghosts.
+     * @param danger the danger the ghosts pose to the squares of the board.
      * @param possiblePaths the list of possible paths.
      * @return A map with destination square as key and the path to reach this destination.
      */
-    public static Map<Square, List<Direction>> getSafePaths(Set<Ghost> ghosts, Map<Square, List<Direction>> possiblePaths) {
-        return possiblePaths.entrySet().parallelStream()
-            .filter(setPath -> {
-                long size = ghosts.stream()
-                    .map(ghost -> Navigation.shortestPath(ghost.getSquare(), setPath.getKey(), ghost))
-                    .filter(directions -> directions != null && directions.size() <= setPath.getValue().size())
-                    .count();
-                return size == 0;
-            })
-            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    public static Map<Square, List<Direction>> getSafePaths(DangerMap danger, Map<Square, List<Direction>> possiblePaths) {
+        return possiblePaths.entrySet().stream()
+            .filter(setPath -> danger.isSafe(setPath.getKey(), setPath.getValue().size()))
+            .collect(toOrderedMap());
+    }
+
+    /**
+     * Collects paths into a map that keeps the order of the paths, so that
+     * choices between equally good paths do not depend on hash codes.
+     *
+     * @return The collector of the paths.
+     */
+    private static Collector<Map.Entry<Square, List<Direction>>, ?, Map<Square, List<Direction>>> toOrderedMap() {
+        return Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (first, second) -> first, LinkedHashMap::new);
     }
 
     /**
      * Get the worth paths.
      *
      * @param from the departure square.
-     * @param ghosts the list of ghosts
+     * @param danger the danger the ghosts pose to the squares of the board.
      * @param dangerousPaths the list of paths considered as dangerous.
      * @return List of paths that the player can take the risk to go.
      */
-    public static List<List<Direction>> getWorthPaths(Square from, Set<Ghost> ghosts, Map<Square, List<Direction>> dangerousPaths) {
+    public static List<List<Direction>> getWorthPaths(Square from, DangerMap danger, Map<Square, List<Direction>> dangerousPaths) {
         List<List<Direction>> worthPaths = new ArrayList<>(dangerousPaths.size());
-        Map<Ghost, Integer> ghostSquareAndDistanceToPacman = calculateDistancesByGhost(ghosts, from);
+        Map<Ghost, Integer> ghostSquareAndDistanceToPacman = calculateDistancesByGhost(danger, from);
 
         for (Map.Entry<Square, List<Direction>> playerEntry : dangerousPaths.entrySet()) {
             boolean canTakeThisPath = true;
@@ -299,9 +293,7 @@ public final class PacManAI {
                 Ghost g = ghostEntry.getKey();
                 int distanceToPacman = ghostEntry.getValue();
 
-                List<Direction> ghostPathToDestination = Navigation.shortestPath(g.getSquare(), destination, g);
-                assert ghostPathToDestination != null;
-                int ghostDistanceToDestination = ghostPathToDestination.size();
+                int ghostDistanceToDestination = danger.arrival(g, destination);
                 if (!(distanceToPacman < ghostDistanceToDestination || pacmanToDestination.size() < ghostDistanceToDestination)) {
                     canTakeThisPath = false;
                     break;
@@ -319,17 +311,15 @@ public final class PacManAI {
     /**
      * Compute the distance from player to each ghost.
      *
-     * @param ghosts the list of ghosts.
+     * @param danger the danger the ghosts pose to the squares of the board.
      * @param from the current position of the player.
      * @return the Map containing the ghost as key and the distance from the player and this ghost.
      */
-    private static Map<Ghost, Integer> calculateDistancesByGhost(Set<Ghost> ghosts, Square from) {
-        Map<Ghost, Integer> ghostSquareAndDistanceToPacman = new HashMap<>(ghosts.size());
+    private static Map<Ghost, Integer> calculateDistancesByGhost(DangerMap danger, Square from) {
+        Map<Ghost, Integer> ghostSquareAndDistanceToPacman = new LinkedHashMap<>(danger.getGhosts().size());
 
-        for (Ghost g : ghosts) {
-            List<Direction> directions = Navigation.shortestPath(g.getSquare(), from, g);
-            assert directions != null;
-            ghostSquareAndDistanceToPacman.put(g, directions.size());
+        for (Ghost g : danger.getGhosts()) {
+            ghostSquareAndDistanceToPacman.put(g, danger.arrival(g, from));
         }
 
         return ghostSquareAndDistanceToPacman;
@@ -347,7 +337,7 @@ public final class PacManAI {
 
         for (Direction d : path) {
             square = square.getSquareAt(d);
-            if (square.getOccupants().stream().anyMatch(unit -> unit instanceof Pellet)) {
+            if (square.hasOccupant(Pellet.class)) {
                 return true;
             }
         }
@@ -27,6 +27,21 @@ public abstract class PacManStrategy {
         return game;
     }
 
+    /**
+     * Return the name of the strategy, under which its decisions are measured.
+     * It is the simple name of its class, or of the closest named super class
+     * for anonymous strategies.
+     *
+     * @return The name of the strategy.
+     */
+    public String getName() {
+        Class<?> type = getClass();
+        while (type.isAnonymousClass() || type.isSynthetic()) {
+            type = type.getSuperclass();
+        }
+        return type.getSimpleName();
+    }
+
     /**
      * Give the next direction the player will take for his next move.
      *
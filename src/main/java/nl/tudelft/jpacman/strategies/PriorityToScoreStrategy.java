@@ -58,7 +58,7 @@ public final class PriorityToScoreStrategy extends PacManStrategy {
      * @return The best direction selected
      */
     private Direction selectBestDirection(List<Direction> possibleDirections) {
-        Collections.shuffle(possibleDirections);
+        Collections.shuffle(possibleDirections, getGame().getLevel().getRandom());
 
         Direction directionToFleeNearestGhost = findDirectionToNearestFleeGhost();
 
@@ -107,13 +107,15 @@ public final class PriorityToScoreStrategy extends PacManStrategy {
             return possiblePaths.values().stream().findFirst().get().get(0);
         }
 
-        Map<Square, List<Direction>> safePaths = PacManAI.getSafePaths(ghosts, possiblePaths);
+        DangerMap danger = new DangerMap(player.getSquare().getBoard(), ghosts);
+        Map<Square, List<Direction>> safePaths = PacManAI.getSafePaths(danger, possiblePaths);
         Map<Square, List<Direction>> dangerousPaths = possiblePaths.entrySet().stream()
             .filter(entry -> safePaths.containsKey(entry.getKey()))
-            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (first, second) -> first,
+                LinkedHashMap::new));
 
         List<List<Direction>> listSafePath = new ArrayList<>(safePaths.values());
-        listSafePath.addAll(PacManAI.getWorthPaths(player.getSquare(), ghosts, dangerousPaths));
+        listSafePath.addAll(PacManAI.getWorthPaths(player.getSquare(), danger, dangerousPaths));
 
         if (listSafePath.isEmpty()) {
             return PacManAI.fleeNearestGhost(player.getSquare(), possibleDirections);
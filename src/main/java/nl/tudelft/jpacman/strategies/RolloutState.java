@@ -0,0 +1,284 @@
+package nl.tudelft.jpacman.strategies;
+
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.DistanceTable;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.LevelSnapshot;
+import nl.tudelft.jpacman.level.unit.Player;
+
+import java.util.SplittableRandom;
+
+/**
+ * A {@link LevelSnapshot} that is played forward one player move at a time
+ * for the {@link MonteCarloStrategy}, with a simple model of the ghosts:
+ * ghosts move with a fixed probability per move of the player and mostly
+ * chase the player while they are not frightened, and eaten ghosts head
+ * straight home.
+ */
+final class RolloutState {
+
+    /**
+     * The directions, by ordinal.
+     */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * The probability that a ghost moves while the player moves one square,
+     * roughly the ratio of their move intervals.
+     */
+    private static final double GHOST_SPEED = 0.65;
+
+    /**
+     * The probability that a frightened ghost moves while the player moves
+     * one square, as frightened ghosts move at half speed.
+     */
+    private static final double FRIGHTENED_GHOST_SPEED = GHOST_SPEED / 2;
+
+    /**
+     * The probability that a chasing ghost takes a step towards the player
+     * rather than a random one.
+     */
+    private static final double CHASE = 0.8;
+
+    private final LevelSnapshot snapshot;
+
+    /**
+     * The board of the level, to look up the squares in the table.
+     */
+    private final Board board;
+
+    /**
+     * The distances on the board, or <code>null</code> if it is too large
+     * for a table.
+     */
+    private final DistanceTable table;
+
+    /**
+     * The time between two moves of the player, in milliseconds.
+     */
+    private final long interval;
+
+    /**
+     * The score when the state was captured.
+     */
+    private final int startScore;
+
+    /**
+     * <code>true</code> iff the player lost a life since the state was
+     * captured.
+     */
+    private boolean dead;
+
+    /**
+     * Creates a state.
+     *
+     * @param snapshot The state of the level.
+     * @param board    The board of the level.
+     * @param interval The time between two moves of the player.
+     * @param score    The score when the state was captured.
+     */
+    private RolloutState(LevelSnapshot snapshot, Board board, long interval, int score) {
+        this.snapshot = snapshot;
+        this.board = board;
+        this.table = board.getDistanceTable();
+        this.interval = interval;
+        this.startScore = score;
+    }
+
+    /**
+     * Captures the current state of a level.
+     *
+     * @param level  The level.
+     * @param player The player of the level.
+     * @return The state of the level.
+     */
+    static RolloutState of(Level level, Player player) {
+        LevelSnapshot snapshot = LevelSnapshot.of(level, player);
+        return new RolloutState(snapshot, level.getBoard(), player.getInterval(),
+            snapshot.getScore());
+    }
+
+    /**
+     * Makes this state a copy of another state of the same level.
+     *
+     * @param other The state to copy.
+     */
+    void copyFrom(RolloutState other) {
+        snapshot.copyFrom(other.snapshot);
+        dead = other.dead;
+    }
+
+    /**
+     * @return A new state with the same contents as this one.
+     */
+    RolloutState copy() {
+        RolloutState copy = new RolloutState(snapshot.copy(), board, interval, startScore);
+        copy.dead = dead;
+        return copy;
+    }
+
+    /**
+     * @return The index of the square of the player.
+     */
+    int getPlayerSquare() {
+        return snapshot.getPlayerSquare();
+    }
+
+    /**
+     * Looks up the square the player reaches by moving in a direction.
+     *
+     * @param direction The ordinal of the direction.
+     * @return The index of the square, or <code>-1</code> if it is not
+     * accessible.
+     */
+    int getPlayerNeighbour(int direction) {
+        return snapshot.getNeighbour(snapshot.getPlayerSquare(), DIRECTIONS[direction]);
+    }
+
+    /**
+     * Determines whether the player can move in a direction.
+     *
+     * @param direction The ordinal of the direction.
+     * @return <code>true</code> iff the square in that direction is accessible.
+     */
+    boolean canMove(int direction) {
+        return getPlayerNeighbour(direction) >= 0;
+    }
+
+    /**
+     * @return <code>true</code> iff the rollout is over: the player lost a
+     * life or the game ended.
+     */
+    boolean isOver() {
+        return dead || snapshot.isOver();
+    }
+
+    /**
+     * @return <code>true</code> iff the player ate all pellets.
+     */
+    boolean isWon() {
+        return !dead && snapshot.isWon();
+    }
+
+    /**
+     * @return <code>true</code> iff the player lost a life.
+     */
+    boolean isDead() {
+        return dead;
+    }
+
+    /**
+     * @return The points the player scored since the state was captured.
+     */
+    int getScore() {
+        return snapshot.getScore() - startScore;
+    }
+
+    /**
+     * Moves the player one square and the ghosts with the probability of
+     * their speed, and lets the time of one move of the player pass.
+     *
+     * @param direction The ordinal of the direction the player moves in.
+     * @param random    The source of the moves of the ghosts.
+     */
+    void step(int direction, SplittableRandom random) {
+        int lives = snapshot.getLives();
+        snapshot.movePlayer(DIRECTIONS[direction]);
+        for (int g = 0; g < snapshot.getGhostCount() && snapshot.getLives() >= lives; g++) {
+            int ghostDirection = nextGhostMove(g, random);
+            if (ghostDirection >= 0) {
+                snapshot.moveGhost(g, DIRECTIONS[ghostDirection]);
+            }
+        }
+        snapshot.elapse(interval);
+        dead |= snapshot.getLives() < lives;
+    }
+
+    /**
+     * Plays a random move of the player, preferring not to turn back.
+     *
+     * @param previous The ordinal of the previous direction of the player, or
+     *                 <code>-1</code>.
+     * @param random   The source of the moves.
+     * @return The ordinal of the direction that was played.
+     */
+    int randomStep(int previous, SplittableRandom random) {
+        int reverse = previous < 0 ? -1 : DIRECTIONS[previous].getOpposite().ordinal();
+        int chosen = -1;
+        int options = 0;
+        for (int d = 0; d < DIRECTIONS.length; d++) {
+            if (d != reverse && canMove(d)) {
+                options++;
+                if (random.nextInt(options) == 0) {
+                    chosen = d;
+                }
+            }
+        }
+        if (chosen < 0) {
+            chosen = reverse;
+        }
+        step(chosen, random);
+        return chosen;
+    }
+
+    /**
+     * Decides on the move of a ghost during one move of the player.
+     *
+     * @param g      The number of the ghost.
+     * @param random The source of the move.
+     * @return The ordinal of the direction of the move, or <code>-1</code> if
+     * the ghost does not move.
+     */
+    private int nextGhostMove(int g, SplittableRandom random) {
+        int position = snapshot.getGhostSquare(g);
+        if (!snapshot.isGhostAlive(g)) {
+            return firstStep(position, snapshot.getGhostStart(g));
+        }
+        boolean frightened = snapshot.getGhostMode(g) != 0;
+        if (random.nextDouble() >= (frightened ? FRIGHTENED_GHOST_SPEED : GHOST_SPEED)) {
+            return -1;
+        }
+        if (!frightened && random.nextDouble() < CHASE) {
+            int step = firstStep(position, snapshot.getPlayerSquare());
+            if (step >= 0) {
+                return step;
+            }
+        }
+        int chosen = -1;
+        int options = 0;
+        for (int d = 0; d < DIRECTIONS.length; d++) {
+            if (snapshot.getNeighbour(position, DIRECTIONS[d]) >= 0) {
+                options++;
+                if (random.nextInt(options) == 0) {
+                    chosen = d;
+                }
+            }
+        }
+        return chosen;
+    }
+
+    /**
+     * Returns the first step of a shortest path, if the board has a table.
+     *
+     * @param from The index of the starting square.
+     * @param to   The index of the destination.
+     * @return The ordinal of the direction, or <code>-1</code> if unknown.
+     */
+    private int firstStep(int from, int to) {
+        if (table == null || from == to) {
+            return -1;
+        }
+        Square start = board.squareAt(from);
+        Square destination = board.squareAt(to);
+        if (!table.contains(start) || !table.contains(destination)) {
+            return -1;
+        }
+        Direction step = table.firstStep(start, destination);
+        if (step == null) {
+            return -1;
+        }
+        return step.ordinal();
+    }
+}
@@ -3,16 +3,27 @@ package nl.tudelft.jpacman.ui;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics;
+import java.awt.image.BufferedImage;
 
 import javax.swing.JPanel;
 
 import nl.tudelft.jpacman.board.Board;
 import nl.tudelft.jpacman.board.Square;
-import nl.tudelft.jpacman.board.Unit;
 import nl.tudelft.jpacman.game.Game;
+import nl.tudelft.jpacman.level.RenderFrame;
+import nl.tudelft.jpacman.sprite.AnimatedSprite;
+import nl.tudelft.jpacman.sprite.Sprite;
 
 /**
  * Panel displaying a game.
+ * <p>
+ * The squares themselves never change, so they are rendered once into a
+ * background image, which is only rendered again when the panel is resized.
+ * Each frame is composed in an image of its own, in which only the squares
+ * whose occupants look different than in the previous frame are drawn again.
+ * The occupants are drawn from the {@link RenderFrame} handed to
+ * {@link #render(RenderFrame)}, never from the board itself, which the game
+ * changes meanwhile; painting only shows the last image composed.
  *
  * @author Jeroen Roosen 
  *
@@ -40,6 +51,28 @@ class BoardPanel extends JPanel {
      */
     private final Game game;
 
+    /**
+     * The board as rendered in {@link #background}, or <code>null</code> if
+     * nothing has been rendered yet.
+     */
+    private transient Board renderedBoard;
+
+    /**
+     * The squares of the board, without their occupants.
+     */
+    private transient BufferedImage background;
+
+    /**
+     * The board with the occupants of the squares as they were last drawn.
+     */
+    private transient BufferedImage frame;
+
+    /**
+     * The sprites of the occupants of every square, by index, as they were
+     * last drawn.
+     */
+    private transient Sprite[][] drawnSprites;
+
     /**
      * Creates a new board panel that will display the provided game.
      *
@@ -65,45 +98,133 @@ class BoardPanel extends JPanel {
         return game;
     }
 
+    /**
+     * Composes the image of a frame of the level and shows it. Must be called
+     * on the event dispatch thread.
+     *
+     * @param occupants
+     *            The frame of the level, held by the caller.
+     */
+    void render(RenderFrame occupants) {
+        Board board = game.getLevel().getBoard();
+        Dimension window = getSize();
+        if (window.width <= 0 || window.height <= 0) {
+            return;
+        }
+        if (board != renderedBoard || frame.getWidth() != window.width
+            || frame.getHeight() != window.height) {
+            renderBackground(board, window);
+        }
+        renderChanges(board, occupants, window);
+        repaint();
+    }
+
     @Override
     public void paint(Graphics g) {
         assert g != null;
-        render(game.getLevel().getBoard(), g, getSize());
+        if (frame != null) {
+            g.drawImage(frame, 0, 0, null);
+        }
     }
 
     /**
-     * Renders the board on the given graphics context to the given dimensions.
+     * Renders the squares of the board into a new background image, and
+     * starts a new frame from it.
      *
      * @param board
      *            The board to render.
-     * @param graphics
-     *            The graphics context to draw on.
      * @param window
      *            The dimensions to scale the rendered board to.
      */
-    private void render(Board board, Graphics graphics, Dimension window) {
+    private void renderBackground(Board board, Dimension window) {
         int cellW = window.width / board.getWidth();
         int cellH = window.height / board.getHeight();
 
+        background = new BufferedImage(window.width, window.height, BufferedImage.TYPE_INT_RGB);
+        Graphics graphics = background.getGraphics();
         graphics.setColor(BACKGROUND_COLOR);
         graphics.fillRect(0, 0, window.width, window.height);
-
         for (int y = 0; y < board.getHeight(); y++) {
             for (int x = 0; x < board.getWidth(); x++) {
-                int cellX = x * cellW;
-                int cellY = y * cellH;
                 Square square = board.squareAt(x, y);
-                render(square, graphics, cellX, cellY, cellW, cellH);
+                square.getSprite().draw(graphics, x * cellW, y * cellH, cellW, cellH);
+            }
+        }
+        graphics.dispose();
+
+        frame = new BufferedImage(window.width, window.height, BufferedImage.TYPE_INT_RGB);
+        graphics = frame.getGraphics();
+        graphics.drawImage(background, 0, 0, null);
+        graphics.dispose();
+
+        renderedBoard = board;
+        drawnSprites = new Sprite[board.getSize()][];
+    }
+
+    /**
+     * Draws the squares whose occupants changed since the last frame again.
+     *
+     * @param board
+     *            The board to render.
+     * @param occupants
+     *            The occupants of the squares of the board.
+     * @param window
+     *            The dimensions to scale the rendered board to.
+     */
+    private void renderChanges(Board board, RenderFrame occupants, Dimension window) {
+        int cellW = window.width / board.getWidth();
+        int cellH = window.height / board.getHeight();
+
+        Graphics graphics = null;
+        int index = 0;
+        for (int y = 0; y < board.getHeight(); y++) {
+            for (int x = 0; x < board.getWidth(); x++, index++) {
+                if (!isChanged(index, occupants)) {
+                    continue;
+                }
+                if (graphics == null) {
+                    graphics = frame.getGraphics();
+                }
+                render(index, occupants, graphics, x * cellW, y * cellH, cellW, cellH);
             }
         }
+        if (graphics != null) {
+            graphics.dispose();
+        }
+    }
+
+    /**
+     * Determines whether the occupants of a square look different than when
+     * they were last drawn. Animated sprites always do.
+     *
+     * @param index
+     *            The index of the square.
+     * @param occupants
+     *            The current occupants of the squares.
+     * @return <code>true</code> iff the square has to be drawn again.
+     */
+    private boolean isChanged(int index, RenderFrame occupants) {
+        Sprite[] sprites = drawnSprites[index];
+        if (sprites == null || sprites.length != occupants.getOccupantCount(index)) {
+            return true;
+        }
+        for (int i = 0; i < sprites.length; i++) {
+            Sprite sprite = occupants.getSprite(index, i);
+            if (sprite != sprites[i] || sprite instanceof AnimatedSprite) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
      * Renders a single square on the given graphics context on the specified
-     * rectangle.
+     * rectangle, and remembers what was drawn.
      *
-     * @param square
-     *            The square to render.
+     * @param index
+     *            The index of the square to render.
+     * @param occupants
+     *            The occupants of the squares.
      * @param graphics
      *            The graphics context to draw on.
      * @param x
@@ -115,10 +236,17 @@ class BoardPanel extends JPanel {
      * @param height
      *            The height of this square (in pixels.)
      */
-    private void render(Square square, Graphics graphics, int x, int y, int width, int height) {
-        square.getSprite().draw(graphics, x, y, width, height);
-        for (Unit unit : square.getOccupants()) {
-            unit.getSprite().draw(graphics, x, y, width, height);
+    private void render(int index, RenderFrame occupants, Graphics graphics, int x, int y, int width, int height) {
+        graphics.drawImage(background, x, y, x + width, y + height, x, y, x + width, y + height, null);
+
+        Sprite[] sprites = drawnSprites[index];
+        if (sprites == null || sprites.length != occupants.getOccupantCount(index)) {
+            sprites = new Sprite[occupants.getOccupantCount(index)];
+            drawnSprites[index] = sprites;
+        }
+        for (int i = 0; i < sprites.length; i++) {
+            sprites[i] = occupants.getSprite(index, i);
+            sprites[i].draw(graphics, x, y, width, height);
         }
     }
 }
@@ -11,7 +11,10 @@ import java.util.concurrent.TimeUnit;
 import javax.swing.*;
 
 import nl.tudelft.jpacman.game.Game;
+import nl.tudelft.jpacman.level.Level;
+import nl.tudelft.jpacman.level.RenderFrame;
 import nl.tudelft.jpacman.strategies.HumanStrategy;
+import nl.tudelft.jpacman.strategies.MonteCarloStrategy;
 import nl.tudelft.jpacman.strategies.PacManStrategy;
 import nl.tudelft.jpacman.strategies.PriorityToScoreStrategy;
 import nl.tudelft.jpacman.ui.ScorePanel.ScoreFormatter;
@@ -36,6 +39,7 @@ public class PacManUI extends JFrame {
         {
             put(HumanStrategy.TITLE, HumanStrategy.class);
             put(PriorityToScoreStrategy.TITLE, PriorityToScoreStrategy.class);
+            put(MonteCarloStrategy.TITLE, MonteCarloStrategy.class);
         }
     };
 
@@ -115,7 +119,8 @@ public class PacManUI extends JFrame {
             boardPanel.getGame().selectStrategy(selectStrategy());
         }
         ScheduledExecutorService service = Executors.newSingleThreadScheduledExecutor();
-        service.scheduleAtFixedRate(this::nextFrame, 0, FRAME_INTERVAL, TimeUnit.MILLISECONDS);
+        service.scheduleAtFixedRate(() -> SwingUtilities.invokeLater(this::nextFrame),
+            0, FRAME_INTERVAL, TimeUnit.MILLISECONDS);
     }
 
     /**
@@ -138,10 +143,20 @@ public class PacManUI extends JFrame {
     }
 
     /**
-     * Draws the next frame, i.e. refreshes the scores and game.
+     * Draws the next frame, i.e. refreshes the scores and game from the same
+     * frame of the level, so they always show the same moment. Runs on the
+     * event dispatch thread.
      */
     private void nextFrame() {
-        boardPanel.repaint();
-        scorePanel.refresh();
+        Level level = boardPanel.getGame().getLevel();
+        RenderFrame frame = level.acquireFrame();
+        try {
+            if (frame != null) {
+                scorePanel.refresh(frame);
+                boardPanel.render(frame);
+            }
+        } finally {
+            level.releaseFrame(frame);
+        }
     }
 }
@@ -8,6 +8,7 @@ import java.util.Map;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 
+import nl.tudelft.jpacman.level.RenderFrame;
 import nl.tudelft.jpacman.level.unit.Player;
 
 /**
@@ -30,15 +31,10 @@ public class ScorePanel extends JPanel {
     private final Map<Player, PlayerPanel> scoreLabels;
 
     /**
-     * The default way in which the score is shown.
+     * The way to format the score information, or <code>null</code> to show
+     * the score of the frame.
      */
-    private static final ScoreFormatter DEFAULT_SCORE_FORMATTER =
-        (Player player) -> String.format("Score: %3d", player.getScore());
-
-    /**
-     * The way to format the score information.
-     */
-    private ScoreFormatter scoreFormatter = DEFAULT_SCORE_FORMATTER;
+    private ScoreFormatter scoreFormatter;
 
     /**
      * Creates a new score panel with a column for each player.
@@ -64,17 +60,28 @@ public class ScorePanel extends JPanel {
     }
 
     /**
-     * Refreshes the scores of the players.
+     * Refreshes the scores of the players from a frame of their level.
+     *
+     * @param frame
+     *            The frame showing the players.
      */
-    protected void refresh() {
+    protected void refresh(RenderFrame frame) {
         for (Map.Entry<Player, PlayerPanel> entry : scoreLabels.entrySet()) {
             Player player = entry.getKey();
+            int index = frame.indexOf(player);
+            if (index < 0) {
+                continue;
+            }
             String score = "";
-            if (!player.isAlive()) {
+            if (!frame.isAlive(index)) {
                 score = "You died. ";
             }
-            score += scoreFormatter.format(player);
-            entry.getValue().refresh(score, player.getRemainingLifes());
+            if (scoreFormatter == null) {
+                score += String.format("Score: %3d", frame.getScore(index));
+            } else {
+                score += scoreFormatter.format(player);
+            }
+            entry.getValue().refresh(score, frame.getRemainingLifes(index));
         }
     }
 
@@ -92,7 +99,9 @@ public class ScorePanel extends JPanel {
     }
 
     /**
-     * Let the score panel use a dedicated score formatter.
+     * Let the score panel use a dedicated score formatter. Unlike the default
+     * format, which shows the score of the frame being refreshed from, a
+     * formatter reads the score from the player.
      * @param scoreFormatter Score formatter to be used.
      */
     public void setScoreFormatter(ScoreFormatter scoreFormatter) {
@@ -66,11 +66,11 @@ public class LauncherSmokeTest {
         assertThat(player.getScore()).isZero();
 
         // get points
-        game.getLevel().move(player, Direction.EAST);
+        move(game, Direction.EAST, 1);
         assertThat(player.getScore()).isEqualTo(10);
 
         // now moving back does not change the score
-        game.getLevel().move(player, Direction.WEST);
+        move(game, Direction.WEST, 1);
         assertThat(player.getScore()).isEqualTo(10);
 
         // try to move as far as we can
@@ -103,16 +103,18 @@ public class LauncherSmokeTest {
     }
 
     /**
-     * Make number of moves in given direction.
+     * Make number of moves in given direction and wait until they are made.
      *
      * @param game The game we're playing
      * @param dir The direction to be taken
      * @param numSteps The number of steps to take
+     * @throws InterruptedException If the test was interrupted while waiting.
      */
-    public static void move(Game game, Direction dir, int numSteps) {
+    public static void move(Game game, Direction dir, int numSteps) throws InterruptedException {
         Player player = game.getPlayers().get(0);
         for (int i = 0; i < numSteps; i++) {
             game.getLevel().move(player, dir);
         }
+        game.getLevel().awaitChanges();
     }
 }
@@ -5,6 +5,7 @@ import static org.mockito.Mockito.mock;
 
 import nl.tudelft.jpacman.ConfigurationLoader;
 import nl.tudelft.jpacman.common.BasicGround;
+import nl.tudelft.jpacman.common.BasicWall;
 import nl.tudelft.jpacman.sprite.PacManSprites;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -90,4 +91,22 @@ class BoardFactoryTest {
         assertThat(s1.getSquareAt(Direction.SOUTH)).isEqualTo(s2);
         assertThat(s2.getSquareAt(Direction.SOUTH)).isEqualTo(s1);
     }
+
+    /**
+     * Verifies that the board records the terrain and the neighbours of its
+     * squares in its tables, across its borders.
+     */
+    @Test
+    void tablesFollowGrid() {
+        Square wall = new BasicWall();
+        Board board = factory.createBoard(new Square[][]{{s1, wall}, {s2, new BasicGround()}});
+        assertThat(board.isAccessible(s1.getIndex())).isTrue();
+        assertThat(board.isAccessible(wall.getIndex())).isFalse();
+        assertThat(board.getNeighbour(s1.getIndex(), Direction.WEST)).isEqualTo(s2.getIndex());
+        assertThat(board.getNeighbour(s1.getIndex(), Direction.NORTH)).isEqualTo(wall.getIndex());
+        for (Direction direction : Direction.values()) {
+            assertThat(board.squareAt(board.getNeighbour(wall.getIndex(), direction)))
+                .isSameAs(wall.getSquareAt(direction));
+        }
+    }
 }
@@ -0,0 +1,112 @@
+package nl.tudelft.jpacman.board;
+
+import nl.tudelft.jpacman.ConfigurationLoader;
+import nl.tudelft.jpacman.common.BasicGround;
+import nl.tudelft.jpacman.common.BasicWall;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests the precomputed distances of a {@link Board}.
+ */
+class DistanceTableTest {
+
+    /**
+     * The board under test, a corridor that wraps around the edges and a
+     * square that is shut in by walls.
+     * <pre>
+     * #####
+     *    #
+     * ## ##
+     * # ###
+     * </pre>
+     */
+    private Board board;
+
+    /**
+     * Creates the board under test.
+     */
+    @BeforeEach
+    void setUp() {
+        ConfigurationLoader.load("src/test/resources/configuration.properties");
+        String[] rows = {"#####", "   # ", "## ##", "# ###"};
+        Square[][] grid = new Square[rows[0].length()][rows.length];
+        for (int x = 0; x < grid.length; x++) {
+            for (int y = 0; y < rows.length; y++) {
+                if (rows[y].charAt(x) == '#') {
+                    grid[x][y] = new BasicWall();
+                } else {
+                    grid[x][y] = new BasicGround();
+                }
+            }
+        }
+        board = new BoardFactory(mock(PacManSprites.class)).createBoard(grid);
+    }
+
+    /**
+     * Verifies distances along a path with a corner.
+     */
+    @Test
+    void distanceAroundCorner() {
+        DistanceTable table = board.getDistanceTable();
+        assertThat(table.distance(board.squareAt(0, 1), board.squareAt(2, 2))).isEqualTo(3);
+        assertThat(table.firstStep(board.squareAt(0, 1), board.squareAt(2, 2)))
+            .isEqualTo(Direction.EAST);
+        assertThat(table.path(board.squareAt(2, 2), board.squareAt(0, 1)))
+            .containsExactly(Direction.NORTH, Direction.WEST, Direction.WEST);
+    }
+
+    /**
+     * Verifies that paths may wrap around the edges of the board.
+     */
+    @Test
+    void distanceWrapsAround() {
+        DistanceTable table = board.getDistanceTable();
+        assertThat(table.path(board.squareAt(0, 1), board.squareAt(4, 1)))
+            .containsExactly(Direction.WEST);
+        assertThat(table.distance(board.squareAt(1, 1), board.squareAt(1, 1))).isZero();
+        assertThat(table.path(board.squareAt(1, 1), board.squareAt(1, 1))).isEmpty();
+    }
+
+    /**
+     * Verifies that squares shut in by walls cannot be reached.
+     */
+    @Test
+    void unreachable() {
+        DistanceTable table = board.getDistanceTable();
+        assertThat(table.contains(board.squareAt(0, 0))).isFalse();
+        assertThat(table.distance(board.squareAt(0, 1), board.squareAt(1, 3)))
+            .isEqualTo(DistanceTable.UNREACHABLE);
+        assertThat(table.firstStep(board.squareAt(0, 1), board.squareAt(1, 3))).isNull();
+        assertThat(table.path(board.squareAt(0, 1), board.squareAt(1, 3))).isNull();
+    }
+
+    /**
+     * Verifies that the distance field of every target agrees with the table,
+     * and that its steps lead to the target.
+     */
+    @Test
+    void fieldMatchesTable() {
+        DistanceTable table = board.getDistanceTable();
+        for (int to = 0; to < board.getSize(); to++) {
+            Square target = board.squareAt(to);
+            DistanceField field = board.getDistanceField(target);
+            for (int from = 0; from < board.getSize(); from++) {
+                Square square = board.squareAt(from);
+                int expected = DistanceTable.UNREACHABLE;
+                if (table.contains(square) && table.contains(target)) {
+                    expected = table.distance(square, target);
+                }
+                assertThat(field.distance(square)).isEqualTo(expected);
+                if (expected > 0) {
+                    Square next = square.getSquareAt(field.nextStep(square));
+                    assertThat(field.distance(next)).isEqualTo(expected - 1);
+                }
+            }
+        }
+    }
+}
@@ -4,6 +4,8 @@ import nl.tudelft.jpacman.common.BasicGround;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 
@@ -63,4 +65,22 @@ class SquareTest {
 
         assertThat(square.getOccupants()).containsSequence(o1, o2);
     }
+
+    /**
+     * Assert that the occupants handed out are not changed by units leaving
+     * the square afterwards.
+     */
+    @Test
+    void testSnapshot() {
+        Unit o1 = mock(Unit.class);
+        Unit o2 = mock(Unit.class);
+        square.put(o1);
+        square.put(o2);
+        List<Unit> occupants = square.getOccupants();
+        square.remove(o1);
+
+        assertThat(occupants).containsExactly(o1, o2);
+        assertThat(square.getOccupantCount()).isEqualTo(1);
+        assertThat(square.getOccupant(0)).isSameAs(o2);
+    }
 }
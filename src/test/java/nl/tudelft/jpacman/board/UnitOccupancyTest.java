@@ -70,4 +70,24 @@ class UnitOccupancyTest {
         unit.leaveSquare();
         assertThat(target.getOccupants()).doesNotContain(unit);
     }
+
+    /**
+     * Test that the board knows the units on its squares, including those
+     * that occupied a square before the board was created.
+     */
+    @Test
+    void testBoardUnits() {
+        Square first = new BasicGround();
+        Square second = new BasicGround();
+        Unit other = new BasicUnit();
+        other.occupy(first);
+        Board board = new Board(new Square[][] {{first, second}});
+
+        unit.occupy(second);
+        assertThat(board.getUnits(Unit.class)).containsExactly(other, unit);
+
+        unit.occupy(first);
+        other.leaveSquare();
+        assertThat(board.getUnits(BasicUnit.class)).containsExactly((BasicUnit) unit);
+    }
 }
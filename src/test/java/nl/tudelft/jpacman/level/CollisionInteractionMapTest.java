@@ -0,0 +1,88 @@
+package nl.tudelft.jpacman.level;
+
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.level.CollisionInteractionMap.CollisionHandler;
+import nl.tudelft.jpacman.level.unit.Pellet;
+import nl.tudelft.jpacman.level.unit.Player;
+import nl.tudelft.jpacman.npc.Ghost;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+/**
+ * Tests the dispatch of collisions to their handlers.
+ */
+class CollisionInteractionMapTest {
+
+    private CollisionInteractionMap map;
+    private Player player;
+    private Pellet pellet;
+    private Ghost ghost;
+
+    /**
+     * Creates an empty map and some units.
+     */
+    @BeforeEach
+    void setUp() {
+        map = new CollisionInteractionMap();
+        player = mock(Player.class);
+        pellet = mock(Pellet.class);
+        ghost = mock(Ghost.class);
+    }
+
+    /**
+     * Verifies that a handler listed for super classes handles the collisions
+     * of their subclasses, in both directions.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void superClassHandler() {
+        CollisionHandler<Unit, Pellet> handler = mock(CollisionHandler.class);
+        map.onCollision(Unit.class, Pellet.class, handler);
+
+        map.collide(player, pellet);
+        map.collide(pellet, ghost);
+
+        verify(handler).handleCollision(player, pellet);
+        verify(handler).handleCollision(ghost, pellet);
+    }
+
+    /**
+     * Verifies that units without a handler do not interact, also once their
+     * classes have been seen before.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void noHandler() {
+        CollisionHandler<Player, Pellet> handler = mock(CollisionHandler.class);
+        map.onCollision(Player.class, Pellet.class, false, handler);
+
+        map.collide(pellet, player);
+        map.collide(pellet, player);
+        map.collide(player, ghost);
+
+        verifyZeroInteractions(handler);
+    }
+
+    /**
+     * Verifies that a handler added after a collision has been dispatched is
+     * used for the following collisions.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void handlerAddedLater() {
+        CollisionHandler<Unit, Unit> general = mock(CollisionHandler.class);
+        CollisionHandler<Player, Ghost> specific = mock(CollisionHandler.class);
+        map.onCollision(Unit.class, Unit.class, false, general);
+        map.collide(player, ghost);
+
+        map.onCollision(Player.class, Ghost.class, false, specific);
+        map.collide(player, ghost);
+
+        verify(general).handleCollision(player, ghost);
+        verify(specific).handleCollision(player, ghost);
+    }
+}
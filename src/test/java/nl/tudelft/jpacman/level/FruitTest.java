@@ -8,6 +8,7 @@ import nl.tudelft.jpacman.board.Direction;
 import nl.tudelft.jpacman.board.Square;
 import nl.tudelft.jpacman.game.Game;
 import nl.tudelft.jpacman.game.GameFactory;
+import nl.tudelft.jpacman.level.task.VirtualClock;
 import nl.tudelft.jpacman.level.unit.Fruit;
 import nl.tudelft.jpacman.level.unit.Player;
 import nl.tudelft.jpacman.npc.ghost.GhostFactory;
@@ -17,6 +18,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.Map;
+import java.util.Random;
 
 import static org.mockito.Mockito.mock;
 
@@ -69,7 +71,8 @@ public class FruitTest {
             .getBoard();
         Square playerSquare = board.squareAt(1, 0);
         fruitSquare = board.squareAt(2, 1);
-        level = new Level(board, Lists.newArrayList(), Lists.newArrayList(playerSquare), Lists.newArrayList(fruitSquare), fruitCreator);
+        level = new Level(board, Lists.newArrayList(), Lists.newArrayList(playerSquare), Lists.newArrayList(fruitSquare),
+            fruitCreator, new VirtualClock(), new Random(0));
         level.registerPlayer(p);
         game = gf.createSinglePlayerGame(level);
     }
@@ -0,0 +1,125 @@
+package nl.tudelft.jpacman.level;
+
+import com.google.common.collect.Lists;
+import nl.tudelft.jpacman.ConfigurationLoader;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.level.task.VirtualClock;
+import nl.tudelft.jpacman.level.unit.Player;
+import nl.tudelft.jpacman.npc.Ghost;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests that a snapshot of a level is played forward like the level itself.
+ */
+class LevelSnapshotTest {
+
+    private Level level;
+    private Player player;
+    private Ghost ghost;
+
+    /**
+     * Sets up a started level with a corridor of pellets between the player
+     * and a ghost, on a clock that is never advanced, so only the moves made
+     * by the tests happen.
+     */
+    @BeforeEach
+    void setUp() {
+        ConfigurationLoader.load("src/test/resources/configuration.properties");
+        PacManSprites sprites = new PacManSprites();
+        FruitFactory fruitFactory = new FruitFactory(sprites);
+        MapParser parser = new MapParser(new LevelFactory(sprites, new GhostFactory(sprites),
+            fruitFactory, new VirtualClock(), new Random(0)), new BoardFactory(sprites));
+        level = parser.parseMap(Lists.newArrayList(
+            "#########",
+            "#P..o. G#",
+            "#########"));
+        player = new PlayerFactory(sprites).createPacMan();
+        level.registerPlayer(player);
+        level.start();
+        ghost = level.getGhosts().iterator().next();
+    }
+
+    /**
+     * Verifies that eating pellets, a power pellet and a frightened ghost
+     * changes a snapshot as it changes the level.
+     */
+    @Test
+    void followsLevel() {
+        LevelSnapshot snapshot = LevelSnapshot.of(level, player);
+        for (int i = 0; i < 3; i++) {
+            level.move(player, Direction.EAST);
+            snapshot.movePlayer(Direction.EAST);
+        }
+        assertThat(snapshot.getGameMode()).isEqualTo((byte) 1);
+        assertThat(snapshot).isEqualTo(LevelSnapshot.of(level, player));
+
+        for (int i = 0; i < 2; i++) {
+            level.move(ghost, Direction.WEST);
+            snapshot.moveGhost(0, Direction.WEST);
+        }
+        level.move(player, Direction.EAST);
+        snapshot.movePlayer(Direction.EAST);
+
+        assertThat(snapshot.isGhostAlive(0)).isFalse();
+        assertThat(snapshot.isWon()).isTrue();
+        assertThat(snapshot.getScore()).isEqualTo(player.getScore());
+        assertThat(snapshot).isEqualTo(LevelSnapshot.of(level, player));
+    }
+
+    /**
+     * Verifies that a copy is played forward without changing the original,
+     * and that the hunting mode and eaten ghosts follow their timers.
+     */
+    @Test
+    void copyAndElapse() {
+        LevelSnapshot snapshot = LevelSnapshot.of(level, player);
+        LevelSnapshot copy = snapshot.copy();
+        for (int i = 0; i < 3; i++) {
+            copy.movePlayer(Direction.EAST);
+        }
+        for (int i = 0; i < 3; i++) {
+            copy.moveGhost(0, Direction.WEST);
+        }
+        assertThat(copy.isGhostAlive(0)).isFalse();
+
+        copy.elapse(2999);
+        assertThat(copy.getGameMode()).isEqualTo((byte) 1);
+        copy.elapse(1);
+        assertThat(copy.getGameMode()).isEqualTo((byte) 2);
+        copy.elapse(2000);
+        assertThat(copy.getGameMode()).isEqualTo((byte) 0);
+        assertThat(copy.isGhostAlive(0)).isTrue();
+
+        assertThat(snapshot).isEqualTo(LevelSnapshot.of(level, player));
+        copy.copyFrom(snapshot);
+        assertThat(copy).isEqualTo(snapshot);
+        assertThat(copy.hashCode()).isEqualTo(snapshot.hashCode());
+    }
+
+    /**
+     * Verifies that the player loses a life to a chasing ghost, after which
+     * the units are back on their starting squares.
+     */
+    @Test
+    void loseLife() {
+        LevelSnapshot snapshot = LevelSnapshot.of(level, player);
+        int lives = snapshot.getLives();
+        snapshot.movePlayer(Direction.EAST);
+        for (int i = 0; i < 5; i++) {
+            snapshot.moveGhost(0, Direction.WEST);
+        }
+
+        assertThat(snapshot.getLives()).isEqualTo(lives - 1);
+        assertThat(snapshot.getPlayerSquare()).isEqualTo(player.getInitialPostion().getIndex());
+        assertThat(snapshot.getGhostSquare(0)).isEqualTo(snapshot.getGhostStart(0));
+        assertThat(snapshot.isLost()).isFalse();
+    }
+}
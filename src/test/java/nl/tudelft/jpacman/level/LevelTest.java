@@ -5,17 +5,23 @@ import nl.tudelft.jpacman.board.Board;
 import nl.tudelft.jpacman.board.BoardFactory;
 import nl.tudelft.jpacman.board.Direction;
 import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.level.task.VirtualClock;
+import nl.tudelft.jpacman.level.unit.Pellet;
 import nl.tudelft.jpacman.level.unit.Player;
 import nl.tudelft.jpacman.npc.Ghost;
 import nl.tudelft.jpacman.npc.ghost.Blinky;
 import nl.tudelft.jpacman.npc.ghost.GhostFactory;
 import nl.tudelft.jpacman.sprite.AnimatedSprite;
 import nl.tudelft.jpacman.sprite.PacManSprites;
+import nl.tudelft.jpacman.sprite.Sprite;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -73,7 +79,8 @@ class LevelTest {
         ghost = new Blinky(mock(ArrayList.class), square2);
         ghost.occupy(square2);
 
-        level = new Level(board, Lists.newArrayList(ghost), Lists.newArrayList(square1, square2), Lists.newArrayList(), fruitCreator);
+        level = new Level(board, Lists.newArrayList(ghost), Lists.newArrayList(square1, square2), Lists.newArrayList(),
+            fruitCreator, new VirtualClock(), new Random(0));
     }
 
     /**
@@ -175,6 +182,16 @@ class LevelTest {
         assertThat(level.remainingPellets(false)).isEqualTo(0);
     }
 
+    /**
+     * Verifies that placing a pellet counts it as remaining.
+     */
+    @Test
+    void placePellet() {
+        level.placePellet(new Pellet(false, 10, mock(Sprite.class)), square1);
+        assertThat(level.remainingPellets(false)).isEqualTo(1);
+        assertThat(level.remainingPellets(true)).isEqualTo(1);
+    }
+
     /**
      * Verifies that pacman is eating a powerPellet.
      */
@@ -203,4 +220,47 @@ class LevelTest {
         assertThat(ghost.isAlive()).isFalse();
         assertThat(p.isAlive()).isTrue();
     }
+
+    /**
+     * Verifies that changes submitted by many threads at once are all
+     * applied.
+     *
+     * @throws InterruptedException If the test is interrupted.
+     */
+    @Test
+    void concurrentChanges() throws InterruptedException {
+        final int threads = 4;
+        final int pellets = 250;
+        List<Thread> placers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread placer = new Thread(() -> {
+                for (int i = 0; i < pellets; i++) {
+                    level.placePellet(new Pellet(false, 10, mock(Sprite.class)), square1);
+                }
+            });
+            placers.add(placer);
+            placer.start();
+        }
+        for (Thread placer : placers) {
+            placer.join();
+        }
+        assertThat(level.remainingPellets(false)).isEqualTo(threads * pellets);
+        assertThat(square1.getOccupantCount()).isEqualTo(threads * pellets);
+    }
+
+    /**
+     * Verifies that a failing change is not thrown at the thread applying it
+     * and does not keep the changes after it from being applied.
+     */
+    @Test
+    void failingChange() throws InterruptedException {
+        AtomicBoolean applied = new AtomicBoolean();
+        level.submit(() -> {
+            level.submit(() -> applied.set(true));
+            throw new IllegalStateException("failing change");
+        });
+        level.awaitChanges();
+
+        assertThat(applied.get()).isTrue();
+    }
 }
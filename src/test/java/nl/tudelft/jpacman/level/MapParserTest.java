@@ -0,0 +1,156 @@
+package nl.tudelft.jpacman.level;
+
+import com.google.common.collect.Lists;
+import nl.tudelft.jpacman.ConfigurationLoader;
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.exceptions.PacmanConfigurationException;
+import nl.tudelft.jpacman.level.task.VirtualClock;
+import nl.tudelft.jpacman.npc.Ghost;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests parsing maps into levels.
+ */
+class MapParserTest {
+
+    private static final List<String> MAP = Lists.newArrayList(
+        "#########",
+        "#P.G.F.G#",
+        "#G.o. ..#",
+        "#########");
+
+    private PacManSprites sprites;
+
+    /**
+     * Loads the configuration and the sprites.
+     */
+    @BeforeEach
+    void setUp() {
+        ConfigurationLoader.load("src/test/resources/configuration.properties");
+        sprites = new PacManSprites();
+    }
+
+    /**
+     * Verifies that a map read from a stream that never says it is ready
+     * makes the same level as the same map given as rows, with the ghosts
+     * created column by column.
+     *
+     * @throws IOException if the stream cannot be read.
+     */
+    @Test
+    void streamAndRowsMakeSameLevel() throws IOException {
+        Level fromRows = parser().parseMap(MAP);
+        InputStream slow = new FilterInputStream(new ByteArrayInputStream(
+            String.join("\n", MAP).getBytes(StandardCharsets.UTF_8))) {
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                return super.read(buffer, offset, Math.min(length, 1));
+            }
+
+            @Override
+            public int available() {
+                return 0;
+            }
+        };
+        Level fromStream = parser().parseMap(slow);
+
+        Board board = fromStream.getBoard();
+        assertThat(board.getWidth()).isEqualTo(9);
+        assertThat(board.getHeight()).isEqualTo(4);
+        assertThat(fromStream.getNbPellets()).isEqualTo(fromRows.getNbPellets());
+        List<Ghost> streamed = Lists.newArrayList(fromStream.getGhosts());
+        List<Ghost> rows = Lists.newArrayList(fromRows.getGhosts());
+        assertThat(streamed).hasSize(3);
+        for (int i = 0; i < rows.size(); i++) {
+            assertThat(streamed.get(i).getClass()).isEqualTo(rows.get(i).getClass());
+            assertThat(streamed.get(i).getSquare().getIndex()).isEqualTo(rows.get(i).getSquare().getIndex());
+        }
+        assertThat(streamed.get(0).getSquare()).isSameAs(board.squareAt(1, 2));
+    }
+
+    /**
+     * Verifies that a map converted to the binary format and mapped from a
+     * file makes the same level as the text, and that a damaged binary map
+     * is rejected.
+     *
+     * @throws IOException if the file cannot be written or read.
+     */
+    @Test
+    void binaryMap() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryMap.write(MAP, out);
+        byte[] bytes = out.toByteArray();
+        Path file = Files.createTempFile("map", ".bin");
+        try {
+            Files.write(file, bytes);
+            Level fromText = parser().parseMap(MAP);
+            Level fromBinary = parser().parseBinaryMap(file);
+
+            Board text = fromText.getBoard();
+            Board binary = fromBinary.getBoard();
+            assertThat(binary.getWidth()).isEqualTo(text.getWidth());
+            assertThat(binary.getHeight()).isEqualTo(text.getHeight());
+            for (int i = 0; i < text.getSize(); i++) {
+                Square expected = text.squareAt(i);
+                Square actual = binary.squareAt(i);
+                assertThat(actual.getClass()).isEqualTo(expected.getClass());
+                assertThat(actual.getOccupantCount()).isEqualTo(expected.getOccupantCount());
+                for (int k = 0; k < expected.getOccupantCount(); k++) {
+                    assertThat(actual.getOccupant(k).getClass()).isEqualTo(expected.getOccupant(k).getClass());
+                }
+            }
+            assertThat(fromBinary.getNbPellets()).isEqualTo(fromText.getNbPellets());
+        } finally {
+            Files.delete(file);
+        }
+
+        assertThatThrownBy(() -> parser().parseBinaryMap(ByteBuffer.wrap(Arrays.copyOf(bytes, 20))))
+            .isInstanceOf(PacmanConfigurationException.class);
+        assertThatThrownBy(() -> parser().parseBinaryMap(ByteBuffer.wrap(Arrays.copyOf(bytes, 16))))
+            .isInstanceOf(PacmanConfigurationException.class);
+
+        byte[] unknownKind = bytes.clone();
+        unknownKind[14 + 5 + 4] = 7;
+        assertThatThrownBy(() -> parser().parseBinaryMap(ByteBuffer.wrap(unknownKind)))
+            .isInstanceOf(PacmanConfigurationException.class);
+
+        ByteBuffer ghostOnWall = ByteBuffer.wrap(bytes.clone());
+        ghostOnWall.putInt(bytes.length - 4, 0);
+        assertThatThrownBy(() -> parser().parseBinaryMap(ghostOnWall))
+            .isInstanceOf(PacmanConfigurationException.class);
+
+        ByteBuffer huge = ByteBuffer.wrap(Arrays.copyOf(bytes, 14));
+        huge.putInt(6, 40000).putInt(10, 40000);
+        assertThatThrownBy(() -> parser().parseBinaryMap(huge))
+            .isInstanceOf(PacmanConfigurationException.class);
+    }
+
+    /**
+     * @return A parser with a fresh level factory.
+     */
+    private MapParser parser() {
+        return new MapParser(new LevelFactory(sprites, new GhostFactory(sprites),
+            new FruitFactory(sprites), new VirtualClock(), new Random(0)), new BoardFactory(sprites));
+    }
+}
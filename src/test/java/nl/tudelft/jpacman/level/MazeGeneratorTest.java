@@ -0,0 +1,116 @@
+package nl.tudelft.jpacman.level;
+
+import nl.tudelft.jpacman.ConfigurationLoader;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.level.task.VirtualClock;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests generating mazes.
+ */
+class MazeGeneratorTest {
+
+    private static final int WIDTH = 61;
+    private static final int HEIGHT = 41;
+    private static final int GHOSTS = 9;
+
+    /**
+     * Verifies that a maze is the same for the same seed, has its units and
+     * tunnels, has no dead ends, can be crossed from the player to every
+     * square and makes a level.
+     */
+    @Test
+    void generatesPlayableMaze() {
+        MazeGenerator generator = new MazeGenerator(WIDTH, HEIGHT).withSeed(7).withGhosts(GHOSTS).withTunnels(2);
+        List<String> rows = generator.generate();
+
+        assertThat(generator.generate()).isEqualTo(rows);
+        assertThat(new MazeGenerator(WIDTH, HEIGHT).withSeed(8).generate()).isNotEqualTo(rows);
+        assertThat(rows).hasSize(HEIGHT).allSatisfy(row -> assertThat(row).hasSize(WIDTH));
+        String all = String.join("", rows);
+        assertThat(all.chars().filter(c -> c == 'P').count()).isEqualTo(1);
+        assertThat(all.chars().filter(c -> c == 'G').count()).isEqualTo(GHOSTS);
+        assertThat(all.chars().filter(c -> c == 'o').count()).isEqualTo(4);
+        assertThat(all.chars().filter(c -> c == 'F').count()).isEqualTo(1);
+        long tunnels = rows.stream().filter(row -> row.charAt(0) != '#').count();
+        assertThat(tunnels).isEqualTo(2);
+
+        for (int y = 1; y < HEIGHT; y += 2) {
+            for (int x = 1; x < WIDTH; x += 2) {
+                assertThat(openNeighbours(rows, x, y)).isGreaterThanOrEqualTo(2);
+            }
+        }
+        assertThat(reachable(rows, all.indexOf('P') % WIDTH, all.indexOf('P') / WIDTH))
+            .isEqualTo(all.chars().filter(c -> c != '#').count());
+
+        ConfigurationLoader.load("src/test/resources/configuration.properties");
+        PacManSprites sprites = new PacManSprites();
+        Level level = new MapParser(new LevelFactory(sprites, new GhostFactory(sprites),
+            new FruitFactory(sprites), new VirtualClock(), new Random(0)), new BoardFactory(sprites))
+            .parseMap(rows);
+        assertThat(level.getGhosts()).hasSize(GHOSTS);
+        assertThat(level.getNbPellets()).isEqualTo(all.chars().filter(c -> c == '.').count());
+    }
+
+    /**
+     * Verifies that a maze too small for its units is refused.
+     */
+    @Test
+    void refusesCrowdedMaze() {
+        assertThatThrownBy(() -> new MazeGenerator(7, 7).withGhosts(9).generate())
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new MazeGenerator(3, 9))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static int openNeighbours(List<String> rows, int x, int y) {
+        int open = 0;
+        int[][] deltas = {{0, -1}, {0, 1}, {-1, 0}, {1, 0}};
+        for (int[] delta : deltas) {
+            if (charAt(rows, x + delta[0], y + delta[1]) != '#') {
+                open++;
+            }
+        }
+        return open;
+    }
+
+    /**
+     * Counts the squares that can be reached from a square, linking the
+     * borders of the map as the board does.
+     */
+    private static long reachable(List<String> rows, int x, int y) {
+        boolean[][] seen = new boolean[HEIGHT][WIDTH];
+        Deque<int[]> queue = new ArrayDeque<>();
+        seen[y][x] = true;
+        queue.add(new int[] {x, y});
+        long count = 0;
+        int[][] deltas = {{0, -1}, {0, 1}, {-1, 0}, {1, 0}};
+        while (!queue.isEmpty()) {
+            int[] square = queue.poll();
+            count++;
+            for (int[] delta : deltas) {
+                int nx = (square[0] + delta[0] + WIDTH) % WIDTH;
+                int ny = (square[1] + delta[1] + HEIGHT) % HEIGHT;
+                if (!seen[ny][nx] && charAt(rows, nx, ny) != '#') {
+                    seen[ny][nx] = true;
+                    queue.add(new int[] {nx, ny});
+                }
+            }
+        }
+        return count;
+    }
+
+    private static char charAt(List<String> rows, int x, int y) {
+        return rows.get((y + HEIGHT) % HEIGHT).charAt((x + WIDTH) % WIDTH);
+    }
+}
@@ -0,0 +1,89 @@
+package nl.tudelft.jpacman.level;
+
+import com.google.common.collect.Lists;
+import nl.tudelft.jpacman.ConfigurationLoader;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.level.task.VirtualClock;
+import nl.tudelft.jpacman.level.unit.Player;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the frames in which a level is drawn.
+ */
+class RenderFrameTest {
+
+    private VirtualClock clock;
+    private Level level;
+    private Player player;
+    private int start;
+
+    /**
+     * Sets up a started level on a clock that is only advanced to publish the
+     * frames asked for, so only the moves made by the tests happen.
+     */
+    @BeforeEach
+    void setUp() {
+        ConfigurationLoader.load("src/test/resources/configuration.properties");
+        PacManSprites sprites = new PacManSprites();
+        clock = new VirtualClock();
+        MapParser parser = new MapParser(new LevelFactory(sprites, new GhostFactory(sprites),
+            new FruitFactory(sprites), clock, new Random(0)), new BoardFactory(sprites));
+        level = parser.parseMap(Lists.newArrayList(
+            "#######",
+            "#P.. G#",
+            "#######"));
+        player = new PlayerFactory(sprites).createPacMan();
+        level.registerPlayer(player);
+        level.start();
+        start = player.getSquare().getIndex();
+    }
+
+    /**
+     * Verifies that frames are only published by the scheduler or a move, that
+     * a frame shows the level after the last move, also when it is filled
+     * again from an earlier state, and that it stays the same while it is
+     * held, even when the level changes.
+     */
+    @Test
+    void heldFramesDoNotChange() {
+        assertThat(level.acquireFrame()).isNull();
+        clock.advance(0);
+
+        RenderFrame before = level.acquireFrame();
+        level.move(player, Direction.EAST);
+        RenderFrame after = level.acquireFrame();
+
+        assertThat(after).isNotSameAs(before);
+        assertThat(after.getSequence()).isGreaterThan(before.getSequence());
+        assertThat(before.getOccupantCount(start)).isEqualTo(1);
+        assertThat(before.getOccupantCount(start + 1)).isEqualTo(1);
+        assertThat(before.getScore(before.indexOf(player))).isEqualTo(0);
+        assertThat(after.getOccupantCount(start)).isEqualTo(0);
+        assertThat(after.getScore(after.indexOf(player))).isEqualTo(player.getScore()).isPositive();
+
+        level.move(player, Direction.WEST);
+        RenderFrame held = level.acquireFrame();
+        assertThat(held).isSameAs(after);
+        assertThat(before.getOccupantCount(start)).isEqualTo(1);
+        assertThat(after.getOccupantCount(start)).isEqualTo(0);
+
+        level.releaseFrame(before);
+        level.releaseFrame(after);
+        level.releaseFrame(held);
+        clock.advance(0);
+        RenderFrame latest = level.acquireFrame();
+        assertThat(latest).isSameAs(before);
+        assertThat(latest.getOccupantCount(start + 1)).isZero();
+        assertThat(latest.getOccupantCount(start)).isEqualTo(1);
+        assertThat(latest.getSprite(start, 0)).isSameAs(player.getSprite());
+        level.releaseFrame(latest);
+    }
+}
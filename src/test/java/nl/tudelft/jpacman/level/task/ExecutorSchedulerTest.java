@@ -0,0 +1,81 @@
+package nl.tudelft.jpacman.level.task;
+
+import nl.tudelft.jpacman.level.task.TaskScheduler.TaskHandle;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the scheduler that executes the tasks of a game on a pool of threads.
+ */
+class ExecutorSchedulerTest {
+
+    /**
+     * The scheduler under test.
+     */
+    private ExecutorScheduler scheduler;
+
+    /**
+     * Creates the scheduler under test.
+     */
+    @BeforeEach
+    void setUp() {
+        scheduler = ExecutorScheduler.platformThreads(2);
+    }
+
+    /**
+     * Stops the threads of the scheduler.
+     */
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    /**
+     * Verifies that commands are executed once their deadlines have passed,
+     * the earlier deadline first.
+     */
+    @Test
+    void executesInOrder() throws InterruptedException {
+        CountDownLatch first = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        StringBuffer order = new StringBuffer();
+        long start = scheduler.now();
+        scheduler.scheduleAt(() -> {
+            order.append('b');
+            done.countDown();
+        }, start + 40);
+        scheduler.schedule(() -> {
+            order.append('a');
+            first.countDown();
+        }, 5);
+
+        assertThat(first.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(done.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(order.toString()).isEqualTo("ab");
+        assertThat(scheduler.now()).isGreaterThanOrEqualTo(start + 40);
+    }
+
+    /**
+     * Verifies that cancelled commands are not executed.
+     */
+    @Test
+    void cancel() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(1);
+        TaskHandle handle = scheduler.schedule(runs::incrementAndGet, 10);
+        scheduler.schedule(done::countDown, 30);
+
+        assertThat(handle.cancel()).isTrue();
+        assertThat(handle.getRemainingDelay()).isZero();
+        assertThat(done.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(runs.get()).isZero();
+        assertThat(handle.cancel()).isFalse();
+    }
+}
@@ -0,0 +1,70 @@
+package nl.tudelft.jpacman.level.task;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the fixed-rate repetition of the commands of a service.
+ */
+class ScheduledTaskServiceTest {
+
+    private final VirtualClock clock = new VirtualClock();
+    private final ScheduledTaskService service = new ScheduledTaskService(clock);
+
+    /**
+     * The moments the command was executed.
+     */
+    private final List<Long> executions = new ArrayList<>();
+
+    /**
+     * Verifies that a command that takes longer than its interval once skips
+     * the repetition it missed and then keeps to its timeline.
+     */
+    @Test
+    void skipsMissedRepetitions() {
+        Runnable command = new Runnable() {
+            @Override
+            public void run() {
+                executions.add(clock.now());
+                if (executions.size() == 2) {
+                    clock.advance(25);
+                }
+                service.reschedule(this, 10);
+            }
+        };
+        service.schedule(command, 10, true);
+        clock.advance(60);
+
+        assertThat(executions).containsExactly(10L, 20L, 45L, 50L, 60L);
+        assertThat(service.getSkipped()).isEqualTo(1);
+        assertThat(service.getLag()).isEqualTo(5);
+    }
+
+    /**
+     * Verifies that a suspended command keeps the time left before its
+     * deadline and its timeline.
+     */
+    @Test
+    void suspendKeepsTimeline() {
+        Runnable command = new Runnable() {
+            @Override
+            public void run() {
+                executions.add(clock.now());
+                service.reschedule(this, 10);
+            }
+        };
+        service.schedule(command, 10, true);
+        clock.advance(13);
+        service.suspend();
+        clock.advance(100);
+        service.resume();
+        clock.advance(20);
+
+        assertThat(executions).containsExactly(10L, 120L, 130L);
+        assertThat(service.getLag()).isEqualTo(0);
+    }
+}
@@ -0,0 +1,96 @@
+package nl.tudelft.jpacman.level.task;
+
+import nl.tudelft.jpacman.level.task.TaskScheduler.TaskHandle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the timing wheel that executes the tasks of a game.
+ */
+class TimingWheelSchedulerTest {
+
+    /**
+     * The scheduler under test, with a small wheel so commands wrap around it.
+     */
+    private TimingWheelScheduler scheduler;
+
+    /**
+     * Creates the scheduler under test.
+     */
+    @BeforeEach
+    void setUp() {
+        scheduler = new TimingWheelScheduler(1, 8);
+    }
+
+    /**
+     * Verifies that commands are executed in the order of their deadlines,
+     * also when they are more than a turn of the wheel away.
+     */
+    @Test
+    void executesInOrder() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        StringBuffer order = new StringBuffer();
+        scheduler.schedule(() -> {
+            order.append('b');
+            done.countDown();
+        }, 40);
+        scheduler.schedule(() -> order.append('a'), 5);
+
+        assertThat(done.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(order.toString()).isEqualTo("ab");
+    }
+
+    /**
+     * Verifies that the wheel keeps executing commands after one failed with
+     * an error.
+     */
+    @Test
+    void survivesFailingCommand() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        scheduler.schedule(() -> {
+            throw new AssertionError("failing command");
+        }, 5);
+        scheduler.schedule(done::countDown, 20);
+
+        assertThat(done.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    /**
+     * Verifies that cancelled commands are not executed.
+     */
+    @Test
+    void cancel() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(1);
+        TaskHandle handle = scheduler.schedule(runs::incrementAndGet, 10);
+        scheduler.schedule(done::countDown, 30);
+
+        assertThat(handle.cancel()).isTrue();
+        assertThat(handle.getRemainingDelay()).isZero();
+        assertThat(done.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(runs.get()).isZero();
+        assertThat(handle.cancel()).isFalse();
+    }
+
+    /**
+     * Verifies that a suspended service keeps its remaining delay and only
+     * executes its command once resumed.
+     */
+    @Test
+    void suspendAndResume() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        ScheduledTaskService service = new ScheduledTaskService(scheduler);
+        service.schedule(done::countDown, 20, true);
+        service.suspend();
+
+        assertThat(done.await(60, TimeUnit.MILLISECONDS)).isFalse();
+        service.resume();
+        assertThat(done.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+}
@@ -0,0 +1,69 @@
+package nl.tudelft.jpacman.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the registry of metrics.
+ */
+class MetricsTest {
+
+    /**
+     * Verifies that durations recorded from several threads are all counted.
+     *
+     * @throws InterruptedException if the test is interrupted.
+     */
+    @Test
+    void concurrentRecording() throws InterruptedException {
+        Timer timer = new Metrics("test.concurrent").timer("move");
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 1; i <= 1000; i++) {
+                    timer.record(i * 1000L);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        LatencyHistogram snapshot = timer.getSnapshot();
+        assertThat(snapshot.getCount()).isEqualTo(4000);
+        assertThat(snapshot.getMax()).isEqualTo(1_000_000L);
+        assertThat(snapshot.getPercentile(50)).isBetween(470_000L, 530_000L);
+    }
+
+    /**
+     * Verifies that the report names every metric and that exposed metrics,
+     * including the ones created afterwards, can be read over JMX.
+     *
+     * @throws Exception if the metrics cannot be read.
+     */
+    @Test
+    void reportAndExpose() throws Exception {
+        Metrics metrics = new Metrics("test.expose");
+        metrics.timer("level.move").record(2000);
+        metrics.expose();
+        metrics.counter("frame.skipped").increment();
+
+        assertThat(metrics.report())
+            .contains("level.move").contains("count=1").contains("frame.skipped");
+        assertThat(metrics.timer("level.move")).isSameAs(metrics.timer("level.move"));
+
+        Object count = ManagementFactory.getPlatformMBeanServer().getAttribute(
+            new ObjectName("test.expose:type=Counter,name=" + ObjectName.quote("frame.skipped")), "Count");
+        assertThat(count).isEqualTo(1L);
+        Object max = ManagementFactory.getPlatformMBeanServer().getAttribute(
+            new ObjectName("test.expose:type=Timer,name=" + ObjectName.quote("level.move")), "Max");
+        assertThat(max).isEqualTo(2.0);
+    }
+}
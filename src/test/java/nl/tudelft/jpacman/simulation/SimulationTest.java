@@ -0,0 +1,94 @@
+package nl.tudelft.jpacman.simulation;
+
+import nl.tudelft.jpacman.ConfigurationLoader;
+import nl.tudelft.jpacman.metrics.Metrics;
+import nl.tudelft.jpacman.strategies.MonteCarloStrategy;
+import nl.tudelft.jpacman.strategies.PriorityToScoreStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests games played without a user interface on a virtual clock.
+ */
+class SimulationTest {
+
+    /**
+     * Loads the test configuration.
+     */
+    @BeforeEach
+    void setUp() {
+        ConfigurationLoader.load("src/test/resources/configuration.properties");
+    }
+
+    /**
+     * Verifies that a game ends and that its outcome is reproduced by the
+     * same seed.
+     */
+    @Test
+    void sameSeedSameGame() {
+        SimulationResult first = new Simulation().withSeed(7).run();
+        SimulationResult second = new Simulation().withSeed(7).run();
+
+        assertThat(first.isWon() || first.isLost()).isTrue();
+        assertThat(second.toString()).isEqualTo(first.toString());
+    }
+
+    /**
+     * Verifies that a game is stopped when it runs out of time.
+     */
+    @Test
+    void timeLimit() {
+        SimulationResult result = new Simulation().withSeed(7).withTimeLimit(1000).run();
+
+        assertThat(result.getDuration()).isLessThanOrEqualTo(1000);
+        assertThat(result.isWon()).isFalse();
+        assertThat(result.getScore()).isPositive();
+    }
+
+    /**
+     * Verifies that a batch played in parallel combines the outcomes of the
+     * same games as when they are played one by one.
+     */
+    @Test
+    void batch() {
+        BatchReport report = new SimulationBatch()
+            .withGames(4).withFirstSeed(3).withTimeLimit(20000).withParallelism(2)
+            .run().get(PriorityToScoreStrategy.class);
+
+        BatchReport expected = new BatchReport(PriorityToScoreStrategy.class);
+        for (long seed = 3; seed < 7; seed++) {
+            expected.add(new Simulation().withSeed(seed).withTimeLimit(20000).run());
+        }
+
+        assertThat(report.getGames()).isEqualTo(4);
+        assertThat(report.getMeanScore()).isEqualTo(expected.getMeanScore());
+        assertThat(report.getMeanPelletsEaten()).isEqualTo(expected.getMeanPelletsEaten());
+        assertThat(report.getDecisions().getCount()).isEqualTo(expected.getDecisions().getCount());
+    }
+
+    /**
+     * Verifies that the Monte Carlo tree search plays a game quickly enough
+     * per decision, that with a number of rollouts per decision the same
+     * seed plays the same game, and that its decisions are measured under its
+     * own name.
+     */
+    @Test
+    void monteCarlo() {
+        SimulationResult result = new Simulation().withStrategy(MonteCarloStrategy.class)
+            .withSeed(7).withTimeLimit(5000).run();
+        SimulationResult again = new Simulation().withStrategy(MonteCarloStrategy.class)
+            .withSeed(7).withTimeLimit(5000).run();
+
+        assertThat(result.getPelletsEaten()).isPositive();
+        assertThat(result.getDecisions().getPercentile(50))
+            .isLessThan(TimeUnit.MILLISECONDS.toNanos(150));
+        assertThat(again.toString()).isEqualTo(result.toString());
+        assertThat(Metrics.getDefault().report())
+            .contains("strategy.MonteCarloStrategy.decision")
+            .doesNotContain("TimedStrategy");
+    }
+}
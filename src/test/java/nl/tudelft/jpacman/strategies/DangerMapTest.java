@@ -0,0 +1,127 @@
+package nl.tudelft.jpacman.strategies;
+
+import com.google.common.collect.Lists;
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.level.FruitFactory;
+import nl.tudelft.jpacman.level.LevelFactory;
+import nl.tudelft.jpacman.level.MapParser;
+import nl.tudelft.jpacman.npc.Ghost;
+import nl.tudelft.jpacman.npc.ghost.GhostFactory;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the arrival times of the ghosts in a {@link DangerMap}.
+ */
+class DangerMapTest {
+
+    /**
+     * The board under test, a corridor with a dead end and a square that is
+     * shut in by walls.
+     * <pre>
+     * #######
+     * #     #
+     * ### ###
+     * # #####
+     * #######
+     * </pre>
+     */
+    private Board board;
+
+    /**
+     * The factory of the ghosts.
+     */
+    private GhostFactory ghostFactory;
+
+    /**
+     * The map parser used to construct boards.
+     */
+    private MapParser parser;
+
+    /**
+     * Creates the board under test.
+     */
+    @BeforeEach
+    void setUp() {
+        PacManSprites sprites = new PacManSprites();
+        ghostFactory = new GhostFactory(sprites);
+        parser = new MapParser(new LevelFactory(sprites, ghostFactory, new FruitFactory(sprites)),
+            new BoardFactory(sprites));
+        board = parser.parseMap(Lists.newArrayList(
+            "#######", "#     #", "### ###", "# #####", "#######")).getBoard();
+    }
+
+    /**
+     * Creates a ghost on a square of the board under test.
+     *
+     * @param x The x coordinate of the square.
+     * @param y The y coordinate of the square.
+     * @return The ghost.
+     */
+    private Ghost ghostAt(int x, int y) {
+        Ghost ghost = ghostFactory.createBlinky(board.squareAt(x, y));
+        ghost.occupy(board.squareAt(x, y));
+        return ghost;
+    }
+
+    /**
+     * Verifies that every square is assigned the steps of the nearest ghost.
+     */
+    @Test
+    void nearestGhost() {
+        DangerMap map = new DangerMap(board, Arrays.asList(ghostAt(1, 1), ghostAt(5, 1)));
+        assertThat(map.arrival(board.squareAt(1, 1))).isZero();
+        assertThat(map.arrival(board.squareAt(5, 1))).isZero();
+        assertThat(map.arrival(board.squareAt(2, 1))).isEqualTo(1);
+        assertThat(map.arrival(board.squareAt(4, 1))).isEqualTo(1);
+        assertThat(map.arrival(board.squareAt(3, 1))).isEqualTo(2);
+        assertThat(map.arrival(board.squareAt(3, 2))).isEqualTo(3);
+    }
+
+    /**
+     * Verifies that squares no ghost can get to are never reached.
+     */
+    @Test
+    void unreachable() {
+        DangerMap map = new DangerMap(board, Arrays.asList(ghostAt(1, 1), ghostAt(5, 1)));
+        assertThat(map.arrival(board.squareAt(1, 3))).isEqualTo(DangerMap.NEVER);
+        assertThat(map.arrival(board.squareAt(0, 0))).isEqualTo(DangerMap.NEVER);
+        assertThat(map.isSafe(board.squareAt(1, 3), Integer.MAX_VALUE - 1)).isTrue();
+    }
+
+    /**
+     * Verifies that ghosts that are not on the board are ignored.
+     */
+    @Test
+    void ghostsOffBoard() {
+        Ghost outside = ghostFactory.createBlinky(board.squareAt(1, 1));
+        Board other = parser.parseMap(Lists.newArrayList("   ")).getBoard();
+        Ghost elsewhere = ghostFactory.createBlinky(other.squareAt(0, 0));
+        elsewhere.occupy(other.squareAt(0, 0));
+        Ghost inside = ghostAt(5, 1);
+
+        DangerMap map = new DangerMap(board, Arrays.asList(outside, elsewhere, inside));
+        assertThat(map.getGhosts()).containsExactly(inside);
+        assertThat(map.arrival(board.squareAt(1, 1))).isEqualTo(4);
+        assertThat(map.arrival(board.squareAt(0, 0))).isEqualTo(DangerMap.NEVER);
+    }
+
+    /**
+     * Verifies that a square is only safe if every ghost needs more steps,
+     * not if one of them gets there at the same time.
+     */
+    @Test
+    void safeBoundary() {
+        DangerMap map = new DangerMap(board, Arrays.asList(ghostAt(1, 1), ghostAt(5, 1)));
+        assertThat(map.isSafe(board.squareAt(3, 1), 1)).isTrue();
+        assertThat(map.isSafe(board.squareAt(3, 1), 2)).isFalse();
+        assertThat(map.isSafe(board.squareAt(3, 1), 3)).isFalse();
+        assertThat(map.isSafe(board.squareAt(1, 1), 0)).isFalse();
+    }
+}